@@ -0,0 +1,23 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    jmhImplementation(project(":"))
+}
+
+// JMH 벤치마크 (src/jmh, ./gradlew -Pbenchmarks :benchmarks:jmh)
+jmh {
+    includes.set(listOf(".*Benchmark.*"))
+    resultFormat.set("TEXT")
+}
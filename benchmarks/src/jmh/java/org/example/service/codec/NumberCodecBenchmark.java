@@ -0,0 +1,86 @@
+package org.example.service.codec;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 숫자 변환 비용 비교 (값 묶음 하나당 시간)
+ * - jdk*: 예전 방식 (replace + Double.parseDouble, 예외로 숫자 아님 판별, String.format)
+ * - codec*: NumberCodec
+ *
+ * 실행: ./gradlew -Pbenchmarks :benchmarks:jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NumberCodecBenchmark {
+
+    private final String[] numbers = {"12,345", "6789.5", "100", "-0.25", "1,234,567.89", "3.14159"};
+    private final String[] cells = {"12345", "서울", "6789.5", "2024-01-15", "", "A-100"};
+    private final double[] results = {334.3333333333333, 1003, 0.1, -12.5, 167.16666666666669, 98765.4321};
+
+    @Benchmark
+    public void jdkParseNumber(Blackhole bh) {
+        for (String value : numbers) {
+            bh.consume(Double.parseDouble(value.replace(",", "").trim()));
+        }
+    }
+
+    @Benchmark
+    public void codecParseNumber(Blackhole bh) {
+        for (String value : numbers) {
+            bh.consume(NumberCodec.parseNumber(value));
+        }
+    }
+
+    @Benchmark
+    public void jdkCellType(Blackhole bh) {
+        for (String value : cells) {
+            try {
+                bh.consume(Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                bh.consume(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public void codecCellType(Blackhole bh) {
+        for (String value : cells) {
+            bh.consume(NumberCodec.parseDouble(value, Double.NaN));
+        }
+    }
+
+    @Benchmark
+    public void jdkFormat(Blackhole bh) {
+        for (double value : results) {
+            bh.consume(String.format("%.2f", value));
+        }
+    }
+
+    @Benchmark
+    public void codecFormat(Blackhole bh) {
+        for (double value : results) {
+            bh.consume(NumberCodec.format(value, "%.2f"));
+        }
+    }
+
+    @Benchmark
+    public void jdkToString(Blackhole bh) {
+        for (double value : results) {
+            bh.consume(String.valueOf(value));
+        }
+    }
+
+    @Benchmark
+    public void codecToString(Blackhole bh) {
+        for (double value : results) {
+            bh.consume(NumberCodec.format(value));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.service.formula;
+
+import net.objecthunter.exp4j.Expression;
+import net.objecthunter.exp4j.ExpressionBuilder;
+import org.example.service.CalculationEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 행 단위 계산식 비용 비교
+ * - exp4jRebuild: 행마다 치환 + ExpressionBuilder 빌드 (예전 CalculationEngine 방식)
+ * - exp4jCached: 빌드한 Expression 재사용, 변수만 설정
+ * - engineMap: CalculationEngine.evaluate(String, Map)
+ * - compiled: CompiledFormula.evaluate(String[]) (MethodHandle 합성)
+ * - compiledBatch: CompiledFormula.evaluateBatch (1024행 열 단위, 행당 시간)
+ *
+ * 실행: ./gradlew -Pbenchmarks :benchmarks:jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FormulaBenchmark {
+
+    private static final String FORMULA = "(${상품 매출} + ${제품 매출}) * 1.1 - ${할인} / 2";
+
+    private final CalculationEngine engine = new CalculationEngine();
+    private final Map<String, String> rowData = new HashMap<>();
+    private final String[] values = {"12,345", "6789.5", "100"};
+
+    private static final int BATCH = 1024;
+
+    private Expression cachedExpression;
+    private CompiledFormula compiled;
+    private double[][] columns;
+    private final double[] batchResult = new double[BATCH];
+    private final boolean[] batchFailed = new boolean[BATCH];
+
+    @Setup
+    public void setup() {
+        rowData.put("상품 매출", values[0]);
+        rowData.put("제품 매출", values[1]);
+        rowData.put("할인", values[2]);
+
+        cachedExpression = new ExpressionBuilder("(v0 + v1) * 1.1 - v2 / 2")
+            .variables("v0", "v1", "v2")
+            .build();
+        compiled = CompiledFormula.compile(FORMULA);
+
+        columns = new double[values.length][BATCH];
+        for (int v = 0; v < values.length; v++) {
+            for (int r = 0; r < BATCH; r++) {
+                columns[v][r] = CompiledFormula.parseNumber(values[v]) + r;
+            }
+        }
+    }
+
+    @Benchmark
+    public double exp4jRebuild() {
+        String expression = FORMULA
+            .replace("${상품 매출}", "v0")
+            .replace("${제품 매출}", "v1")
+            .replace("${할인}", "v2");
+        return new ExpressionBuilder(expression)
+            .variables("v0", "v1", "v2")
+            .build()
+            .setVariable("v0", CompiledFormula.parseNumber(rowData.get("상품 매출")))
+            .setVariable("v1", CompiledFormula.parseNumber(rowData.get("제품 매출")))
+            .setVariable("v2", CompiledFormula.parseNumber(rowData.get("할인")))
+            .evaluate();
+    }
+
+    @Benchmark
+    public double exp4jCached() {
+        return cachedExpression
+            .setVariable("v0", CompiledFormula.parseNumber(values[0]))
+            .setVariable("v1", CompiledFormula.parseNumber(values[1]))
+            .setVariable("v2", CompiledFormula.parseNumber(values[2]))
+            .evaluate();
+    }
+
+    @Benchmark
+    public String engineMap() {
+        return engine.evaluate(FORMULA, rowData);
+    }
+
+    @Benchmark
+    public String compiled() {
+        return compiled.evaluate(values);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double[] compiledBatch() {
+        compiled.evaluateBatch(columns, BATCH, batchResult, batchFailed);
+        return batchResult;
+    }
+}
@@ -1 +1,7 @@
-rootProject.name = "ExcelConverterMusinsa"
\ No newline at end of file
+rootProject.name = "ExcelConverterMusinsa"
+
+// JMH 벤치마크는 요청할 때만 포함 (./gradlew -Pbenchmarks :benchmarks:jmh)
+// 일반 빌드/실행은 JMH 플러그인을 받지 않음
+if (providers.gradleProperty("benchmarks").isPresent) {
+    include("benchmarks")
+}
@@ -1,5 +1,6 @@
 package org.example.gui;
 
+import org.example.model.ConversionMetrics;
 import org.example.model.ConversionResult;
 import org.example.model.Profile;
 import org.example.service.ExcelConverterService;
@@ -63,11 +64,16 @@ public class ConversionWorker extends SwingWorker<List<ConversionResult>, Progre
                     publish(new ProgressInfo(fileIndex, totalFiles, currentRow, fileName, "처리 중"));
                 }
 
+                @Override
+                public void onMetrics(int fileIndex, int totalFiles, String fileName, ConversionMetrics metrics) {
+                    publish(new ProgressInfo(fileIndex, totalFiles, metrics.getInputRows(), fileName, "처리 중", metrics));
+                }
+
                 @Override
                 public void onFileComplete(int fileIndex, int totalFiles, ConversionResult result) {
                     publish(new ProgressInfo(fileIndex + 1, totalFiles,
                         result.getProcessedRows(), result.getInputFile().getName(),
-                        result.isSuccess() ? "완료" : "오류"));
+                        result.isSuccess() ? "완료" : result.isSkipped() ? "건너뜀" : "오류"));
                 }
 
                 @Override
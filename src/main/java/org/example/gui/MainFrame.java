@@ -1,9 +1,11 @@
 package org.example.gui;
 
+import org.example.model.ConversionMetrics;
 import org.example.model.ConversionResult;
 import org.example.model.Profile;
 import org.example.service.ExcelConverterService;
 import org.example.service.ProfileManager;
+import org.example.service.jfr.ConversionRecording;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -31,6 +33,7 @@ public class MainFrame extends JFrame {
     private JLabel statusLabel;
     private JButton convertButton;
     private JButton cancelButton;
+    private JButton recordButton;
 
     // Work status
     private ConversionWorker currentWorker;
@@ -189,7 +192,15 @@ public class MainFrame extends JFrame {
         statusLabel = new JLabel("Ready");
         statusLabel.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
 
+        // Flight Recorder recording (diagnostics for slow conversions)
+        recordButton = new JButton("Start Recording");
+        recordButton.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 11));
+        recordButton.setMargin(new Insets(2, 6, 2, 6));
+        recordButton.setToolTipText("Record a Java Flight Recorder file of conversions for diagnostics");
+        recordButton.addActionListener(e -> toggleRecording());
+
         statusPanel.add(statusLabel, BorderLayout.CENTER);
+        statusPanel.add(recordButton, BorderLayout.EAST);
 
         // Buttons
         JPanel actionPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
@@ -292,6 +303,32 @@ public class MainFrame extends JFrame {
         }
     }
 
+    /**
+     * Start or stop the Flight Recorder recording
+     */
+    private void toggleRecording() {
+        try {
+            if (!ConversionRecording.isRunning()) {
+                ConversionRecording.start();
+                recordButton.setText("Stop Recording");
+                statusLabel.setText("Recording started.");
+                return;
+            }
+
+            java.nio.file.Path file = ConversionRecording.stop();
+            recordButton.setText("Start Recording");
+            statusLabel.setText("Recording saved.");
+            JOptionPane.showMessageDialog(this,
+                "Recording saved:\n" + file.toAbsolutePath(),
+                "Recording", JOptionPane.INFORMATION_MESSAGE);
+        } catch (Exception e) {
+            recordButton.setText(ConversionRecording.isRunning() ? "Stop Recording" : "Start Recording");
+            JOptionPane.showMessageDialog(this,
+                "Recording error: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     /**
      * Open profile editor dialog
      * @param profile Profile to edit (null for new profile)
@@ -423,15 +460,24 @@ public class MainFrame extends JFrame {
         return new ConversionWorker.ConversionCallback() {
             @Override
             public void onProgress(ProgressInfo info) {
-                statusLabel.setText(String.format("Processing: %s (%,d rows)",
-                    info.getFileName(), info.getCurrentRow()));
+                ConversionMetrics metrics = info.getMetrics();
+                if (metrics == null) {
+                    statusLabel.setText(String.format("Processing: %s (%,d rows)",
+                        info.getFileName(), info.getCurrentRow()));
+                    return;
+                }
+                long eta = metrics.getEtaMillis();
+                statusLabel.setText(String.format("Processing: %s (%,d rows, %,.0f rows/s%s)",
+                    info.getFileName(), info.getCurrentRow(), metrics.getRowsPerSecond(),
+                    eta >= 0 ? String.format(", ETA %ds", (eta + 999) / 1000) : ""));
             }
 
             @Override
             public void onComplete(java.util.List<ConversionResult> results) {
                 setUIEnabled(true);
 
-                long successCount = results.stream().filter(ConversionResult::isSuccess).count();
+                long successCount = results.stream().filter(r -> r.isSuccess() || r.isSkipped()).count();
+                long skippedCount = results.stream().filter(ConversionResult::isSkipped).count();
                 long totalInputRows = results.stream().mapToLong(ConversionResult::getInputRows).sum();
                 long totalOutputRows = results.stream().mapToLong(ConversionResult::getOutputRows).sum();
                 long totalDuplicates = results.stream().mapToLong(ConversionResult::getDuplicateRows).sum();
@@ -439,6 +485,9 @@ public class MainFrame extends JFrame {
                 StringBuilder sb = new StringBuilder();
                 sb.append("Conversion Complete!\n\n");
                 sb.append(String.format("Files: %d / %d succeeded\n", successCount, results.size()));
+                if (skippedCount > 0) {
+                    sb.append(String.format("Up to date (skipped): %d\n", skippedCount));
+                }
                 sb.append(String.format("Input rows: %,d\n", totalInputRows));
                 sb.append(String.format("Output rows: %,d\n", totalOutputRows));
 
@@ -463,6 +512,33 @@ public class MainFrame extends JFrame {
                             if (r.getDuplicateRows() > 0) {
                                 sb.append(String.format(" (%,d duplicates)", r.getDuplicateRows()));
                             }
+                            if (r.getSheetRowCounts().size() > 1) {
+                                r.getSheetRowCounts().forEach((sheet, rows) ->
+                                    sb.append(String.format("\n    %s: %,d rows", sheet, rows)));
+                            }
+                            r.getCalculationCacheStats().forEach((column, stats) ->
+                                sb.append(String.format("\n    %s cache hits: %s", column, stats)));
+                            if (r.getPreviouslyExportedRows() > 0) {
+                                sb.append(String.format("\n    Previously exported: %,d rows skipped",
+                                    r.getPreviouslyExportedRows()));
+                            }
+                            if (r.getResumedFromRow() > 0) {
+                                sb.append(String.format("\n    Resumed from checkpoint at row %,d",
+                                    r.getResumedFromRow()));
+                            }
+                            if (r.getDedupKeys() > 0) {
+                                sb.append(String.format("\n    Unique keys: %,d (%,d KB, %,d KB per million)",
+                                    r.getDedupKeys(), r.getDedupMemoryBytes() / 1024,
+                                    r.getDedupBytesPerMillionKeys() / 1024));
+                            }
+                            if (r.getMetrics() != null) {
+                                sb.append(String.format("\n    Throughput: %,.0f rows/s, GC %d (%,d ms)",
+                                    r.getMetrics().getRowsPerSecond(), r.getMetrics().getGcCount(),
+                                    r.getMetrics().getGcMillis()));
+                                sb.append("\n    Stages: ").append(r.getMetrics().getStageSummary());
+                            }
+                        } else if (r.isSkipped()) {
+                            sb.append("up to date, skipped");
                         } else {
                             sb.append("FAILED - ").append(r.getErrorMessage());
                         }
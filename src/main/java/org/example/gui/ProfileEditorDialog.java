@@ -5,6 +5,7 @@ import org.example.model.ColumnMapping;
 import org.example.model.OutputOptions;
 import org.example.model.Profile;
 import org.example.service.ProfileManager;
+import org.example.service.formula.CompiledFormula;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -175,8 +176,13 @@ public class ProfileEditorDialog extends JDialog {
         panel.setBorder(new TitledBorder("Calculated Columns (Optional)"));
 
         // Table model
-        String[] columnNames = {"New Column", "Formula", "Insert After", "Format"};
-        calcTableModel = new DefaultTableModel(columnNames, 0);
+        String[] columnNames = {"New Column", "Formula", "Insert After", "Format", "Scale", "Cache"};
+        calcTableModel = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 5 ? Boolean.class : String.class;
+            }
+        };
         calcTable = new JTable(calcTableModel);
         calcTable.setRowHeight(25);
 
@@ -237,8 +243,20 @@ public class ProfileEditorDialog extends JDialog {
         }
     }
 
+    /**
+     * Scale cell → 0 ~ MAX_SCALE (blank or invalid → null)
+     */
+    private static Integer parseScale(String text) {
+        try {
+            int scale = Integer.parseInt(text.trim());
+            return scale >= 0 && scale <= CompiledFormula.MAX_SCALE ? scale : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private void addCalcRow() {
-        calcTableModel.addRow(new Object[]{"", "", "", ""});
+        calcTableModel.addRow(new Object[]{"", "", "", "", "", false});
     }
 
     private void showFormulaHelp() {
@@ -257,12 +275,35 @@ public class ProfileEditorDialog extends JDialog {
               SUBSTR(${Column}, start, length)   Substring (0-indexed)
               MID(${Column}, start, length)      Same as SUBSTR
               TRIM(${Column})            Remove leading/trailing spaces
+              UPPER / LOWER / LEN        Case conversion, length
+              CONCAT(a, b, ...) or a & b Join text
+
+            ▶ Number Functions:
+              ROUND(x, digits)           Round half up
+              MIN(a, b, ...) / MAX(a, b, ...)
+              VALUE(text)                Text to number
+
+            ▶ Conditions:
+              IF(condition, then, else)  Only the chosen branch is evaluated
+              =  <>  <  <=  >  >=        Comparison
+              AND(...) / OR(...) / NOT(x)
 
             ▶ Examples:
               Column "Period" has value "2026012"
               - LEFT(${Period}, 4)    → "2026" (year)
               - RIGHT(${Period}, 2)   → "12" (month)
               - SUBSTR(${Period}, 4, 3) → "012"
+              - LEFT(${Period}, 4) & "-" & RIGHT(${Period}, 2) → "2026-12"
+              - IF(${Qty} = 0, 0, ${Amount} / ${Qty})
+
+            ▶ Scale (optional):
+              Decimal places for exact fixed-point math (e.g. 0 for KRW)
+              Formulas with only + - * are computed exactly,
+              others as before and shown with that many decimals
+
+            ▶ Cache (optional):
+              Reuse results for repeated input values, e.g. LEFT(${Brand ID}, 4)
+              Turns itself off when few values repeat
             """;
 
         JTextArea textArea = new JTextArea(help);
@@ -310,7 +351,9 @@ public class ProfileEditorDialog extends JDialog {
                 calc.getNewColumn(),
                 calc.getFormula(),
                 calc.getInsertAfter() != null ? calc.getInsertAfter() : "",
-                calc.getFormat() != null ? calc.getFormat() : ""
+                calc.getFormat() != null ? calc.getFormat() : "",
+                calc.getScale() != null ? String.valueOf(calc.getScale()) : "",
+                calc.isMemoize()
             });
         }
     }
@@ -333,6 +376,17 @@ public class ProfileEditorDialog extends JDialog {
             calcTable.getCellEditor().stopCellEditing();
         }
 
+        // Scale must be 0-9 (fixed-point decimal places)
+        for (int i = 0; i < calcTableModel.getRowCount(); i++) {
+            String scale = (String) calcTableModel.getValueAt(i, 4);
+            if (scale != null && !scale.trim().isEmpty() && parseScale(scale) == null) {
+                JOptionPane.showMessageDialog(this,
+                    "Scale must be a number from 0 to " + CompiledFormula.MAX_SCALE + " (row " + (i + 1) + ").",
+                    "Input Error", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+        }
+
         // Warn if no column mappings
         if (columnTableModel.getRowCount() == 0) {
             JOptionPane.showMessageDialog(this, "Please add at least one column mapping.",
@@ -375,6 +429,8 @@ public class ProfileEditorDialog extends JDialog {
                 String formula = (String) calcTableModel.getValueAt(i, 1);
                 String insertAfter = (String) calcTableModel.getValueAt(i, 2);
                 String format = (String) calcTableModel.getValueAt(i, 3);
+                String scale = (String) calcTableModel.getValueAt(i, 4);
+                Boolean memoize = (Boolean) calcTableModel.getValueAt(i, 5);
 
                 if (newColumn != null && !newColumn.trim().isEmpty() &&
                     formula != null && !formula.trim().isEmpty()) {
@@ -385,20 +441,35 @@ public class ProfileEditorDialog extends JDialog {
                         insertAfter.trim() : null);
                     calc.setFormat(format != null && !format.trim().isEmpty() ?
                         format.trim() : null);
+                    calc.setScale(scale != null ? parseScale(scale) : null);
+                    calc.setMemoize(memoize != null && memoize);
                     calculations.add(calc);
                 }
             }
             profile.setCalculations(calculations);
 
-            // Output options (use defaults)
-            OutputOptions opts = new OutputOptions();
-            opts.setOutputEncoding("UTF-8-BOM");
-            opts.setDelimiter(",");
-            opts.setSkipEmptyRows(true);
-            opts.setTrimWhitespace(true);
-            opts.setQuoteAll(false);
+            // Output options have no editor UI yet: keep the existing ones, defaults for a new profile
+            OutputOptions opts = originalProfile != null && originalProfile.getOptions() != null
+                ? new OutputOptions(originalProfile.getOptions())
+                : new OutputOptions();
             profile.setOptions(opts);
 
+            // Sheet selection has no editor UI yet, keep the existing one
+            if (originalProfile != null) {
+                profile.setSheets(originalProfile.getSheets());
+            }
+
+            // Circular calculation references: warn only, unmapped source columns may still break the cycle
+            String warning = profileManager.validateCalculations(profile);
+            if (warning != null) {
+                int choice = JOptionPane.showConfirmDialog(this,
+                    warning + "\n\nConversion will fail if the input file does not break this cycle.\nSave anyway?",
+                    "Calculation Warning", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+                if (choice != JOptionPane.YES_OPTION) {
+                    return;
+                }
+            }
+
             // Save
             profileManager.saveProfile(profile);
             saved = true;
@@ -1,5 +1,7 @@
 package org.example.gui;
 
+import org.example.model.ConversionMetrics;
+
 /**
  * 변환 진행률 정보
  */
@@ -9,13 +11,20 @@ public class ProgressInfo {
     private final long currentRow;
     private final String fileName;
     private final String status;
+    private final ConversionMetrics metrics;   // 계측 스냅샷 (없으면 null)
 
     public ProgressInfo(int fileIndex, int totalFiles, long currentRow, String fileName, String status) {
+        this(fileIndex, totalFiles, currentRow, fileName, status, null);
+    }
+
+    public ProgressInfo(int fileIndex, int totalFiles, long currentRow, String fileName, String status,
+                        ConversionMetrics metrics) {
         this.fileIndex = fileIndex;
         this.totalFiles = totalFiles;
         this.currentRow = currentRow;
         this.fileName = fileName;
         this.status = status;
+        this.metrics = metrics;
     }
 
     public int getFileIndex() {
@@ -37,4 +46,8 @@ public class ProgressInfo {
     public String getStatus() {
         return status;
     }
+
+    public ConversionMetrics getMetrics() {
+        return metrics;
+    }
 }
@@ -20,6 +20,12 @@ public class Calculation {
     @JsonProperty("format")
     private String format;  // 출력 포맷 (예: "%.2f", null이면 기본값)
 
+    @JsonProperty("scale")
+    private Integer scale;  // 고정 소수점 자릿수 (예: 0 = 원 단위, null이면 double 계산)
+
+    @JsonProperty("memoize")
+    private boolean memoize;  // 같은 입력 값 조합의 결과 재사용 (값 종류가 적은 컬럼용)
+
     public Calculation() {}
 
     public Calculation(String newColumn, String formula) {
@@ -59,6 +65,22 @@ public class Calculation {
         this.format = format;
     }
 
+    public Integer getScale() {
+        return scale;
+    }
+
+    public void setScale(Integer scale) {
+        this.scale = scale;
+    }
+
+    public boolean isMemoize() {
+        return memoize;
+    }
+
+    public void setMemoize(boolean memoize) {
+        this.memoize = memoize;
+    }
+
     @Override
     public String toString() {
         return newColumn + " = " + formula;
@@ -0,0 +1,183 @@
+package org.example.model;
+
+/**
+ * 변환 계측 스냅샷 (변환 중 주기적으로, 끝나면 ConversionResult에 기록)
+ * 단계별 시간은 스레드별로 실제로 일한 시간 (단계가 동시에 실행되므로 합이 경과 시간보다 클 수 있음)
+ * GC 횟수/시간은 프로세스 전체 기준 (여러 파일을 동시에 변환하면 서로 겹침)
+ */
+public class ConversionMetrics {
+
+    /**
+     * 계측 단계
+     */
+    public enum Stage {
+        PARSE("Parse"),             // 입력 파싱 (SST 조회 제외)
+        SST_LOOKUP("SST lookup"),   // 공유 문자열 조회 (샘플링 추정)
+        CALCULATION("Calculation"), // 출력 행 생성 + 계산 컬럼
+        DEDUP("Dedup"),             // 중복 체크 + 실행 간 키 색인
+        ENCODE("Encode"),           // 출력 인코딩 (CSV/XLSX)
+        IO("I/O");                  // 출력 파일 쓰기
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final long[] stageNanos;
+    private final long elapsedNanos;
+    private final long inputRows;
+    private final long outputRows;
+    private final long inputPosition;     // 읽은 입력 위치 (바이트, 모르면 -1)
+    private final long inputLength;       // 입력 파일 크기 (바이트)
+    private final long outputBytes;
+    private final long gcCount;
+    private final long gcMillis;
+    private final long allocatedBytes;    // 읽기/변환/쓰기 스레드 할당량 (지원하지 않는 JVM이면 -1)
+    private final boolean complete;
+
+    public ConversionMetrics(long[] stageNanos, long elapsedNanos, long inputRows, long outputRows,
+                             long inputPosition, long inputLength, long outputBytes,
+                             long gcCount, long gcMillis, long allocatedBytes, boolean complete) {
+        this.stageNanos = stageNanos.clone();
+        this.elapsedNanos = elapsedNanos;
+        this.inputRows = inputRows;
+        this.outputRows = outputRows;
+        this.inputPosition = inputPosition;
+        this.inputLength = inputLength;
+        this.outputBytes = outputBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.allocatedBytes = allocatedBytes;
+        this.complete = complete;
+    }
+
+    public long getStageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    public long getStageMillis(Stage stage) {
+        return getStageNanos(stage) / 1_000_000;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public long getInputRows() {
+        return inputRows;
+    }
+
+    public long getOutputRows() {
+        return outputRows;
+    }
+
+    public long getInputPosition() {
+        return inputPosition;
+    }
+
+    public long getInputLength() {
+        return inputLength;
+    }
+
+    public long getOutputBytes() {
+        return outputBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * 변환이 끝난 뒤의 스냅샷인지
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * 초당 입력 행 수
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos > 0 ? inputRows * 1e9 / elapsedNanos : 0d;
+    }
+
+    /**
+     * 초당 읽은 입력 바이트 (위치를 모르면 0)
+     */
+    public double getInputBytesPerSecond() {
+        return elapsedNanos > 0 && inputPosition > 0 ? inputPosition * 1e9 / elapsedNanos : 0d;
+    }
+
+    /**
+     * 초당 출력 바이트
+     */
+    public double getOutputBytesPerSecond() {
+        return elapsedNanos > 0 ? outputBytes * 1e9 / elapsedNanos : 0d;
+    }
+
+    /**
+     * 입력 진행률 (0 ~ 1, 모르면 -1)
+     */
+    public double getInputFraction() {
+        if (complete) {
+            return 1d;
+        }
+        if (inputPosition < 0 || inputLength <= 0) {
+            return -1d;
+        }
+        return Math.min(1d, (double) inputPosition / inputLength);
+    }
+
+    /**
+     * 남은 시간 추정 (입력 위치 기준, 모르면 -1)
+     */
+    public long getEtaMillis() {
+        double fraction = getInputFraction();
+        if (complete) {
+            return 0;
+        }
+        if (fraction <= 0) {
+            return -1;
+        }
+        return Math.round(getElapsedMillis() * (1 - fraction) / fraction);
+    }
+
+    /**
+     * 단계별 시간 요약 (예: "Parse 1,234 ms, SST lookup 56 ms, ...", 0인 단계는 생략)
+     */
+    public String getStageSummary() {
+        StringBuilder sb = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            long millis = getStageMillis(stage);
+            if (millis == 0) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(String.format("%s %,d ms", stage.getLabel(), millis));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,.0f rows/s, %,.1f MB/s in, %,.1f MB/s out, GC %d (%,d ms), allocated %,d MB [%s]",
+            getRowsPerSecond(), getInputBytesPerSecond() / (1024 * 1024), getOutputBytesPerSecond() / (1024 * 1024),
+            gcCount, gcMillis, Math.max(0, allocatedBytes) / (1024 * 1024), getStageSummary());
+    }
+}
@@ -3,6 +3,9 @@ package org.example.model;
 import java.io.File;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * 변환 결과 정보
@@ -30,6 +33,13 @@ public class ConversionResult {
     private Exception exception;  // 예외 객체
     private LocalDateTime startTime;   // 시작 시간
     private LocalDateTime endTime;     // 종료 시간
+    private final Map<String, Long> sheetRowCounts = new LinkedHashMap<>();  // 시트별 입력 행 수
+    private final Map<String, CalculationCacheStats> calculationCacheStats = new LinkedHashMap<>();  // 계산 컬럼별 메모 통계
+    private long dedupKeys;           // 중복 체크 키 수 (uniqueKey가 있을 때)
+    private long dedupMemoryBytes;    // 중복 체크 키 저장 메모리 (바이트)
+    private long previouslyExportedRows;  // 이전 실행에서 출력한 키라 건너뛴 행 수 (persistentKeyIndex)
+    private long resumedFromRow;          // 체크포인트에서 이어서 변환했으면 이미 변환돼 있던 입력 행 수 (0: 처음부터)
+    private ConversionMetrics metrics;    // 단계별 시간/처리량 (변환하지 않았으면 null)
 
     public ConversionResult() {
         this.startTime = LocalDateTime.now();
@@ -154,6 +164,111 @@ public class ConversionResult {
         this.endTime = endTime;
     }
 
+    public synchronized Map<String, Long> getSheetRowCounts() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(sheetRowCounts));
+    }
+
+    /**
+     * 시트별 입력 행 수 기록 (같은 이름이면 누적, 병합 모드에서는 여러 스레드에서 호출)
+     */
+    public synchronized void addSheetRowCount(String sheetName, long rows) {
+        sheetRowCounts.merge(sheetName, rows, Long::sum);
+    }
+
+    public synchronized Map<String, CalculationCacheStats> getCalculationCacheStats() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(calculationCacheStats));
+    }
+
+    /**
+     * 계산 컬럼 메모 통계 기록 (memoize 계산만)
+     */
+    public synchronized void addCalculationCacheStats(String column, long lookups, long hits, boolean disabled) {
+        calculationCacheStats.put(column, new CalculationCacheStats(lookups, hits, disabled));
+    }
+
+    public long getPreviouslyExportedRows() {
+        return previouslyExportedRows;
+    }
+
+    public void setPreviouslyExportedRows(long previouslyExportedRows) {
+        this.previouslyExportedRows = previouslyExportedRows;
+    }
+
+    public long getResumedFromRow() {
+        return resumedFromRow;
+    }
+
+    public void setResumedFromRow(long resumedFromRow) {
+        this.resumedFromRow = resumedFromRow;
+    }
+
+    public long getDedupKeys() {
+        return dedupKeys;
+    }
+
+    public long getDedupMemoryBytes() {
+        return dedupMemoryBytes;
+    }
+
+    /**
+     * 키 100만 개당 중복 체크 메모리 (바이트, 키가 없으면 0)
+     */
+    public long getDedupBytesPerMillionKeys() {
+        return dedupKeys > 0 ? Math.round(dedupMemoryBytes * 1_000_000.0 / dedupKeys) : 0;
+    }
+
+    public void setDedupStats(long keys, long memoryBytes) {
+        this.dedupKeys = keys;
+        this.dedupMemoryBytes = memoryBytes;
+    }
+
+    public ConversionMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(ConversionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 계산 컬럼 메모 통계
+     */
+    public static class CalculationCacheStats {
+        private final long lookups;     // 조회 수 (메모가 꺼진 뒤는 제외)
+        private final long hits;        // 적중 수
+        private final boolean disabled; // 적중률이 낮아 도중에 꺼짐
+
+        public CalculationCacheStats(long lookups, long hits, boolean disabled) {
+            this.lookups = lookups;
+            this.hits = hits;
+            this.disabled = disabled;
+        }
+
+        public long getLookups() {
+            return lookups;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public boolean isDisabled() {
+            return disabled;
+        }
+
+        /**
+         * 적중률 (0 ~ 1)
+         */
+        public double getHitRate() {
+            return lookups > 0 ? (double) hits / lookups : 0d;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f%% (%d/%d)%s", getHitRate() * 100, hits, lookups, disabled ? ", disabled" : "");
+        }
+    }
+
     // === 유틸리티 메서드 ===
 
     /**
@@ -197,6 +312,26 @@ public class ConversionResult {
         this.endTime = LocalDateTime.now();
     }
 
+    /**
+     * 취소 시점까지의 행 수와 함께 취소로 완료 처리
+     */
+    public void markCancelled(long inputRows, long outputRows, long duplicateRows, long emptyRows) {
+        this.inputRows = inputRows;
+        this.outputRows = outputRows;
+        this.duplicateRows = duplicateRows;
+        this.emptyRows = emptyRows;
+        this.processedRows = outputRows;
+        markCancelled();
+    }
+
+    /**
+     * 건너뜀으로 완료 처리 (출력이 이미 최신)
+     */
+    public void markSkipped() {
+        this.status = Status.SKIPPED;
+        this.endTime = LocalDateTime.now();
+    }
+
     /**
      * 처리 시간 반환
      */
@@ -229,6 +364,10 @@ public class ConversionResult {
         return status == Status.SUCCESS;
     }
 
+    public boolean isSkipped() {
+        return status == Status.SKIPPED;
+    }
+
     @Override
     public String toString() {
         String fileName = inputFile != null ? inputFile.getName() : "unknown";
@@ -25,8 +25,64 @@ public class OutputOptions {
     @JsonProperty("outputFormat")
     private String outputFormat = "csv";  // csv, xlsx
 
+    @JsonProperty("sharedStringsMode")
+    private String sharedStringsMode = "auto";  // auto, memory, mapped (xlsx 공유 문자열 저장 방식)
+
+    @JsonProperty("readerThreads")
+    private int readerThreads = 0;  // CSV 읽기 스레드 수 (0: CPU 코어 수, 1: 순차 읽기)
+
+    @JsonProperty("csvParser")
+    private String csvParser = "native";  // native, opencsv (CSV 입력 파서)
+
+    @JsonProperty("maxParallelFiles")
+    private int maxParallelFiles = 0;  // 동시 변환 파일 수 (0: 코어 수/힙 크기로 자동, 1: 순차)
+
+    @JsonProperty("mergeOrder")
+    private String mergeOrder = "ordered";  // ordered: 파일 순서 유지, interleaved: 순서 무관 (가장 빠름)
+
+    @JsonProperty("batchCalculation")
+    private boolean batchCalculation = true;  // 계산 컬럼을 배치(열) 단위로 계산 (false: 행 단위)
+
+    @JsonProperty("dedupMode")
+    private String dedupMode = "fingerprint";  // fingerprint: 128비트 해시(오프힙), fingerprint-exact: 해시 + 원문 비교, memory: 키 문자열, spill: 한도 초과 시 디스크 분할
+
+    @JsonProperty("dedupMemoryMB")
+    private int dedupMemoryMB = 0;  // spill 모드 키 집합 메모리 한도 (0: 최대 힙의 1/8)
+
+    @JsonProperty("persistentKeyIndex")
+    private boolean persistentKeyIndex = false;  // 이전 실행에서 출력한 키는 건너뜀 (~/.ExcelConverter/keyindex에 저장)
+
+    @JsonProperty("conversionCache")
+    private boolean conversionCache = true;  // 입력/프로필이 바뀌지 않은 파일은 다시 변환하지 않음 (출력 폴더의 캐시 파일 기준)
+
+    @JsonProperty("checkpointSeconds")
+    private int checkpointSeconds = 60;  // CSV 출력 체크포인트 간격 (초, 0: 끔), 중단된 변환은 다음 실행에서 이어서 변환
+
     public OutputOptions() {}
 
+    /**
+     * 복사 생성자 (편집 시 원본 옵션 유지용)
+     */
+    public OutputOptions(OutputOptions other) {
+        this.skipEmptyRows = other.skipEmptyRows;
+        this.trimWhitespace = other.trimWhitespace;
+        this.outputEncoding = other.outputEncoding;
+        this.delimiter = other.delimiter;
+        this.quoteAll = other.quoteAll;
+        this.outputFormat = other.outputFormat;
+        this.sharedStringsMode = other.sharedStringsMode;
+        this.readerThreads = other.readerThreads;
+        this.csvParser = other.csvParser;
+        this.maxParallelFiles = other.maxParallelFiles;
+        this.mergeOrder = other.mergeOrder;
+        this.batchCalculation = other.batchCalculation;
+        this.dedupMode = other.dedupMode;
+        this.dedupMemoryMB = other.dedupMemoryMB;
+        this.persistentKeyIndex = other.persistentKeyIndex;
+        this.conversionCache = other.conversionCache;
+        this.checkpointSeconds = other.checkpointSeconds;
+    }
+
     public boolean isSkipEmptyRows() {
         return skipEmptyRows;
     }
@@ -74,4 +130,92 @@ public class OutputOptions {
     public void setOutputFormat(String outputFormat) {
         this.outputFormat = outputFormat;
     }
+
+    public String getSharedStringsMode() {
+        return sharedStringsMode;
+    }
+
+    public void setSharedStringsMode(String sharedStringsMode) {
+        this.sharedStringsMode = sharedStringsMode;
+    }
+
+    public int getReaderThreads() {
+        return readerThreads;
+    }
+
+    public void setReaderThreads(int readerThreads) {
+        this.readerThreads = readerThreads;
+    }
+
+    public String getCsvParser() {
+        return csvParser;
+    }
+
+    public void setCsvParser(String csvParser) {
+        this.csvParser = csvParser;
+    }
+
+    public int getMaxParallelFiles() {
+        return maxParallelFiles;
+    }
+
+    public void setMaxParallelFiles(int maxParallelFiles) {
+        this.maxParallelFiles = maxParallelFiles;
+    }
+
+    public String getMergeOrder() {
+        return mergeOrder;
+    }
+
+    public void setMergeOrder(String mergeOrder) {
+        this.mergeOrder = mergeOrder;
+    }
+
+    public boolean isBatchCalculation() {
+        return batchCalculation;
+    }
+
+    public void setBatchCalculation(boolean batchCalculation) {
+        this.batchCalculation = batchCalculation;
+    }
+
+    public String getDedupMode() {
+        return dedupMode;
+    }
+
+    public void setDedupMode(String dedupMode) {
+        this.dedupMode = dedupMode;
+    }
+
+    public int getDedupMemoryMB() {
+        return dedupMemoryMB;
+    }
+
+    public void setDedupMemoryMB(int dedupMemoryMB) {
+        this.dedupMemoryMB = dedupMemoryMB;
+    }
+
+    public boolean isPersistentKeyIndex() {
+        return persistentKeyIndex;
+    }
+
+    public void setPersistentKeyIndex(boolean persistentKeyIndex) {
+        this.persistentKeyIndex = persistentKeyIndex;
+    }
+
+    public boolean isConversionCache() {
+        return conversionCache;
+    }
+
+    public void setConversionCache(boolean conversionCache) {
+        this.conversionCache = conversionCache;
+    }
+
+    public int getCheckpointSeconds() {
+        return checkpointSeconds;
+    }
+
+    public void setCheckpointSeconds(int checkpointSeconds) {
+        this.checkpointSeconds = checkpointSeconds;
+    }
 }
@@ -27,6 +27,9 @@ public class Profile {
     @JsonProperty("options")
     private OutputOptions options = new OutputOptions();  // 출력 옵션
 
+    @JsonProperty("sheets")
+    private SheetSelection sheets = new SheetSelection();  // xlsx 시트 선택 (기본: 첫 번째 시트)
+
     @JsonProperty("outputFileName")
     private String outputFileName;  // 출력 파일명 패턴 (예: "sales_result.csv")
 
@@ -83,6 +86,14 @@ public class Profile {
         this.options = options;
     }
 
+    public SheetSelection getSheets() {
+        return sheets;
+    }
+
+    public void setSheets(SheetSelection sheets) {
+        this.sheets = sheets;
+    }
+
     public String getOutputFileName() {
         return outputFileName;
     }
@@ -0,0 +1,77 @@
+package org.example.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * XLSX 시트 선택 정보
+ * 예: { "mode": "names", "names": ["1월", "2월"] }
+ */
+public class SheetSelection {
+
+    @JsonProperty("mode")
+    private String mode = "first";  // first, all, names, indices
+
+    @JsonProperty("names")
+    private List<String> names = new ArrayList<>();  // mode=names일 때 시트 이름
+
+    @JsonProperty("indices")
+    private List<Integer> indices = new ArrayList<>();  // mode=indices일 때 시트 번호 (1부터)
+
+    public SheetSelection() {}
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public void setNames(List<String> names) {
+        this.names = names;
+    }
+
+    public List<Integer> getIndices() {
+        return indices;
+    }
+
+    public void setIndices(List<Integer> indices) {
+        this.indices = indices;
+    }
+
+    /**
+     * 시트 선택 여부
+     * @param sheetIndex 시트 순서 (0부터)
+     * @param sheetName 시트 이름
+     */
+    public boolean isSelected(int sheetIndex, String sheetName) {
+        if ("all".equalsIgnoreCase(mode)) {
+            return true;
+        }
+        if ("names".equalsIgnoreCase(mode)) {
+            return names != null && names.contains(sheetName);
+        }
+        if ("indices".equalsIgnoreCase(mode)) {
+            return indices != null && indices.contains(sheetIndex + 1);
+        }
+        return sheetIndex == 0;
+    }
+
+    @Override
+    public String toString() {
+        if ("names".equalsIgnoreCase(mode)) {
+            return "names " + names;
+        }
+        if ("indices".equalsIgnoreCase(mode)) {
+            return "indices " + indices;
+        }
+        return mode;
+    }
+}
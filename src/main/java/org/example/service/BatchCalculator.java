@@ -0,0 +1,134 @@
+package org.example.service;
+
+import org.example.model.Calculation;
+import org.example.service.formula.CompiledFormula;
+import org.example.service.formula.SharedSubexpressions;
+
+import java.util.*;
+
+/**
+ * 계산 컬럼 일괄 계산 (변환 배치 단위)
+ * 산술식은 참조 열을 double[]로 한 번만 변환한 뒤 수식 트리를 열 단위 루프로 계산,
+ * 그 외 수식(문자열 함수, exp4j)과 고정 소수점 계산은 행 단위로 계산 (memoize 계산은 CalculationMemo 사용)
+ * 결과는 행 단위 계산과 동일 (다른 계산 결과 참조, 포맷, 0으로 나누기 → "0")
+ * - 계산 순서는 ConversionPlan.calculationOrder (의존 관계 순)
+ * - 포맷 없는 산술 계산 결과는 문자열을 다시 파싱하지 않고 double 열 그대로 뒤 계산에 전달
+ * - 행 단위로 계산하는 수식은 값을 문자열로 주고받음 (문자열 함수와 고정 소수점 자릿수는 문자열 값 기준),
+ *   그 결과를 참조하는 산술 계산은 배치당 한 번 parseColumn
+ * - 여러 수식에 반복되는 부분식은 배치당 한 번만 계산 (SharedSubexpressions)
+ * 변환 스레드 하나에서만 사용
+ */
+final class BatchCalculator {
+
+    private final CalculationEngine engine;
+    private final CalculationMemo memo;
+    private final Map<ConversionPlan, SharedSubexpressions> sharedByPlan = new IdentityHashMap<>();
+
+    BatchCalculator(CalculationEngine engine, CalculationMemo memo) {
+        this.engine = engine;
+        this.memo = memo;
+    }
+
+    /**
+     * @param inputs 원본 행 (outputs와 같은 순서)
+     * @param outputs 출력 행 (계산 컬럼 위치를 채움)
+     */
+    void calculate(ConversionPlan plan, List<String[]> inputs, List<String[]> outputs) {
+        int count = outputs.size();
+        if (count == 0 || plan.calculationCount() == 0) {
+            return;
+        }
+
+        // 값 위치 → 숫자 열 (여러 수식이 같은 컬럼을 참조해도 한 번만 변환)
+        Map<Integer, double[]> numericColumns = new HashMap<>();
+        double[] result = new double[count];
+        boolean[] failed = new boolean[count];
+        String[] texts = new String[count];
+        SharedSubexpressions shared = sharedByPlan.computeIfAbsent(plan, BatchCalculator::findShared);
+        if (!shared.isEmpty()) {
+            shared.reset(count);
+        }
+
+        for (int c : plan.calculationOrder()) {
+            Calculation calc = plan.calculation(c);
+            CompiledFormula formula = plan.formula(c);
+            int target = plan.calculationTarget(c);
+
+            if (!formula.isBatchable() || engine.isFixedPoint(calc)) {
+                // 행 단위 계산
+                for (int r = 0; r < count; r++) {
+                    String[] values = outputs.get(r);
+                    values[target] = memo.evaluate(calc, formula, arguments(plan, c, formula, inputs.get(r), values));
+                }
+                continue;
+            }
+
+            double[][] columns = new double[formula.getColumns().size()][];
+            for (int v = 0; v < columns.length; v++) {
+                int source = plan.argumentSource(c, v);
+                columns[v] = numericColumns.computeIfAbsent(source, s -> parseColumn(plan, s, inputs, outputs));
+            }
+
+            Arrays.fill(failed, 0, count, false);
+            if (shared.isEmpty()) {
+                formula.evaluateBatch(columns, count, result, failed);
+            } else {
+                formula.evaluateBatch(columns, count, result, failed, shared, c);
+            }
+            engine.formatBatch(calc, formula, result, failed, count, texts);
+            for (int r = 0; r < count; r++) {
+                outputs.get(r)[target] = texts[r];
+            }
+
+            if (calc.getFormat() == null) {
+                // 이 결과를 참조하는 계산용 숫자 열 (결과 문자열을 parseNumber 한 값과 동일)
+                numericColumns.put(plan.resultSource(c), roundTrip(result, failed, count));
+            }
+        }
+    }
+
+    /**
+     * 계획의 공통 부분식 (계획당 한 번)
+     */
+    private static SharedSubexpressions findShared(ConversionPlan plan) {
+        int n = plan.calculationCount();
+        CompiledFormula[] formulas = new CompiledFormula[n];
+        int[][] sources = new int[n][];
+        for (int c = 0; c < n; c++) {
+            formulas[c] = plan.formula(c);
+            sources[c] = new int[formulas[c].getColumns().size()];
+            for (int v = 0; v < sources[c].length; v++) {
+                sources[c][v] = plan.argumentSource(c, v);
+            }
+        }
+        return SharedSubexpressions.build(formulas, sources);
+    }
+
+    /**
+     * 결과 → 문자열 → 숫자 변환을 거친 값 (CompiledFormula.resultNumber)
+     */
+    private static double[] roundTrip(double[] result, boolean[] failed, int count) {
+        double[] column = new double[count];
+        for (int r = 0; r < count; r++) {
+            column[r] = CompiledFormula.resultNumber(result[r], failed[r]);
+        }
+        return column;
+    }
+
+    private static String[] arguments(ConversionPlan plan, int calcIndex, CompiledFormula formula,
+                                      String[] input, String[] values) {
+        String[] arguments = new String[formula.getColumns().size()];
+        for (int v = 0; v < arguments.length; v++) {
+            arguments[v] = plan.sourceValue(plan.argumentSource(calcIndex, v), input, values);
+        }
+        return arguments;
+    }
+
+    private static double[] parseColumn(ConversionPlan plan, int source, List<String[]> inputs, List<String[]> outputs) {
+        double[] column = new double[outputs.size()];
+        for (int r = 0; r < column.length; r++) {
+            column[r] = CompiledFormula.parseNumber(plan.sourceValue(source, inputs.get(r), outputs.get(r)));
+        }
+        return column;
+    }
+}
@@ -1,31 +1,66 @@
 package org.example.service;
 
-import net.objecthunter.exp4j.Expression;
 import net.objecthunter.exp4j.ExpressionBuilder;
 import org.example.model.Calculation;
+import org.example.service.codec.NumberCodec;
+import org.example.service.formula.CompiledFormula;
+import org.example.service.jfr.FormulaCompileEvent;
 
 import java.util.*;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
  * 수식 계산 엔진
- * ${컬럼명} 형태의 변수를 치환하고 exp4j로 계산
- * 문자열 함수 지원: LEFT, RIGHT, SUBSTR, MID
+ * ${컬럼명} 형태의 변수를 사용하는 수식 계산 (산술, 문자열/숫자/조건 함수)
+ * 수식은 compile()로 한 번만 파싱하고 행마다 값 배열로 계산 (CompiledFormula)
+ * Calculation.scale이 있으면 +, -, * 산술식은 고정 소수점(long)으로 정확히 계산 (금액 합계용),
+ * 그 외 수식이나 long으로 표현할 수 없는 행은 double로 계산해 같은 자릿수로 출력
  */
 public class CalculationEngine {
 
     // ${컬럼명} 패턴 매칭
     private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
 
-    // 문자열 함수 패턴
-    private static final Pattern LEFT_PATTERN = Pattern.compile("LEFT\\s*\\(\\s*\\$\\{([^}]+)\\}\\s*,\\s*(\\d+)\\s*\\)", Pattern.CASE_INSENSITIVE);
-    private static final Pattern RIGHT_PATTERN = Pattern.compile("RIGHT\\s*\\(\\s*\\$\\{([^}]+)\\}\\s*,\\s*(\\d+)\\s*\\)", Pattern.CASE_INSENSITIVE);
-    private static final Pattern SUBSTR_PATTERN = Pattern.compile("(?:SUBSTR|MID)\\s*\\(\\s*\\$\\{([^}]+)\\}\\s*,\\s*(\\d+)\\s*,\\s*(\\d+)\\s*\\)", Pattern.CASE_INSENSITIVE);
+    // 수식 문자열 → 컴파일된 수식 (프로필 단위로 한 번만 파싱)
+    private final Map<String, CompiledFormula> compiledFormulas = new ConcurrentHashMap<>();
+
+    // 자릿수별 기본 출력 포맷 (고정 소수점 계산이 double로 대체된 행용)
+    private static final String[] FIXED_PATTERNS = new String[CompiledFormula.MAX_SCALE + 1];
+
+    static {
+        for (int i = 0; i < FIXED_PATTERNS.length; i++) {
+            FIXED_PATTERNS[i] = "%." + i + "f";
+        }
+    }
 
     public CalculationEngine() {
     }
 
+    /**
+     * 수식 컴파일 (같은 수식은 캐시된 결과 재사용, 스레드 안전)
+     */
+    public CompiledFormula compile(String formula) {
+        return compiledFormulas.computeIfAbsent(formula != null ? formula : "", CalculationEngine::compileRecorded);
+    }
+
+    /**
+     * 수식 파싱 (Flight Recorder 기록 중이면 컴파일 이벤트)
+     */
+    private static CompiledFormula compileRecorded(String formula) {
+        FormulaCompileEvent event = new FormulaCompileEvent();
+        event.begin();
+        CompiledFormula compiled = CompiledFormula.compile(formula);
+        event.end();
+        if (event.shouldCommit()) {
+            event.formula = formula;
+            event.columns = compiled.getColumns().size();
+            event.batchable = compiled.isBatchable();
+            event.commit();
+        }
+        return compiled;
+    }
+
     /**
      * 수식 계산
      * @param formula 수식 (예: "${상품 매출} + ${제품 매출}")
@@ -33,164 +68,99 @@ public class CalculationEngine {
      * @return 계산 결과 문자열
      */
     public String evaluate(String formula, Map<String, String> rowData) {
-        try {
-            // 먼저 문자열 함수 체크
-            String textResult = evaluateTextFunction(formula, rowData);
-            if (textResult != null) {
-                return textResult;
-            }
-
-            // 1. ${컬럼명} 추출
-            Set<String> columnNames = extractColumnNames(formula);
-
-            if (columnNames.isEmpty()) {
-                // 변수가 없으면 상수 수식으로 처리
-                return evaluateExpression(formula, Collections.emptyMap());
-            }
-
-            // 2. 변수명을 알파벳 변수로 매핑 (exp4j는 한글 변수명 지원 안함)
-            Map<String, String> varMapping = new LinkedHashMap<>();  // 원본 컬럼명 → 알파벳 변수
-            Map<String, Double> varValues = new LinkedHashMap<>();   // 알파벳 변수 → 값
-
-            int varIndex = 0;
-            for (String colName : columnNames) {
-                String varName = "v" + varIndex++;
-                varMapping.put(colName, varName);
-
-                // 값 가져오기
-                String value = rowData.get(colName);
-                double numValue = parseNumber(value);
-                varValues.put(varName, numValue);
-            }
-
-            // 3. 수식에서 ${컬럼명}을 알파벳 변수로 치환
-            String expression = formula;
-            for (Map.Entry<String, String> entry : varMapping.entrySet()) {
-                expression = expression.replace("${" + entry.getKey() + "}", entry.getValue());
-            }
-
-            // 4. exp4j로 계산
-            return evaluateExpression(expression, varValues);
-
-        } catch (Exception e) {
-            System.err.println("계산 오류 [" + formula + "]: " + e.getMessage());
-            return "0";
+        CompiledFormula compiled = compile(formula);
+        List<String> columns = compiled.getColumns();
+        String[] values = new String[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rowData.get(columns.get(i));
         }
+        return compiled.evaluate(values);
     }
 
     /**
-     * 문자열 함수 처리
-     * LEFT(${Column}, n) - 왼쪽에서 n자
-     * RIGHT(${Column}, n) - 오른쪽에서 n자
-     * SUBSTR(${Column}, start, length) 또는 MID(${Column}, start, length) - 부분 문자열
+     * Calculation 객체를 사용한 계산
      */
-    private String evaluateTextFunction(String formula, Map<String, String> rowData) {
-        String trimmedFormula = formula.trim();
-
-        // LEFT 함수
-        Matcher leftMatcher = LEFT_PATTERN.matcher(trimmedFormula);
-        if (leftMatcher.matches()) {
-            String colName = leftMatcher.group(1);
-            int length = Integer.parseInt(leftMatcher.group(2));
-            String value = rowData.getOrDefault(colName, "");
-            if (value.length() <= length) {
-                return value;
-            }
-            return value.substring(0, length);
-        }
-
-        // RIGHT 함수
-        Matcher rightMatcher = RIGHT_PATTERN.matcher(trimmedFormula);
-        if (rightMatcher.matches()) {
-            String colName = rightMatcher.group(1);
-            int length = Integer.parseInt(rightMatcher.group(2));
-            String value = rowData.getOrDefault(colName, "");
-            if (value.length() <= length) {
-                return value;
-            }
-            return value.substring(value.length() - length);
+    public String evaluate(Calculation calc, Map<String, String> rowData) {
+        CompiledFormula compiled = compile(calc.getFormula());
+        List<String> columns = compiled.getColumns();
+        String[] values = new String[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rowData.get(columns.get(i));
         }
+        return evaluate(calc, compiled, values);
+    }
 
-        // SUBSTR/MID 함수
-        Matcher substrMatcher = SUBSTR_PATTERN.matcher(trimmedFormula);
-        if (substrMatcher.matches()) {
-            String colName = substrMatcher.group(1);
-            int start = Integer.parseInt(substrMatcher.group(2));
-            int length = Integer.parseInt(substrMatcher.group(3));
-            String value = rowData.getOrDefault(colName, "");
-            if (start >= value.length()) {
-                return "";
-            }
-            int end = Math.min(start + length, value.length());
-            return value.substring(start, end);
+    /**
+     * 컴파일된 수식으로 계산 (행 처리용, 정규식/수식 빌드 없음)
+     * @param values formula.getColumns() 순서의 값
+     */
+    public String evaluate(Calculation calc, CompiledFormula formula, String[] values) {
+        if (isFixedPoint(calc)) {
+            return evaluateFixedPoint(calc, formula, values);
         }
-
-        // 문자열 함수 아님
-        return null;
+        return applyFormat(calc, formula.evaluate(values));
     }
 
     /**
-     * exp4j로 수식 계산
+     * 고정 소수점 계산 여부 (scale이 0 ~ CompiledFormula.MAX_SCALE)
+     * 이런 계산은 배치에서도 행 단위로 계산
      */
-    private String evaluateExpression(String expression, Map<String, Double> variables) {
-        try {
-            ExpressionBuilder builder = new ExpressionBuilder(expression);
-
-            if (!variables.isEmpty()) {
-                builder.variables(variables.keySet());
-            }
-
-            Expression exp = builder.build();
-
-            for (Map.Entry<String, Double> entry : variables.entrySet()) {
-                exp.setVariable(entry.getKey(), entry.getValue());
-            }
-
-            double result = exp.evaluate();
-
-            // 정수면 정수로 반환
-            if (result == Math.floor(result) && !Double.isInfinite(result)) {
-                return String.valueOf((long) result);
-            }
+    public boolean isFixedPoint(Calculation calc) {
+        Integer scale = calc.getScale();
+        return scale != null && scale >= 0 && scale <= CompiledFormula.MAX_SCALE;
+    }
 
-            return String.valueOf(result);
+    private String evaluateFixedPoint(Calculation calc, CompiledFormula formula, String[] values) {
+        int scale = calc.getScale();
+        String format = calc.getFormat();
+        long unscaled = formula.evaluateScaled(values, scale);
+        if (unscaled != NumberCodec.UNREPRESENTABLE) {
+            return format != null
+                ? NumberCodec.formatScaled(unscaled, scale, format)
+                : NumberCodec.formatScaled(unscaled, scale);
+        }
 
-        } catch (Exception e) {
-            throw new RuntimeException("수식 계산 실패: " + expression, e);
+        // double로 계산 (나눗셈/함수가 있는 수식, 입력 자릿수 초과, 오버플로)
+        String result = formula.evaluate(values);
+        double value = NumberCodec.parseDouble(result, Double.NaN);
+        if (Double.isNaN(value)) {
+            return result;
         }
+        return NumberCodec.format(value, format != null ? format : FIXED_PATTERNS[scale]);
     }
 
     /**
-     * 문자열을 숫자로 변환
+     * 배치 계산 결과 → 문자열 (포맷 적용, 행 단위 evaluate와 같은 결과)
+     * @param results formula.evaluateBatch 결과
+     * @param texts 행별 결과 문자열
      */
-    private double parseNumber(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return 0.0;
+    public void formatBatch(Calculation calc, CompiledFormula formula, double[] results, boolean[] failed,
+                            int count, String[] texts) {
+        for (int i = 0; i < count; i++) {
+            texts[i] = formatResult(calc, formula, results[i], failed[i]);
         }
+    }
 
-        try {
-            // 쉼표 제거 (천 단위 구분자)
-            String cleaned = value.replace(",", "").trim();
-            return Double.parseDouble(cleaned);
-        } catch (NumberFormatException e) {
-            return 0.0;
+    /**
+     * 숫자 계산 결과 → 문자열 (포맷 적용, 행 단위 evaluate와 같은 결과)
+     * @param failed 계산 오류 (0으로 나누기)
+     */
+    public String formatResult(Calculation calc, CompiledFormula formula, double value, boolean failed) {
+        String format = calc.getFormat();
+        if (format != null && !failed && Math.abs(value) < 1e18) {
+            // 정수 문자열로 바꿨다가 다시 읽는 과정 생략 (long 범위 안에서는 같은 값)
+            return NumberCodec.format(value, format);
         }
+        return applyFormat(calc, formula.formatResult(value, failed));
     }
 
     /**
-     * Calculation 객체를 사용한 계산
+     * 포맷 적용
      */
-    public String evaluate(Calculation calc, Map<String, String> rowData) {
-        String result = evaluate(calc.getFormula(), rowData);
-
-        // 포맷 적용
+    private String applyFormat(Calculation calc, String result) {
         if (calc.getFormat() != null && !"ERROR".equals(result)) {
-            try {
-                double value = Double.parseDouble(result);
-                return String.format(calc.getFormat(), value);
-            } catch (NumberFormatException e) {
-                return result;
-            }
+            double value = NumberCodec.parseDouble(result, Double.NaN);
+            return Double.isNaN(value) ? result : NumberCodec.format(value, calc.getFormat());
         }
 
         return result;
@@ -200,12 +170,7 @@ public class CalculationEngine {
      * 수식에 사용된 컬럼명 추출
      */
     public Set<String> extractColumnNames(String formula) {
-        Set<String> columns = new LinkedHashSet<>();
-        Matcher matcher = VARIABLE_PATTERN.matcher(formula);
-        while (matcher.find()) {
-            columns.add(matcher.group(1));
-        }
-        return columns;
+        return CompiledFormula.extractColumnNames(formula);
     }
 
     /**
@@ -216,8 +181,12 @@ public class CalculationEngine {
             return false;
         }
 
+        if (CompiledFormula.isSupported(formula)) {
+            return true;
+        }
+
         try {
-            // 모든 변수를 1로 치환하고 테스트
+            // 모든 변수를 1로 치환하고 테스트 (exp4j 전용 문법)
             String testFormula = VARIABLE_PATTERN.matcher(formula).replaceAll("1");
             new ExpressionBuilder(testFormula).build().evaluate();
             return true;
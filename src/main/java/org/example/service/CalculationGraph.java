@@ -0,0 +1,161 @@
+package org.example.service;
+
+import org.example.model.Calculation;
+import org.example.service.formula.CompiledFormula;
+
+import java.util.*;
+
+/**
+ * 계산 컬럼 의존 그래프
+ * 수식의 ${이름}이 계산 컬럼을 가리키면 그 계산에 의존
+ * - 앞쪽에 같은 이름의 계산이 있으면 가장 가까운 앞쪽 계산 (같은 이름으로 다시 계산하는 경우)
+ * - 없으면 같은 이름의 원본 컬럼 (기존 동작: 목록 순서대로 계산)
+ * - 원본 컬럼도 없으면 뒤쪽의 첫 번째 같은 이름 계산 (목록 순서와 무관하게 참조 가능)
+ * - 자기 이름(앞쪽에 같은 이름이 없을 때)은 원본 컬럼
+ * 계산 순서는 의존 관계를 지키면서 가능한 한 목록 순서 유지, 순환 참조는 IllegalStateException
+ */
+final class CalculationGraph {
+
+    private final int[][] references;   // [계산][변수] → 참조하는 계산 인덱스 (원본 컬럼이면 -1)
+    private final int[] order;          // 계산 순서
+
+    private CalculationGraph(int[][] references, int[] order) {
+        this.references = references;
+        this.order = order;
+    }
+
+    /**
+     * @throws IllegalStateException 순환 참조
+     */
+    static CalculationGraph build(List<Calculation> calculations, Set<String> sourceColumns) {
+        int count = calculations.size();
+        int[][] references = new int[count][];
+        for (int i = 0; i < count; i++) {
+            String formula = calculations.get(i).getFormula();
+            List<String> variables = formula != null
+                ? new ArrayList<>(CompiledFormula.extractColumnNames(formula)) : Collections.emptyList();
+            references[i] = new int[variables.size()];
+            for (int v = 0; v < variables.size(); v++) {
+                references[i][v] = resolve(calculations, i, variables.get(v), sourceColumns);
+            }
+        }
+        return new CalculationGraph(references, sort(calculations, references));
+    }
+
+    /**
+     * 프로필의 계산 컬럼 검증 (순환 참조)
+     * @param sourceColumns 원본 컬럼으로 알려진 이름 (실제 입력에 더 있으면 순환이 아닐 수 있음)
+     * @throws IllegalStateException 순환 참조
+     */
+    static void validate(List<Calculation> calculations, Set<String> sourceColumns) {
+        if (calculations != null && !calculations.isEmpty()) {
+            build(calculations, sourceColumns);
+        }
+    }
+
+    /**
+     * i번째 계산의 v번째 변수(CompiledFormula.getColumns() 순서)가 참조하는 계산 (원본 컬럼이면 -1)
+     */
+    int reference(int calcIndex, int variable) {
+        return references[calcIndex][variable];
+    }
+
+    /**
+     * 계산 순서 (계산 인덱스 배열, 수정하지 말 것)
+     */
+    int[] order() {
+        return order;
+    }
+
+    private static int resolve(List<Calculation> calculations, int self, String name, Set<String> sourceColumns) {
+        for (int j = self - 1; j >= 0; j--) {
+            if (name.equals(calculations.get(j).getNewColumn())) {
+                return j;
+            }
+        }
+        if (name.equals(calculations.get(self).getNewColumn())) {
+            return -1;  // 같은 이름의 첫 계산 → 원본 컬럼
+        }
+        if (sourceColumns.contains(name)) {
+            return -1;
+        }
+        for (int j = self + 1; j < calculations.size(); j++) {
+            if (name.equals(calculations.get(j).getNewColumn())) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 위상 정렬 (준비된 계산 중 목록 앞쪽 우선)
+     */
+    private static int[] sort(List<Calculation> calculations, int[][] references) {
+        int count = references.length;
+        int[] pending = new int[count];                 // 아직 계산되지 않은 의존 수
+        List<List<Integer>> dependents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < count; i++) {
+            Set<Integer> dependencies = new HashSet<>();
+            for (int ref : references[i]) {
+                if (ref >= 0 && dependencies.add(ref)) {
+                    dependents.get(ref).add(i);
+                    pending[i]++;
+                }
+            }
+        }
+
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < count; i++) {
+            if (pending[i] == 0) {
+                ready.add(i);
+            }
+        }
+        int[] order = new int[count];
+        int n = 0;
+        while (!ready.isEmpty()) {
+            int i = ready.poll();
+            order[n++] = i;
+            for (int dependent : dependents.get(i)) {
+                if (--pending[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (n < count) {
+            throw new IllegalStateException("계산 컬럼 순환 참조: " + describeCycle(calculations, references, pending));
+        }
+        return order;
+    }
+
+    /**
+     * 순환 경로 (예: A → B → A)
+     */
+    private static String describeCycle(List<Calculation> calculations, int[][] references, int[] pending) {
+        // 정렬되지 않고 남은 계산에서 의존을 따라가면 반드시 순환에 들어감
+        int start = 0;
+        while (pending[start] == 0) {
+            start++;
+        }
+        List<Integer> path = new ArrayList<>();
+        int current = start;
+        while (!path.contains(current)) {
+            path.add(current);
+            for (int ref : references[current]) {
+                if (ref >= 0 && pending[ref] > 0) {
+                    current = ref;
+                    break;
+                }
+            }
+        }
+
+        StringBuilder cycle = new StringBuilder();
+        for (int k = path.indexOf(current); k < path.size(); k++) {
+            cycle.append(calculations.get(path.get(k)).getNewColumn()).append(" → ");
+        }
+        return cycle.append(calculations.get(current).getNewColumn()).toString();
+    }
+}
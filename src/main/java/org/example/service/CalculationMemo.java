@@ -0,0 +1,170 @@
+package org.example.service;
+
+import org.example.model.Calculation;
+import org.example.model.ConversionResult;
+import org.example.service.formula.CompiledFormula;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 계산 컬럼 결과 메모 (Calculation.memoize인 계산만)
+ * 같은 입력 값 조합이면 수식을 다시 계산하지 않고 이전 결과 재사용
+ * (예: LEFT(${스토어 브랜드 ID}, 4), 회사 코드로만 계산하는 수식)
+ * - 계산마다 크기가 정해진 캐시, 가득 차면 CLOCK 방식으로 오래 안 쓴 항목 교체
+ * - 키는 인자 배열 그대로 (String.hashCode는 문자열에 캐시되므로 조회 시 할당 없음)
+ * - 구간별 적중률이 낮으면 그 계산은 메모를 끄고 메모리 해제
+ * 변환 스레드 하나에서만 사용
+ */
+final class CalculationMemo {
+
+    static final int CAPACITY = 8192;          // 계산당 항목 수 (2의 거듭제곱)
+    static final int WINDOW = 16384;           // 적중률 확인 간격 (조회 수)
+    static final double MIN_HIT_RATE = 0.25;   // 구간 적중률이 이보다 낮으면 끔
+
+    private final CalculationEngine engine;
+    private final Map<Calculation, Cache> caches = new IdentityHashMap<>();
+
+    CalculationMemo(CalculationEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * 계산 (메모 대상이 아니거나 꺼졌으면 바로 계산)
+     * @param arguments formula.getColumns() 순서의 값 (호출 후 수정하지 말 것, 캐시 키로 보관)
+     */
+    String evaluate(Calculation calc, CompiledFormula formula, String[] arguments) {
+        if (!calc.isMemoize()) {
+            return engine.evaluate(calc, formula, arguments);
+        }
+        Cache cache = caches.computeIfAbsent(calc, c -> new Cache());
+        if (cache.disabled) {
+            return engine.evaluate(calc, formula, arguments);
+        }
+
+        int hash = hash(arguments);
+        String result = cache.get(arguments, hash);
+        boolean hit = result != null;
+        if (!hit) {
+            result = engine.evaluate(calc, formula, arguments);
+            cache.put(arguments, hash, result);
+        }
+        cache.count(hit);
+        return result;
+    }
+
+    /**
+     * 계산별 적중률 기록
+     */
+    void reportTo(ConversionResult result) {
+        for (Map.Entry<Calculation, Cache> entry : caches.entrySet()) {
+            Cache cache = entry.getValue();
+            result.addCalculationCacheStats(entry.getKey().getNewColumn(), cache.lookups, cache.hits, cache.disabled);
+        }
+    }
+
+    private static int hash(String[] arguments) {
+        int h = 1;
+        for (String argument : arguments) {
+            h = 31 * h + (argument != null ? argument.hashCode() : 0);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 해시 체인 + CLOCK 교체 캐시 (항목은 배열 인덱스로 관리)
+     */
+    private static final class Cache {
+        private static final int MASK = CAPACITY - 1;
+
+        private int[] buckets = new int[CAPACITY];      // 해시 → 첫 항목 + 1 (0이면 없음)
+        private int[] next = new int[CAPACITY];         // 같은 버킷 다음 항목 + 1
+        private int[] hashes = new int[CAPACITY];
+        private String[][] keys = new String[CAPACITY][];
+        private String[] values = new String[CAPACITY];
+        private boolean[] referenced = new boolean[CAPACITY];  // CLOCK 참조 비트
+        private int size;
+        private int hand;
+
+        private long lookups;
+        private long hits;
+        private int windowLookups;
+        private int windowHits;
+        private boolean disabled;
+
+        String get(String[] key, int hash) {
+            for (int e = buckets[hash & MASK] - 1; e >= 0; e = next[e] - 1) {
+                if (hashes[e] == hash && Arrays.equals(keys[e], key)) {
+                    referenced[e] = true;
+                    return values[e];
+                }
+            }
+            return null;
+        }
+
+        void put(String[] key, int hash, String value) {
+            int e = size < CAPACITY ? size++ : evict();
+            hashes[e] = hash;
+            keys[e] = key;
+            values[e] = value;
+            referenced[e] = false;
+            int bucket = hash & MASK;
+            next[e] = buckets[bucket];
+            buckets[bucket] = e + 1;
+        }
+
+        /**
+         * 조회 통계 (구간 적중률이 낮으면 끄고 메모리 해제)
+         */
+        void count(boolean hit) {
+            lookups++;
+            windowLookups++;
+            if (hit) {
+                hits++;
+                windowHits++;
+            }
+            if (windowLookups == WINDOW) {
+                if (windowHits < WINDOW * MIN_HIT_RATE) {
+                    disabled = true;
+                    buckets = null;
+                    next = null;
+                    hashes = null;
+                    keys = null;
+                    values = null;
+                    referenced = null;
+                }
+                windowLookups = 0;
+                windowHits = 0;
+            }
+        }
+
+        /**
+         * 참조 비트가 꺼진 항목을 찾을 때까지 시계 방향으로 진행 (지나간 항목은 비트를 끔)
+         */
+        private int evict() {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = (hand + 1) & MASK;
+            }
+            int victim = hand;
+            hand = (hand + 1) & MASK;
+            unlink(victim);
+            return victim;
+        }
+
+        private void unlink(int e) {
+            int bucket = hashes[e] & MASK;
+            if (buckets[bucket] == e + 1) {
+                buckets[bucket] = next[e];
+                return;
+            }
+            for (int p = buckets[bucket] - 1; p >= 0; p = next[p] - 1) {
+                if (next[p] == e + 1) {
+                    next[p] = next[e];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.model.ConversionResult;
+import org.example.model.Profile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * 변환 캐시 (출력 폴더의 .excelconverter-cache.json)
+ * 입력 파일(크기, 수정 시각, CRC32C) + 프로필 JSON 해시 + 출력 파일(크기, 수정 시각)을 기록하고
+ * 다음 실행에서 모두 같으면 변환을 건너뜀 (ConversionResult.Status.SKIPPED)
+ * - 크기와 수정 시각이 같으면 내용 해시는 계산하지 않음 (다시 실행해도 파일당 stat 몇 번)
+ * - 수정 시각만 바뀐 경우(복사 등)는 CRC32C로 내용 비교 (잠금 밖에서 계산)
+ * - 변환 후에는 입력을 다시 읽지 않음: CRC는 수정 시각이 바뀌었을 때 처음 계산해서 다음 변환 기록에 사용
+ *   (처음 바뀐 때는 비교할 값이 없으므로 다시 변환하고, 그 다음부터 내용 비교로 건너뜀)
+ * - 출력 파일이 지워졌거나 바뀌었으면 다시 변환
+ * 개별 파일 모드에서만 사용 (여러 파일 동시 변환 시 여러 스레드에서 호출)
+ */
+final class ConversionCache {
+
+    static final String MANIFEST_NAME = ".excelconverter-cache.json";
+    private static final int VERSION = 1;   // 출력 형식이 바뀌면 올려서 기존 캐시 무효화
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+        .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        .build();
+
+    private final Path manifestPath;
+    private final String profileName;
+    private final String profileHash;
+    private final Manifest manifest;
+    private boolean dirty = false;
+
+    // 이번 실행에서 내용 비교하느라 계산한 CRC (키 → {크기, 수정 시각, CRC}), 변환 후 기록에 재사용
+    private final Map<String, long[]> computedCrcs = new ConcurrentHashMap<>();
+
+    private ConversionCache(Path manifestPath, String profileName, String profileHash, Manifest manifest) {
+        this.manifestPath = manifestPath;
+        this.profileName = profileName;
+        this.profileHash = profileHash;
+        this.manifest = manifest;
+    }
+
+    /**
+     * 출력 폴더의 캐시 읽기 (없거나 읽을 수 없으면 빈 캐시)
+     */
+    static ConversionCache load(File outputDir, Profile profile) {
+        Path manifestPath = outputDir.toPath().resolve(MANIFEST_NAME);
+        Manifest manifest = null;
+        if (Files.exists(manifestPath)) {
+            try {
+                manifest = MAPPER.readValue(manifestPath.toFile(), Manifest.class);
+            } catch (IOException e) {
+                System.err.println("Conversion cache ignored: " + e.getMessage());
+            }
+        }
+        if (manifest == null || manifest.version != VERSION) {
+            manifest = new Manifest();
+        }
+        return new ConversionCache(manifestPath, profile.getProfileName(), hashProfile(profile), manifest);
+    }
+
+    /**
+     * 입력/프로필/출력이 마지막 변환 때와 같은지
+     * 내용 비교가 필요하면 CRC는 잠금 밖에서 계산 (다른 작업 스레드를 막지 않음)
+     */
+    boolean isUpToDate(File inputFile, File outputFile) {
+        String key = key(inputFile);
+        long expectedCrc;
+        synchronized (this) {
+            Entry entry = manifest.entries.get(key);
+            if (entry == null
+                    || !profileHash.equals(entry.profileHash)
+                    || !outputFile.getName().equals(entry.output)
+                    || !outputFile.isFile()
+                    || outputFile.length() != entry.outputSize
+                    || outputFile.lastModified() != entry.outputModified
+                    || inputFile.length() != entry.size) {
+                return false;
+            }
+            if (inputFile.lastModified() == entry.modified) {
+                return true;
+            }
+            expectedCrc = entry.crc32c != null ? entry.crc32c : -1;  // CRC32C는 32비트라 -1과 겹치지 않음
+        }
+
+        // 수정 시각만 다름 → 내용 비교
+        long size = inputFile.length();
+        long modified = inputFile.lastModified();
+        long crc;
+        try {
+            crc = crc32c(inputFile);
+        } catch (IOException e) {
+            return false;  // 읽을 수 없으면 변환해서 오류를 보고
+        }
+        if (crc != expectedCrc) {
+            computedCrcs.put(key, new long[] {size, modified, crc});  // 다시 변환한 뒤 기록에 사용
+            return false;
+        }
+
+        synchronized (this) {
+            Entry entry = manifest.entries.get(key);
+            if (entry == null || entry.crc32c == null || entry.crc32c != crc) {
+                return false;
+            }
+            entry.modified = modified;
+            dirty = true;
+        }
+        return true;
+    }
+
+    /**
+     * 변환 결과 기록 (성공이면 항목 저장, 아니면 항목 삭제)
+     * 입력 CRC는 다시 읽어 계산하지 않고, 크기/수정 시각이 같은 이전 항목이나 이번 실행의 계산 값을 재사용
+     * @param inputSize 변환 시작 전 입력 크기
+     * @param inputModified 변환 시작 전 입력 수정 시각 (변환 중 바뀌었으면 기록하지 않음)
+     */
+    void update(File inputFile, long inputSize, long inputModified, ConversionResult result) {
+        String key = key(inputFile);
+        long[] computed = computedCrcs.remove(key);
+        Entry entry = null;
+        File outputFile = result.getOutputFile();
+        if (result.isSuccess() && outputFile != null && outputFile.isFile()
+                && inputFile.length() == inputSize && inputFile.lastModified() == inputModified) {
+            entry = new Entry();
+            entry.size = inputSize;
+            entry.modified = inputModified;
+            if (computed != null && computed[0] == inputSize && computed[1] == inputModified) {
+                entry.crc32c = computed[2];
+            }
+            entry.profileHash = profileHash;
+            entry.output = outputFile.getName();
+            entry.outputSize = outputFile.length();
+            entry.outputModified = outputFile.lastModified();
+        }
+
+        synchronized (this) {
+            if (entry != null) {
+                Entry previous = manifest.entries.get(key);
+                if (entry.crc32c == null && previous != null && previous.crc32c != null
+                        && previous.size == inputSize && previous.modified == inputModified) {
+                    entry.crc32c = previous.crc32c;
+                }
+                manifest.entries.put(key, entry);
+            } else {
+                manifest.entries.remove(key);
+            }
+            dirty = true;
+        }
+    }
+
+    /**
+     * 바뀐 내용이 있으면 저장 (임시 파일에 쓰고 교체)
+     */
+    synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        Path temp = manifestPath.resolveSibling(MANIFEST_NAME + ".tmp");
+        try {
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifest);
+            Files.move(temp, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Conversion cache not saved: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 항목 키 (같은 입력을 다른 프로필로 변환해도 서로 덮어쓰지 않음)
+     */
+    private String key(File inputFile) {
+        return profileName + "|" + inputFile.getAbsolutePath();
+    }
+
+    /**
+     * 프로필 정규화 JSON의 SHA-256 (필드 순서 고정, 실행 중 정보인 filePath 제외)
+     */
+    static String hashProfile(Profile profile) {
+        try {
+            ObjectNode tree = MAPPER.valueToTree(profile);
+            tree.remove("filePath");
+            tree.put("cacheVersion", VERSION);
+            byte[] json = MAPPER.writeValueAsString(tree).getBytes(StandardCharsets.UTF_8);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Profile hash failed", e);
+        }
+    }
+
+    /**
+     * 파일 내용 CRC32C (하드웨어 가속, 1MB 단위 읽기)
+     */
+    static long crc32c(File file) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * 캐시 파일 형식
+     */
+    static class Manifest {
+        @JsonProperty("version")
+        int version = VERSION;
+
+        @JsonProperty("entries")
+        Map<String, Entry> entries = new LinkedHashMap<>();
+    }
+
+    static class Entry {
+        @JsonProperty("size")
+        long size;              // 입력 크기
+
+        @JsonProperty("modified")
+        long modified;          // 입력 수정 시각 (ms)
+
+        @JsonProperty("crc32c")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long crc32c;            // 입력 내용 해시 (모르면 null)
+
+        @JsonProperty("profileHash")
+        String profileHash;
+
+        @JsonProperty("output")
+        String output;          // 출력 파일명
+
+        @JsonProperty("outputSize")
+        long outputSize;
+
+        @JsonProperty("outputModified")
+        long outputModified;
+    }
+}
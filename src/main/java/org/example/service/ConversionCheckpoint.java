@@ -0,0 +1,115 @@
+package org.example.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 변환 체크포인트 (출력 파일 옆의 {출력 파일명}.ckpt, CSV 출력 + 개별 파일 모드만)
+ * 쓰기 단계가 배치를 쓴 뒤 주기적으로 기록:
+ * 반영된 출력 바이트 위치 + 거기까지 읽은 입력 행 수/헤더 수 + 출력 행 수
+ * 중복 체크 상태는 저장하지 않고 이어하기 때 앞 행의 키를 다시 넣어 복원 (replay)
+ * → 출력 행 수가 체크포인트와 같은지로 복원 결과 검증
+ * 입력 파일(크기, 수정 시각)이나 프로필이 바뀌었으면 사용하지 않음
+ */
+final class ConversionCheckpoint {
+
+    static final String SUFFIX = ".ckpt";
+    private static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @JsonProperty("version")
+    int version = VERSION;
+
+    @JsonProperty("input")
+    String input;               // 입력 파일 절대 경로
+
+    @JsonProperty("inputSize")
+    long inputSize;
+
+    @JsonProperty("inputModified")
+    long inputModified;
+
+    @JsonProperty("profileHash")
+    String profileHash;
+
+    @JsonProperty("outputBytes")
+    long outputBytes;           // 출력 파일에서 유효한 바이트 수
+
+    @JsonProperty("consumedRows")
+    long consumedRows;          // 출력에 반영된 입력 행 수
+
+    @JsonProperty("headers")
+    long headers;               // 출력에 쓴 헤더 수
+
+    @JsonProperty("outputRows")
+    long outputRows;            // 출력에 쓴 행 수
+
+    static File fileFor(File outputFile) {
+        return new File(outputFile.getPath() + SUFFIX);
+    }
+
+    /**
+     * 이어할 수 있는 체크포인트 읽기
+     * @return 없거나, 읽을 수 없거나, 입력/프로필/출력 파일이 맞지 않으면 null
+     */
+    static ConversionCheckpoint loadFor(File inputFile, File outputFile, String profileHash) {
+        File file = fileFor(outputFile);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            ConversionCheckpoint checkpoint = MAPPER.readValue(file, ConversionCheckpoint.class);
+            if (checkpoint.version == VERSION
+                    && inputFile.getAbsolutePath().equals(checkpoint.input)
+                    && inputFile.length() == checkpoint.inputSize
+                    && inputFile.lastModified() == checkpoint.inputModified
+                    && profileHash.equals(checkpoint.profileHash)
+                    && outputFile.isFile()
+                    && outputFile.length() >= checkpoint.outputBytes) {
+                return checkpoint;
+            }
+        } catch (IOException e) {
+            System.err.println("Checkpoint ignored: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 새 체크포인트 (입력 파일 정보 기록)
+     */
+    static ConversionCheckpoint start(File inputFile, String profileHash) {
+        ConversionCheckpoint checkpoint = new ConversionCheckpoint();
+        checkpoint.input = inputFile.getAbsolutePath();
+        checkpoint.inputSize = inputFile.length();
+        checkpoint.inputModified = inputFile.lastModified();
+        checkpoint.profileHash = profileHash;
+        return checkpoint;
+    }
+
+    /**
+     * 저장 (임시 파일에 쓰고 교체 → 중간에 죽어도 이전 체크포인트는 유지)
+     */
+    void save(File outputFile) throws IOException {
+        Path target = fileFor(outputFile).toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        MAPPER.writeValue(temp.toFile(), this);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static void delete(File outputFile) {
+        try {
+            Files.deleteIfExists(fileFor(outputFile).toPath());
+        } catch (IOException e) {
+            // 다음 실행에서 입력이 바뀌었으면 무시됨
+        }
+    }
+}
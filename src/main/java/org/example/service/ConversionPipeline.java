@@ -0,0 +1,512 @@
+package org.example.service;
+
+import org.example.service.jfr.BatchTransformEvent;
+import org.example.service.jfr.SlowRowEvent;
+import org.example.service.reader.RowBuffer;
+import org.example.service.writer.DataWriter;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
+
+/**
+ * 읽기 → 변환 → 쓰기 3단계 파이프라인
+ * 읽기는 호출 스레드(리더 콜백), 변환(중복 체크 + 계산)과 쓰기는 각각 전용 스레드에서 실행
+ * 단계 사이는 크기가 제한된 배치 큐로 연결 → 느린 단계가 앞 단계를 멈추게 함 (배압)
+ * 어느 단계든 오류/취소가 생기면 전체를 멈추고 처음 발생한 원인을 run()에서 다시 던짐
+ * 단계별 시간/행 수는 배치 단위로 MetricsRecorder에 기록
+ * Flight Recorder가 켜져 있으면 변환 배치마다 이벤트, 행은 샘플링해서 느린 행만 이벤트
+ */
+final class ConversionPipeline {
+
+    static final int BATCH_SIZE = 1024;
+    private static final int QUEUE_CAPACITY = 8;
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * 변환 단계 (변환 스레드 하나에서만 호출되므로 상태를 가져도 됨)
+     */
+    interface RowTransformer {
+        /**
+         * @return 출력 행, 중복이라 건너뛸 행이면 null
+         */
+        String[] transform(ConversionPlan plan, RowBuffer row) throws Exception;
+
+        /**
+         * 배치의 모든 행을 transform한 뒤 한 번 호출 (계산 컬럼 일괄 계산 등)
+         * @param inputs 출력 행별 원본 값 (outputs와 같은 순서)
+         */
+        default void completeBatch(ConversionPlan plan, List<String[]> inputs, List<String[]> outputs) throws Exception {
+        }
+
+        /**
+         * 체크포인트 이어하기: 이미 처리한 행의 상태만 반영 (중복 체크 키 등, 출력 행은 만들지 않음)
+         * @return 출력됐을 행이면 true, 중복이면 false
+         */
+        default boolean replay(ConversionPlan plan, RowBuffer row) throws Exception {
+            return transform(plan, row) != null;
+        }
+    }
+
+    /**
+     * 쓰기 단계에서 배치를 쓴 뒤 호출 (쓰기 스레드, 체크포인트 기록용)
+     */
+    interface CommitListener {
+        /**
+         * @param consumedRows 지금까지 출력에 반영된 입력 행 수 (submit 순서 기준)
+         * @param headers 지금까지 쓴 헤더 수 (이어하기에서 건너뛴 헤더 포함)
+         * @param outputRows 지금까지 출력한 행 수 (이어하기 전 출력 포함)
+         */
+        void onCommitted(long consumedRows, long headers, long outputRows) throws Exception;
+    }
+
+    /**
+     * 읽은 행을 받는 곳 (파이프라인 자체 또는 병합 모드의 파일별 버퍼)
+     */
+    interface RowSink {
+        void submit(ConversionPlan plan, RowBuffer row) throws Exception;
+    }
+
+    /**
+     * 읽기 단계 (호출 스레드에서 실행, 행마다 submit 호출)
+     */
+    interface ReadTask {
+        void run() throws Exception;
+    }
+
+    private static final InputBatch INPUT_END = new InputBatch(null, null, null, null, 0, 0);
+    private static final OutputBatch OUTPUT_END = new OutputBatch(null, null, 0, 0);
+
+    private final String name;
+    private final RowTransformer transformer;
+    private final DataWriter writer;
+    private final AtomicBoolean cancelled;
+    private final LongConsumer outputProgress;
+    private final MetricsRecorder metrics;
+
+    private final BlockingQueue<InputBatch> inputQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final BlockingQueue<OutputBatch> outputQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean stopped = false;
+
+    // 읽기 스레드 전용
+    private ConversionPlan batchPlan;
+    private List<String> batchHeaders;
+    private List<String[]> batchRows = new ArrayList<>(BATCH_SIZE);
+    private long submittedRows = 0;     // submit한 행 수 (배치 위치)
+    private long headerCount = 0;       // writeHeader 호출 수
+    private long readMark;              // 읽기 시간을 마지막으로 기록한 시각 (배치마다 기록)
+
+    // 이어하기 (run 전에 설정)
+    private long replayRows = 0;        // 앞에서부터 replay만 할 행 수
+    private long replayHeaders = 0;     // 쓰지 않고 건너뛸 헤더 수
+    private long expectedReplayOutput = 0;
+    private CommitListener commitListener;
+
+    // 단계별 카운터 (해당 스레드만 기록, run() 종료 후 읽음)
+    private long duplicateRows = 0;
+    private long replayedRows = 0;
+    private long replayedOutputRows = 0;    // replay한 행 중 출력됐을 행 (이어하기 전 출력분)
+    private long outputRows = 0;
+    private long transformedRows = 0;       // 느린 행 샘플링용 (변환 스레드)
+
+    /**
+     * @param name 스레드 이름 접두어
+     * @param cancelled 서비스 취소 플래그
+     * @param outputProgress 출력 행 수 콜백 (10000행마다, null 가능)
+     */
+    ConversionPipeline(String name, RowTransformer transformer, DataWriter writer,
+                       AtomicBoolean cancelled, LongConsumer outputProgress, MetricsRecorder metrics) {
+        this.name = name;
+        this.transformer = transformer;
+        this.writer = writer;
+        this.cancelled = cancelled;
+        this.outputProgress = outputProgress;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 체크포인트에서 이어하기 (run 전에 호출)
+     * 앞의 consumedRows 행은 변환하지 않고 replay만 하고, 앞의 headers개 헤더는 쓰지 않음
+     * @param outputRows 체크포인트까지 출력한 행 수 (replay 결과와 다르면 입력이 바뀐 것으로 보고 실패)
+     */
+    void resumeFrom(long consumedRows, long headers, long outputRows) {
+        this.replayRows = consumedRows;
+        this.replayHeaders = headers;
+        this.expectedReplayOutput = outputRows;
+    }
+
+    void setCommitListener(CommitListener commitListener) {
+        this.commitListener = commitListener;
+    }
+
+    /**
+     * 파이프라인 실행 (변환/쓰기 스레드 시작 → 읽기 → 모든 단계 종료 대기)
+     * 오류가 있었으면 처음 발생한 오류를, 취소됐으면 CancellationException을 던짐
+     */
+    void run(ReadTask readTask) throws Exception {
+        Thread transformThread = new Thread(this::transformLoop, name + "-transform");
+        Thread writeThread = new Thread(this::writeLoop, name + "-write");
+        transformThread.setDaemon(true);
+        writeThread.setDaemon(true);
+        transformThread.start();
+        writeThread.start();
+
+        metrics.enterThread();
+        readMark = System.nanoTime();
+        try {
+            readTask.run();
+            flush();
+            putInput(INPUT_END);
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            metrics.addReadTime(System.nanoTime() - readMark);
+            metrics.exitThread();
+        }
+
+        joinQuietly(transformThread);
+        joinQuietly(writeThread);
+
+        Throwable cause = failure.get();
+        if (cause == null && cancelled.get()) {
+            cause = new CancellationException("Conversion cancelled");
+        }
+        if (cause instanceof Exception) {
+            throw (Exception) cause;
+        } else if (cause != null) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * 헤더 쓰기 (행과 같은 순서로 쓰기 단계에 전달)
+     */
+    void writeHeader(List<String> headers) throws Exception {
+        flush();
+        if (++headerCount <= replayHeaders) {
+            return;  // 이어하기: 이미 출력 파일에 있는 헤더
+        }
+        putInput(new InputBatch(null, null, null, new ArrayList<>(headers), submittedRows, headerCount));
+    }
+
+    /**
+     * 읽은 행 전달 (값을 복사하므로 호출 후 RowBuffer 재사용 가능)
+     */
+    void submit(ConversionPlan plan, RowBuffer row) throws Exception {
+        if (plan != batchPlan) {
+            // 파일(헤더)이 바뀌면 배치도 분리
+            flush();
+            batchPlan = plan;
+            batchHeaders = new ArrayList<>(row.getHeaders());
+        }
+        batchRows.add(row.toArray());
+        submittedRows++;
+        if (batchRows.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * 여러 읽기 스레드에서 만든 배치 전달 (스레드 안전, submit과 섞어 쓰지 않음)
+     * @param headers 원본 헤더 (같은 파일이면 같은 인스턴스)
+     */
+    void submitBatch(ConversionPlan plan, List<String> headers, List<String[]> rows) throws Exception {
+        checkStopped();
+        if (!rows.isEmpty()) {
+            metrics.addInputRows(rows.size());
+            putInput(new InputBatch(plan, headers, rows, null, 0, 0));
+        }
+    }
+
+    /**
+     * 다른 단계 오류나 취소로 멈췄는지
+     */
+    boolean isStopped() {
+        return stopped || cancelled.get();
+    }
+
+    long getDuplicateRows() {
+        return duplicateRows;
+    }
+
+    /**
+     * 출력 행 수 (이어하기면 체크포인트 전 출력분 포함)
+     */
+    long getOutputRows() {
+        return outputRows + replayedOutputRows;
+    }
+
+    private void flush() throws Exception {
+        checkStopped();
+        if (batchRows.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        metrics.addReadTime(now - readMark);
+        metrics.addInputRows(batchRows.size());
+        readMark = now;
+        putInput(new InputBatch(batchPlan, batchHeaders, batchRows, null, submittedRows, headerCount));
+        batchRows = new ArrayList<>(BATCH_SIZE);
+    }
+
+    /**
+     * 변환 큐에 넣기 (자리가 없어 기다린 시간은 읽기 시간에서 빠지도록 기록)
+     */
+    private void putInput(InputBatch batch) throws InterruptedException {
+        if (inputQueue.offer(batch)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            put(inputQueue, batch);
+        } finally {
+            metrics.addReadBlocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 변환 단계: 중복 체크 + 계산 → 출력 배치
+     */
+    private void transformLoop() {
+        metrics.enterThread();
+        try {
+            // 헤더별 행 버퍼 (병합 모드에서는 여러 파일 배치가 섞여 들어옴)
+            Map<List<String>, RowBuffer> rowBuffers = new IdentityHashMap<>();
+
+            while (true) {
+                InputBatch batch = take(inputQueue);
+                checkStopped();
+                if (batch == INPUT_END) {
+                    if (replayedRows < replayRows) {
+                        throw new ReplayMismatchException(String.format(
+                            "Checkpoint does not match input (expected at least %,d rows, read %,d)",
+                            replayRows, replayedRows));
+                    }
+                    put(outputQueue, OUTPUT_END);
+                    return;
+                }
+                if (batch.outputHeader != null) {
+                    put(outputQueue, new OutputBatch(batch.outputHeader, Collections.emptyList(),
+                        batch.position, batch.headerCount));
+                    continue;
+                }
+
+                long start = System.nanoTime();
+                BatchTransformEvent event = new BatchTransformEvent();
+                event.begin();
+                RowBuffer rowBuffer = rowBuffers.computeIfAbsent(batch.headers, RowBuffer::new);
+
+                List<String[]> in = new ArrayList<>(batch.rows.size());
+                List<String[]> out = new ArrayList<>(batch.rows.size());
+                long rowPosition = batch.position - batch.rows.size();
+                int replayed = 0;
+                for (String[] values : batch.rows) {
+                    rowBuffer.load(values);
+                    if (replayRows > 0 && ++rowPosition <= replayRows) {
+                        replay(batch.plan, rowBuffer, rowPosition);
+                        replayed++;
+                        continue;
+                    }
+                    String[] transformed = (++transformedRows & (SlowRowEvent.SAMPLE_INTERVAL - 1)) == 0
+                        ? transformSampled(batch.plan, rowBuffer, batch.position > 0 ? rowPosition : 0)
+                        : transformer.transform(batch.plan, rowBuffer);
+                    if (transformed == null) {
+                        duplicateRows++;
+                    } else {
+                        in.add(values);
+                        out.add(transformed);
+                    }
+                }
+                transformer.completeBatch(batch.plan, in, out);
+                metrics.addTransformTime(System.nanoTime() - start);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.pipeline = name;
+                    event.rows = batch.rows.size();
+                    event.outputRows = out.size();
+                    event.replayedRows = replayed;
+                    event.commit();
+                }
+                put(outputQueue, new OutputBatch(null, out, batch.position, batch.headerCount));
+            }
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            metrics.exitThread();
+        }
+    }
+
+    /**
+     * 샘플링한 행 변환 (임계값을 넘으면 느린 행 이벤트)
+     * @param row 읽은 순서 기준 행 번호 (여러 리더가 보낸 배치면 0)
+     */
+    private String[] transformSampled(ConversionPlan plan, RowBuffer rowBuffer, long row) throws Exception {
+        SlowRowEvent event = new SlowRowEvent();
+        event.begin();
+        String[] transformed = transformer.transform(plan, rowBuffer);
+        event.end();
+        if (event.shouldCommit()) {
+            event.pipeline = name;
+            event.row = row;
+            event.duplicate = transformed == null;
+            event.commit();
+        }
+        return transformed;
+    }
+
+    /**
+     * 이어하기: 이미 출력한 행은 상태만 반영, 마지막 replay 행에서 체크포인트와 출력 행 수 비교
+     */
+    private void replay(ConversionPlan plan, RowBuffer row, long rowPosition) throws Exception {
+        replayedRows++;
+        if (transformer.replay(plan, row)) {
+            replayedOutputRows++;
+        } else {
+            duplicateRows++;
+        }
+        if (rowPosition == replayRows && replayedOutputRows != expectedReplayOutput) {
+            throw new ReplayMismatchException(String.format(
+                "Checkpoint does not match input (expected %,d output rows, replay gave %,d)",
+                expectedReplayOutput, replayedOutputRows));
+        }
+    }
+
+    /**
+     * 쓰기 단계: 출력 인코딩 (CSV/XLSX)
+     */
+    private void writeLoop() {
+        metrics.enterThread();
+        try {
+            while (true) {
+                OutputBatch batch = take(outputQueue);
+                checkStopped();
+                if (batch == OUTPUT_END) {
+                    return;
+                }
+                long start = System.nanoTime();
+                if (batch.header != null) {
+                    writer.writeHeader(batch.header);
+                }
+                for (String[] values : batch.rows) {
+                    writer.writeRow(values);
+                    outputRows++;
+
+                    if (outputProgress != null && outputRows % 10000 == 0) {
+                        outputProgress.accept(outputRows);
+                    }
+                }
+                metrics.addWriteTime(System.nanoTime() - start);
+                metrics.addOutputRows(batch.rows.size());
+                if (commitListener != null && batch.position > 0) {
+                    commitListener.onCommitted(batch.position, batch.headerCount, getOutputRows());
+                }
+            }
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            metrics.exitThread();
+        }
+    }
+
+    private void fail(Throwable e) {
+        failure.compareAndSet(null, e);
+        stopped = true;
+    }
+
+    /**
+     * 다른 단계 오류나 취소 요청이 있으면 배치 경계에서 중단
+     */
+    private void checkStopped() {
+        if (isStopped()) {
+            throw new CancellationException("Pipeline stopped");
+        }
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T item) throws InterruptedException {
+        while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (isStopped()) {
+                throw new CancellationException("Pipeline stopped");
+            }
+        }
+    }
+
+    private <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+        while (true) {
+            T item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+            if (isStopped()) {
+                throw new CancellationException("Pipeline stopped");
+            }
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 이어하기 replay 결과가 체크포인트와 다름 (체크포인트를 버리고 처음부터 다시 변환해야 함)
+     */
+    static class ReplayMismatchException extends IllegalStateException {
+        ReplayMismatchException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 읽기 → 변환 배치
+     */
+    private static class InputBatch {
+        final ConversionPlan plan;
+        final List<String> headers;       // 원본 헤더 (RowBuffer 생성용)
+        final List<String[]> rows;
+        final List<String> outputHeader;  // 헤더 쓰기 요청
+        final long position;              // 이 배치까지 submit한 행 수 (submitBatch는 0)
+        final long headerCount;           // 이 배치까지 writeHeader 호출 수
+
+        InputBatch(ConversionPlan plan, List<String> headers, List<String[]> rows, List<String> outputHeader,
+                   long position, long headerCount) {
+            this.plan = plan;
+            this.headers = headers;
+            this.rows = rows;
+            this.outputHeader = outputHeader;
+            this.position = position;
+            this.headerCount = headerCount;
+        }
+    }
+
+    /**
+     * 변환 → 쓰기 배치
+     */
+    private static class OutputBatch {
+        final List<String> header;
+        final List<String[]> rows;
+        final long position;
+        final long headerCount;
+
+        OutputBatch(List<String> header, List<String[]> rows, long position, long headerCount) {
+            this.header = header;
+            this.rows = rows;
+            this.position = position;
+            this.headerCount = headerCount;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package org.example.service;
+
+import org.example.model.Calculation;
+import org.example.model.ColumnMapping;
+import org.example.model.Profile;
+import org.example.service.formula.CompiledFormula;
+import org.example.service.reader.RowBuffer;
+
+import java.util.*;
+
+/**
+ * 파일 헤더 기준으로 컴파일한 변환 계획 (불변)
+ * 헤더를 읽을 때 한 번 만들고, 행 처리에서는 슬롯 배열만 사용
+ * - sourceSlots: 선택 컬럼별 입력 슬롯
+ * - columnTargets / calcTargets: 선택 컬럼, 계산 컬럼의 출력 위치
+ * - keySlots: 중복 체크 키 컬럼의 입력 슬롯
+ * - formulas / calcArgs: 컴파일된 계산식과 변수별 값 위치 (입력 슬롯 또는 다른 계산 결과)
+ * - graph: 계산 컬럼 의존 관계와 계산 순서 (calculationOrder 순서로 계산해야 참조 값이 준비됨)
+ * - numericCalcs: 행 단위 계산에서 숫자 변수로 바로 계산하는 계산 (MethodHandle 산술식, 고정 소수점/메모 아님)
+ *   포맷 없는 이런 계산의 결과는 행마다 double 슬롯으로 뒤 계산에 전달 (출력 문자열을 다시 파싱하지 않음)
+ *   문자열 함수/exp4j/고정 소수점/메모 계산은 값을 문자열로 주고받음
+ */
+final class ConversionPlan {
+
+    private static final int MISSING = Integer.MIN_VALUE;  // 헤더에도 계산 컬럼에도 없는 변수
+
+    private final List<String> outputHeaders;
+    private final List<String> selectedSourceColumns;   // 헤더에서 찾은 매핑 컬럼 (프로필 순서)
+    private final List<String> keyColumns;              // 중복 체크 키 컬럼
+    private final List<String> missingColumns;          // 헤더에 없는 매핑 컬럼
+
+    private final int[] sourceSlots;
+    private final int[] columnTargets;
+    private final Calculation[] calculations;
+    private final int[] calcTargets;
+    private final CompiledFormula[] formulas;
+    private final CalculationGraph graph;
+    private final int[][] calcArgs;                     // >= 0: 입력 슬롯, -(j+1): j번째 계산 결과
+    private final boolean[] numericCalcs;
+    private final int[] keySlots;
+
+    private ConversionPlan(List<String> outputHeaders,
+                           List<String> selectedSourceColumns,
+                           List<String> keyColumns,
+                           List<String> missingColumns,
+                           int[] sourceSlots,
+                           int[] columnTargets,
+                           Calculation[] calculations,
+                           int[] calcTargets,
+                           CompiledFormula[] formulas,
+                           CalculationGraph graph,
+                           int[][] calcArgs,
+                           boolean[] numericCalcs,
+                           int[] keySlots) {
+        this.outputHeaders = outputHeaders;
+        this.selectedSourceColumns = selectedSourceColumns;
+        this.keyColumns = keyColumns;
+        this.missingColumns = missingColumns;
+        this.sourceSlots = sourceSlots;
+        this.columnTargets = columnTargets;
+        this.calculations = calculations;
+        this.calcTargets = calcTargets;
+        this.formulas = formulas;
+        this.graph = graph;
+        this.calcArgs = calcArgs;
+        this.numericCalcs = numericCalcs;
+        this.keySlots = keySlots;
+    }
+
+    /**
+     * 프로필 + 파일 헤더로 계획 생성
+     * @param headerRow 원본 헤더 (trim 전)
+     * @param engine 계산식 컴파일용 (같은 수식은 엔진 캐시 재사용)
+     * @throws IllegalStateException 계산 컬럼 순환 참조
+     */
+    static ConversionPlan compile(Profile profile, List<String> headerRow, CalculationEngine engine) {
+        Map<String, Integer> sourceColumnIndex = indexHeader(headerRow);
+
+        // 헤더에 있는 매핑 컬럼만 선택
+        List<String> selectedSourceColumns = new ArrayList<>();
+        List<String> missingColumns = new ArrayList<>();
+        List<String> outputHeaders = new ArrayList<>();
+        List<String> keyColumns = new ArrayList<>();
+        for (ColumnMapping col : profile.getColumns()) {
+            if (sourceColumnIndex.containsKey(col.getSource())) {
+                selectedSourceColumns.add(col.getSource());
+                outputHeaders.add(col.getOutputName());
+                if (col.isUniqueKey()) {
+                    keyColumns.add(col.getSource());
+                }
+            } else {
+                missingColumns.add(col.getSource());
+            }
+        }
+        int selectedCount = selectedSourceColumns.size();
+
+        // 계산 컬럼 헤더 배치 (insertAfter 대상 뒤, 없으면 끝)
+        List<Object> layout = new ArrayList<>();
+        for (int i = 0; i < selectedCount; i++) {
+            layout.add(i);
+        }
+        List<Calculation> calcs = profile.getCalculations();
+        for (Calculation calc : calcs) {
+            int insertIdx = calc.getInsertAfter() != null ? outputHeaders.indexOf(calc.getInsertAfter()) : -1;
+            if (insertIdx >= 0) {
+                outputHeaders.add(insertIdx + 1, calc.getNewColumn());
+                layout.add(insertIdx + 1, calc);
+            } else {
+                outputHeaders.add(calc.getNewColumn());
+                layout.add(calc);
+            }
+        }
+
+        // 최종 배치 → 출력 위치
+        int[] columnTargets = new int[selectedCount];
+        int[] calcTargets = new int[calcs.size()];
+        for (int pos = 0; pos < layout.size(); pos++) {
+            Object entry = layout.get(pos);
+            if (entry instanceof Integer) {
+                columnTargets[(Integer) entry] = pos;
+            } else {
+                calcTargets[indexOfIdentity(calcs, entry)] = pos;
+            }
+        }
+
+        Calculation[] calculations = calcs.toArray(new Calculation[0]);
+        CompiledFormula[] formulas = new CompiledFormula[calculations.length];
+        boolean[] numericCalcs = new boolean[calculations.length];
+        for (int i = 0; i < formulas.length; i++) {
+            formulas[i] = engine.compile(calculations[i].getFormula());
+            numericCalcs[i] = formulas[i].isBatchable() && !engine.isFixedPoint(calculations[i])
+                && !calculations[i].isMemoize();
+        }
+        CalculationGraph graph = CalculationGraph.build(calcs, sourceColumnIndex.keySet());
+
+        return new ConversionPlan(
+            Collections.unmodifiableList(outputHeaders),
+            Collections.unmodifiableList(selectedSourceColumns),
+            Collections.unmodifiableList(keyColumns),
+            Collections.unmodifiableList(missingColumns),
+            resolveSlots(selectedSourceColumns, sourceColumnIndex),
+            columnTargets,
+            calculations,
+            calcTargets,
+            formulas,
+            graph,
+            resolveCalcArgs(graph, formulas, sourceColumnIndex),
+            numericCalcs,
+            resolveSlots(keyColumns, sourceColumnIndex));
+    }
+
+    /**
+     * 같은 출력 배치를 유지하고 입력 슬롯만 다른 헤더에 맞춤 (병합 모드의 두 번째 파일부터)
+     * 새 헤더에 없는 컬럼은 빈 값
+     */
+    ConversionPlan rebind(List<String> headerRow) {
+        Map<String, Integer> sourceColumnIndex = indexHeader(headerRow);
+        return new ConversionPlan(outputHeaders, selectedSourceColumns, keyColumns, missingColumns,
+            resolveSlots(selectedSourceColumns, sourceColumnIndex),
+            columnTargets, calculations, calcTargets,
+            formulas, graph, resolveCalcArgs(graph, formulas, sourceColumnIndex), numericCalcs,
+            resolveSlots(keyColumns, sourceColumnIndex));
+    }
+
+    List<String> getOutputHeaders() {
+        return outputHeaders;
+    }
+
+    List<String> getMissingColumns() {
+        return missingColumns;
+    }
+
+    int outputWidth() {
+        return outputHeaders.size();
+    }
+
+    boolean hasUniqueKey() {
+        return keySlots.length > 0;
+    }
+
+    /**
+     * 선택 컬럼 값을 출력 위치에 채운 새 행 (계산 컬럼 위치는 null)
+     */
+    String[] project(RowBuffer row) {
+        String[] out = new String[outputHeaders.size()];
+        for (int i = 0; i < sourceSlots.length; i++) {
+            out[columnTargets[i]] = row.get(sourceSlots[i]);
+        }
+        return out;
+    }
+
+    /**
+     * 중복 체크 키 (키 컬럼 값, DedupStore에 전달)
+     */
+    String[] keyValues(RowBuffer row) {
+        String[] key = new String[keySlots.length];
+        for (int i = 0; i < keySlots.length; i++) {
+            key[i] = row.get(keySlots[i]);
+        }
+        return key;
+    }
+
+    int calculationCount() {
+        return calculations.length;
+    }
+
+    Calculation calculation(int index) {
+        return calculations[index];
+    }
+
+    /**
+     * 계산 컬럼의 출력 위치
+     */
+    int calculationTarget(int index) {
+        return calcTargets[index];
+    }
+
+    CompiledFormula formula(int index) {
+        return formulas[index];
+    }
+
+    /**
+     * 계산 순서 (계산 인덱스, 참조하는 계산이 항상 먼저 나옴)
+     */
+    int[] calculationOrder() {
+        return graph.order();
+    }
+
+    /**
+     * 계산식 변수 값 (formula(index).getColumns() 순서)
+     * @param values 출력 행 (참조하는 계산 컬럼은 이미 채워져 있어야 함)
+     */
+    String[] calculationArguments(int index, RowBuffer row, String[] values) {
+        int[] args = calcArgs[index];
+        String[] arguments = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            int source = args[i];
+            if (source >= 0) {
+                arguments[i] = row.get(source);
+            } else if (source != MISSING) {
+                arguments[i] = values[calcTargets[-source - 1]];
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * 숫자 변수로 계산하는 계산인지 (numericArguments + CompiledFormula.evaluateNumber)
+     */
+    boolean isNumericCalculation(int index) {
+        return numericCalcs[index];
+    }
+
+    /**
+     * 결과를 double 슬롯으로 전달하는 계산인지 (숫자 계산 + 포맷 없음)
+     */
+    boolean hasNumericResult(int index) {
+        return numericCalcs[index] && calculations[index].getFormat() == null;
+    }
+
+    /**
+     * 계산식 숫자 변수 값 (formula(index).getColumns() 순서, parseNumber 적용)
+     * @param values 출력 행 (참조하는 계산 컬럼은 이미 채워져 있어야 함)
+     * @param results 계산별 결과 숫자 (hasNumericResult인 계산만 채워져 있으면 됨)
+     */
+    double[] numericArguments(int index, RowBuffer row, String[] values, double[] results) {
+        int[] args = calcArgs[index];
+        double[] arguments = new double[args.length];
+        for (int i = 0; i < args.length; i++) {
+            int source = args[i];
+            if (source >= 0) {
+                arguments[i] = CompiledFormula.parseNumber(row.get(source));
+            } else if (source != MISSING) {
+                int ref = -source - 1;
+                arguments[i] = hasNumericResult(ref) ? results[ref] : CompiledFormula.parseNumber(values[calcTargets[ref]]);
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * 계산식 변수의 값 위치 (배치 계산에서 같은 열을 한 번만 변환하기 위한 키)
+     * 같은 값이면 같은 행에서 항상 같은 값
+     */
+    int argumentSource(int index, int variable) {
+        return calcArgs[index][variable];
+    }
+
+    /**
+     * 계산 결과를 참조하는 변수의 argumentSource 값
+     */
+    int resultSource(int index) {
+        return -(index + 1);
+    }
+
+    /**
+     * argumentSource 위치의 값
+     * @param input 원본 행 (RowBuffer.toArray()와 같은 배치)
+     * @param values 출력 행 (참조하는 계산 컬럼은 이미 채워져 있어야 함)
+     * @return 없는 컬럼이면 null
+     */
+    String sourceValue(int source, String[] input, String[] values) {
+        if (source >= 0) {
+            return source < input.length && input[source] != null ? input[source] : "";
+        }
+        return source != MISSING ? values[calcTargets[-source - 1]] : null;
+    }
+
+    private static Map<String, Integer> indexHeader(List<String> headerRow) {
+        Map<String, Integer> sourceColumnIndex = new HashMap<>(headerRow.size() * 2);
+        for (int i = 0; i < headerRow.size(); i++) {
+            String name = headerRow.get(i) != null ? headerRow.get(i).trim() : "";
+            sourceColumnIndex.put(name, i);
+        }
+        return sourceColumnIndex;
+    }
+
+    private static int[] resolveSlots(List<String> columnNames, Map<String, Integer> sourceColumnIndex) {
+        int[] slots = new int[columnNames.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = sourceColumnIndex.getOrDefault(columnNames.get(i), -1);
+        }
+        return slots;
+    }
+
+    /**
+     * 계산식 변수 → 값 위치 (계산 컬럼을 가리키면 계산 결과, 아니면 입력 슬롯)
+     */
+    private static int[][] resolveCalcArgs(CalculationGraph graph, CompiledFormula[] formulas,
+                                           Map<String, Integer> sourceColumnIndex) {
+        int[][] calcArgs = new int[formulas.length][];
+        for (int i = 0; i < formulas.length; i++) {
+            List<String> columns = formulas[i].getColumns();
+            int[] args = new int[columns.size()];
+            for (int v = 0; v < args.length; v++) {
+                int ref = graph.reference(i, v);
+                args[v] = ref >= 0 ? -(ref + 1) : sourceColumnIndex.getOrDefault(columns.get(v), MISSING);
+            }
+            calcArgs[i] = args;
+        }
+        return calcArgs;
+    }
+
+    private static int indexOfIdentity(List<?> list, Object target) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
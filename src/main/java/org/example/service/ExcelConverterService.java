@@ -2,16 +2,29 @@ package org.example.service;
 
 import org.apache.poi.util.IOUtils;
 import org.example.model.*;
+import org.example.service.dedup.DedupStore;
+import org.example.service.dedup.KeyIndex;
+import org.example.service.dedup.SpillingDedupWriter;
+import org.example.service.formula.CompiledFormula;
+import org.example.service.jfr.FileConversionEvent;
 import org.example.service.reader.CsvReader;
 import org.example.service.reader.DataReader;
+import org.example.service.reader.RowBuffer;
+import org.example.service.reader.RowHandler;
 import org.example.service.reader.XlsxReader;
 import org.example.service.writer.CsvDataWriter;
 import org.example.service.writer.DataWriter;
 import org.example.service.writer.XlsxDataWriter;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * 파일 변환 서비스
@@ -19,6 +32,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class ExcelConverterService {
 
+    // 동시 변환 파일 수 자동 결정 시 파일당 가정하는 힙 사용량 (청크 병렬 읽기 버퍼 제외)
+    private static final long HEAP_PER_FILE = 512L * 1024 * 1024;
+
     private final CalculationEngine calculationEngine;
     private final AtomicBoolean cancelled = new AtomicBoolean(false);
 
@@ -43,7 +59,7 @@ public class ExcelConverterService {
         void onAllComplete(List<ConversionResult> results);
 
         /**
-         * 누락된 컬럼 발견 시 호출
+         * 누락된 컬럼 발견 시 호출 (여러 파일 동시 변환 중이면 다른 콜백과 동시에 호출될 수 있음)
          * @param fileName 파일명
          * @param missingColumns 누락된 컬럼 목록
          * @return true면 계속 진행, false면 중단
@@ -51,6 +67,13 @@ public class ExcelConverterService {
         default boolean onMissingColumns(String fileName, List<String> missingColumns) {
             return true; // 기본값: 계속 진행
         }
+
+        /**
+         * 변환 중 계측 스냅샷 (단계별 시간, 처리량, ETA)
+         * 진행률과 함께 최대 0.5초에 한 번 호출, 최종 값은 ConversionResult.getMetrics()
+         */
+        default void onMetrics(int fileIndex, int totalFiles, String fileName, ConversionMetrics metrics) {
+        }
     }
 
     /**
@@ -88,41 +111,202 @@ public class ExcelConverterService {
             return results;
         }
 
-        // 개별 파일 모드
-        for (int i = 0; i < inputFiles.size(); i++) {
-            if (cancelled.get()) {
-                break;
+        // 개별 파일 모드 (가능하면 여러 파일 동시 변환)
+        // 변환 캐시: 입력과 프로필이 마지막 변환 때와 같고 출력이 그대로면 건너뜀
+        ConversionCache cache = profile.getOptions().isConversionCache()
+            ? ConversionCache.load(outputDir, profile) : null;
+        int parallelism = resolveParallelFiles(profile, inputFiles, outputDir);
+        if (parallelism > 1) {
+            results.addAll(convertConcurrently(profile, inputFiles, outputDir,
+                listener != null ? new SynchronizedProgressListener(listener) : null, parallelism, cache));
+        } else {
+            for (int i = 0; i < inputFiles.size(); i++) {
+                if (cancelled.get()) {
+                    break;
+                }
+                results.add(convertFile(profile, inputFiles, i, outputDir, listener, cache, 0));
             }
+        }
+        if (cache != null) {
+            cache.save();
+        }
 
-            final int fileIndex = i;
-            File inputFile = inputFiles.get(i);
+        if (listener != null) {
+            listener.onAllComplete(results);
+        }
 
-            if (listener != null) {
-                listener.onFileStart(fileIndex, inputFiles.size(), inputFile);
-            }
+        return results;
+    }
 
-            ConversionResult result = convertSingle(profile, inputFile, outputDir,
+    /**
+     * 파일 하나 변환 + 리스너 알림 (개별 파일 모드)
+     * @param cache 변환 캐시 (null이면 항상 변환)
+     * @param readerThreads 파일당 읽기 스레드 상한 (0이면 리더가 결정)
+     */
+    private ConversionResult convertFile(Profile profile,
+                                         List<File> inputFiles,
+                                         int fileIndex,
+                                         File outputDir,
+                                         ProgressListener listener,
+                                         ConversionCache cache,
+                                         int readerThreads) {
+        File inputFile = inputFiles.get(fileIndex);
+
+        if (listener != null) {
+            listener.onFileStart(fileIndex, inputFiles.size(), inputFile);
+        }
+
+        ConversionResult result;
+        File outputFile = new File(outputDir,
+            determineOutputFileName(profile, inputFile, createWriter(profile).getExtension()));
+        if (cache != null && cache.isUpToDate(inputFile, outputFile)) {
+            result = new ConversionResult(inputFile);
+            result.setOutputFile(outputFile);
+            result.markSkipped();
+        } else {
+            long inputSize = inputFile.length();
+            long inputModified = inputFile.lastModified();
+            result = convertSingle(profile, inputFile, outputDir,
                 (currentRow) -> {
                     if (listener != null) {
                         listener.onProgress(fileIndex, inputFiles.size(), currentRow, inputFile.getName());
                     }
                 },
-                listener);
-
-            results.add(result);
-
-            if (listener != null) {
-                listener.onFileComplete(fileIndex, inputFiles.size(), result);
+                listener,
+                listener != null
+                    ? metrics -> listener.onMetrics(fileIndex, inputFiles.size(), inputFile.getName(), metrics)
+                    : null,
+                readerThreads);
+            if (cache != null) {
+                cache.update(inputFile, inputSize, inputModified, result);
             }
         }
 
         if (listener != null) {
-            listener.onAllComplete(results);
+            listener.onFileComplete(fileIndex, inputFiles.size(), result);
+        }
+        return result;
+    }
+
+    /**
+     * 여러 파일 동시 변환
+     * 큰 파일부터 시작해 마지막에 큰 파일 하나만 남는 상황을 줄이고, 결과는 입력 순서로 반환
+     */
+    private List<ConversionResult> convertConcurrently(Profile profile,
+                                                       List<File> inputFiles,
+                                                       File outputDir,
+                                                       ProgressListener listener,
+                                                       int parallelism,
+                                                       ConversionCache cache) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < inputFiles.size(); i++) {
+            order.add(i);
         }
+        order.sort(Comparator.comparingLong((Integer i) -> inputFiles.get(i).length()).reversed());
+
+        ConversionResult[] slots = new ConversionResult[inputFiles.size()];
+        int readerThreads = readerThreadsPerFile(parallelism);
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "convert-file");
+            thread.setDaemon(true);
+            return thread;
+        });
 
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int fileIndex : order) {
+                futures.add(pool.submit(() -> {
+                    // 취소 후에는 대기 중인 파일을 시작하지 않음 (순차 모드와 동일하게 결과에서 제외)
+                    if (!cancelled.get()) {
+                        slots[fileIndex] = convertFile(profile, inputFiles, fileIndex, outputDir, listener, cache, readerThreads);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    // 작업 스레드 취소 → 남은 파일은 취소 플래그를 보고 멈춤
+                    cancelled.set(true);
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    // convertFile은 예외를 결과로 돌려주므로 여기까지 오지 않음
+                    System.err.println("Conversion task error: " + e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<ConversionResult> results = new ArrayList<>();
+        for (ConversionResult result : slots) {
+            if (result != null) {
+                results.add(result);
+            }
+        }
         return results;
     }
 
+    /**
+     * 동시 변환할 파일 수 (개별 파일 모드)
+     * 출력 파일명이 겹치면 같은 파일에 동시에 쓰게 되므로 순차 처리
+     * 영속 키 인덱스는 파일이 성공한 뒤에 커밋하므로, 동시 변환하면 같은 배치의 파일끼리 중복을 못 걸러냄 → 순차 처리
+     */
+    private int resolveParallelFiles(Profile profile, List<File> inputFiles, File outputDir) {
+        if (profile.getOptions().isPersistentKeyIndex()) {
+            return 1;
+        }
+        int parallelism = resolveParallelism(profile, inputFiles.size());
+
+        if (parallelism > 1) {
+            String outputExt = createWriter(profile).getExtension();
+            Set<String> outputNames = new HashSet<>();
+            for (File inputFile : inputFiles) {
+                String name = new File(outputDir, determineOutputFileName(profile, inputFile, outputExt)).getAbsolutePath();
+                if (!outputNames.add(name)) {
+                    return 1;
+                }
+            }
+        }
+        return parallelism;
+    }
+
+    /**
+     * 동시에 읽을 파일 수
+     * maxParallelFiles가 0이면 코어 수와 힙 크기로 결정 (파일마다 읽기/변환/쓰기 3개 스레드 사용)
+     */
+    private int resolveParallelism(Profile profile, int fileCount) {
+        if (fileCount < 2) {
+            return 1;
+        }
+
+        int parallelism = profile.getOptions().getMaxParallelFiles();
+        if (parallelism <= 0) {
+            // 파일당 힙 = 기본 가정치 + 파일 몫의 읽기 스레드로 청크 병렬 읽기할 때의 버퍼
+            long maxMemory = Runtime.getRuntime().maxMemory();
+            parallelism = Math.min(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), fileCount);
+            while (parallelism > 1 && parallelism
+                    * (HEAP_PER_FILE + CsvReader.chunkWindowBytes(readerThreadsPerFile(parallelism))) > maxMemory) {
+                parallelism--;
+            }
+        }
+        return Math.min(parallelism, fileCount);
+    }
+
+    /**
+     * 여러 파일을 동시에 읽을 때 파일당 읽기 스레드 상한 (코어를 파일 수로 나눔)
+     * 파일마다 코어 수만큼 읽기 스레드를 만들면 전체 스레드가 코어 수 × 파일 수가 됨
+     * @return 0이면 상한 없음 (한 파일씩 읽을 때)
+     */
+    private static int readerThreadsPerFile(int parallelism) {
+        if (parallelism <= 1) {
+            return 0;
+        }
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / parallelism);
+    }
+
     /**
      * 여러 파일을 하나로 병합 변환
      */
@@ -132,6 +316,8 @@ public class ExcelConverterService {
                                            ProgressListener listener) {
 
         ConversionResult result = new ConversionResult(inputFiles.get(0));
+        FileConversionEvent event = new FileConversionEvent();
+        event.begin();
 
         // 출력 형식에 따른 라이터 생성
         DataWriter writer = createWriter(profile);
@@ -157,192 +343,211 @@ public class ExcelConverterService {
         File outputFile = new File(outputDir, outputFileName);
         result.setOutputFile(outputFile);
 
-        try {
-            // 중복 제거용 Set
-            Set<String> seenKeys = new HashSet<>();
-            List<Integer> uniqueKeyIndices = new ArrayList<>();
+        // 읽기 → 변환 → 쓰기 파이프라인
+        MetricsRecorder metrics = new MetricsRecorder();
+        metrics.setOutput(writer::getBytesWritten, writer::getIoNanos);
+        PlanTransformer transformer = new PlanTransformer(profile, writer, metrics);
+        ConversionPipeline pipeline = new ConversionPipeline("merge", transformer,
+            writer, cancelled, null, metrics);
 
-            // 출력 헤더 및 컬럼 인덱스
-            List<String> outputHeaders = new ArrayList<>();
-            List<String> selectedSourceColumns = new ArrayList<>();
+        // 통계 카운터 (입력 행은 읽기 단계에서 집계, 여러 파일을 동시에 읽을 수 있음)
+        AtomicLong totalInputRows = new AtomicLong();
+        long[] totalEmptyRows = {0};
 
-            // 통계 카운터
-            long[] totalInputRows = {0};
-            long[] totalOutputRows = {0};
-            long[] totalDuplicateRows = {0};
-            long[] totalEmptyRows = {0};
+        // ETA용 입력 위치 (파일별 읽은 위치 합 / 전체 입력 크기)
+        AtomicLongArray inputPositions = new AtomicLongArray(inputFiles.size());
+        long totalInputBytes = inputFiles.stream().mapToLong(File::length).sum();
 
-            writer.open(outputFile, profile);
-            boolean headerWritten = false;
+        // 동시에 읽을 파일 수 (1이면 기존처럼 순서대로)
+        int parallelism = resolveParallelism(profile, inputFiles.size());
+        boolean preserveOrder = !"interleaved".equalsIgnoreCase(profile.getOptions().getMergeOrder());
+        ProgressListener mergeListener = parallelism > 1 && listener != null
+            ? new SynchronizedProgressListener(listener) : listener;
+        int readerThreads = readerThreadsPerFile(parallelism);
 
-            for (int fileIdx = 0; fileIdx < inputFiles.size(); fileIdx++) {
-                if (cancelled.get()) {
-                    break;
-                }
+        try {
+            // 첫 파일 헤더로 만든 변환 계획 (출력 배치 기준, 나머지 파일은 이 계획에 맞춤)
+            CompletableFuture<ConversionPlan> basePlan = new CompletableFuture<>();
+
+            // 리더가 해석할 원본 컬럼 (매핑 + 수식 참조)
+            Set<String> projectedColumns = getReferencedColumns(profile);
 
+            // 파일별 읽기 작업
+            List<MergeCoordinator.FileTask> tasks = new ArrayList<>();
+            boolean firstAssigned = false;
+            for (int fileIdx = 0; fileIdx < inputFiles.size(); fileIdx++) {
                 File inputFile = inputFiles.get(fileIdx);
                 final int currentFileIdx = fileIdx;
 
-                if (listener != null) {
-                    listener.onFileStart(fileIdx, inputFiles.size(), inputFile);
-                }
-
                 DataReader reader = findReader(inputFile);
                 if (reader == null) {
-                    System.err.println("Unsupported file format: " + inputFile.getName());
+                    tasks.add(sink -> {
+                        if (mergeListener != null) {
+                            mergeListener.onFileStart(currentFileIdx, inputFiles.size(), inputFile);
+                        }
+                        System.err.println("Unsupported file format: " + inputFile.getName());
+                    });
                     continue;
                 }
 
-                Map<String, Integer> sourceColumnIndex = new HashMap<>();
-                final boolean isFirstFile = !headerWritten;
-
-                reader.read(inputFile, profile,
-                    // 헤더 콜백
-                    headerRow -> {
-                        try {
-                            // 원본 컬럼명 → 인덱스 매핑
-                            sourceColumnIndex.clear();
-                            for (int i = 0; i < headerRow.size(); i++) {
-                                sourceColumnIndex.put(headerRow.get(i).trim(), i);
-                            }
+                final boolean isFirstFile = !firstAssigned;
+                firstAssigned = true;
 
-                            // 첫 번째 파일에서만 누락 컬럼 체크 및 헤더 작성
-                            if (isFirstFile) {
-                                // 누락된 컬럼 수집
-                                List<String> missingColumns = new ArrayList<>();
-                                for (ColumnMapping col : profile.getColumns()) {
-                                    if (!sourceColumnIndex.containsKey(col.getSource())) {
-                                        missingColumns.add(col.getSource());
-                                    }
-                                }
+                tasks.add(sink -> {
+                    if (mergeListener != null) {
+                        mergeListener.onFileStart(currentFileIdx, inputFiles.size(), inputFile);
+                    }
 
-                                // 누락된 컬럼이 있으면 리스너에게 확인
-                                if (!missingColumns.isEmpty() && listener != null) {
-                                    boolean shouldContinue = listener.onMissingColumns(inputFile.getName(), missingColumns);
-                                    if (!shouldContinue) {
-                                        throw new RuntimeException("Cancelled due to missing columns");
-                                    }
-                                }
+                    // 현재 파일 헤더 기준 계획 (파일마다 헤더 순서가 다를 수 있음)
+                    ConversionPlan[] plan = {null};
+
+                    try {
+                        reader.read(inputFile, profile, new RowHandler() {
+                            @Override
+                            public Set<String> getProjectedColumns() {
+                                return projectedColumns;
+                            }
 
-                                // 프로필에서 선택할 컬럼 찾기
-                                int idx = 0;
-                                for (ColumnMapping col : profile.getColumns()) {
-                                    Integer colIdx = sourceColumnIndex.get(col.getSource());
-                                    if (colIdx != null) {
-                                        selectedSourceColumns.add(col.getSource());
-                                        outputHeaders.add(col.getOutputName());
+                            @Override
+                            public int getReaderThreads() {
+                                return readerThreads;
+                            }
 
-                                        if (col.isUniqueKey()) {
-                                            uniqueKeyIndices.add(idx);
+                            @Override
+                            public void onHeader(List<String> headerRow) {
+                                try {
+                                    // 첫 번째 파일에서만 누락 컬럼 체크 및 헤더 작성
+                                    if (isFirstFile) {
+                                        ConversionPlan compiled = ConversionPlan.compile(profile, headerRow, calculationEngine);
+
+                                        // 누락된 컬럼이 있으면 리스너에게 확인
+                                        List<String> missingColumns = compiled.getMissingColumns();
+                                        if (!missingColumns.isEmpty() && mergeListener != null) {
+                                            boolean shouldContinue = mergeListener.onMissingColumns(inputFile.getName(), missingColumns);
+                                            if (!shouldContinue) {
+                                                throw new RuntimeException("Cancelled due to missing columns");
+                                            }
                                         }
-                                        idx++;
-                                    }
-                                }
 
-                                // 계산 컬럼 헤더 추가
-                                for (Calculation calc : profile.getCalculations()) {
-                                    if (calc.getInsertAfter() != null) {
-                                        int insertIdx = outputHeaders.indexOf(calc.getInsertAfter());
-                                        if (insertIdx >= 0) {
-                                            outputHeaders.add(insertIdx + 1, calc.getNewColumn());
-                                        } else {
-                                            outputHeaders.add(calc.getNewColumn());
-                                        }
+                                        plan[0] = compiled;
+                                        pipeline.writeHeader(compiled.getOutputHeaders());
+                                        basePlan.complete(compiled);
                                     } else {
-                                        outputHeaders.add(calc.getNewColumn());
+                                        plan[0] = awaitPlan(basePlan).rebind(headerRow);
                                     }
+                                } catch (Exception e) {
+                                    throw new RuntimeException("Header processing error", e);
                                 }
-
-                                writer.writeHeader(outputHeaders);
                             }
-                        } catch (Exception e) {
-                            throw new RuntimeException("Header processing error", e);
-                        }
-                    },
-                    // 행 콜백
-                    rowData -> {
-                        try {
-                            totalInputRows[0]++;
-
-                            // 중복 체크
-                            if (!uniqueKeyIndices.isEmpty()) {
-                                StringBuilder keyBuilder = new StringBuilder();
-                                for (int keyIdx : uniqueKeyIndices) {
-                                    if (keyIdx < selectedSourceColumns.size()) {
-                                        String colName = selectedSourceColumns.get(keyIdx);
-                                        String value = rowData.getOrDefault(colName, "");
-                                        keyBuilder.append(value).append("\u0000");
-                                    }
-                                }
-                                String key = keyBuilder.toString();
 
-                                if (seenKeys.contains(key)) {
-                                    totalDuplicateRows[0]++;
-                                    return;
-                                }
-                                seenKeys.add(key);
+                            @Override
+                            public void onRow(RowBuffer row) throws Exception {
+                                totalInputRows.incrementAndGet();
+                                sink.submit(plan[0], row);
                             }
 
-                            // 선택된 컬럼 값 추출
-                            List<String> values = new ArrayList<>();
-                            for (String colName : selectedSourceColumns) {
-                                values.add(rowData.getOrDefault(colName, ""));
+                            @Override
+                            public void onSheetComplete(String sheetName, long rowCount) {
+                                result.addSheetRowCount(inputFile.getName() + " / " + sheetName, rowCount);
                             }
 
-                            // 계산 컬럼 추가
-                            for (Calculation calc : profile.getCalculations()) {
-                                String calcValue = calculationEngine.evaluate(calc, rowData);
-
-                                if (calc.getInsertAfter() != null) {
-                                    int insertIdx = outputHeaders.indexOf(calc.getNewColumn());
-                                    if (insertIdx >= 0 && insertIdx <= values.size()) {
-                                        values.add(insertIdx, calcValue);
-                                    } else {
-                                        values.add(calcValue);
+                            @Override
+                            public void onProgress(long rowNum) {
+                                if (mergeListener != null) {
+                                    mergeListener.onProgress(currentFileIdx, inputFiles.size(), rowNum, inputFile.getName());
+                                    ConversionMetrics snapshot = metrics.pollSnapshot();
+                                    if (snapshot != null) {
+                                        mergeListener.onMetrics(currentFileIdx, inputFiles.size(), inputFile.getName(), snapshot);
                                     }
-                                } else {
-                                    values.add(calcValue);
                                 }
-
-                                rowData.put(calc.getNewColumn(), calcValue);
                             }
 
-                            writer.writeRow(values);
-                            totalOutputRows[0]++;
+                            @Override
+                            public void onInputPosition(long position, long length) {
+                                inputPositions.set(currentFileIdx, position);
+                                long read = 0;
+                                for (int i = 0; i < inputPositions.length(); i++) {
+                                    read += inputPositions.get(i);
+                                }
+                                metrics.setInputPosition(read, totalInputBytes);
+                            }
 
-                        } catch (Exception e) {
-                            throw new RuntimeException("Row processing error", e);
-                        }
-                    },
-                    // 진행률 콜백
-                    rowNum -> {
-                        if (listener != null) {
-                            listener.onProgress(currentFileIdx, inputFiles.size(), rowNum, inputFile.getName());
+                            @Override
+                            public void onSharedStringLookups(long lookups, long nanos) {
+                                metrics.addSharedStringTime(nanos);
+                            }
+                        });
+                    } finally {
+                        // 첫 파일이 헤더 전에 실패하면 기다리는 다른 파일도 멈춤
+                        if (isFirstFile && !basePlan.isDone()) {
+                            basePlan.completeExceptionally(new IllegalStateException("No header in " + inputFile.getName()));
                         }
                     }
-                );
 
-                headerWritten = true;
+                    if (mergeListener != null) {
+                        ConversionResult fileResult = new ConversionResult(inputFile);
+                        fileResult.markSuccess(0);
+                        mergeListener.onFileComplete(currentFileIdx, inputFiles.size(), fileResult);
+                    }
+                });
+            }
+
+            writer.open(outputFile, profile);
 
-                if (listener != null) {
-                    ConversionResult fileResult = new ConversionResult(inputFile);
-                    fileResult.markSuccess(0);
-                    listener.onFileComplete(fileIdx, inputFiles.size(), fileResult);
+            pipeline.run(() -> {
+                if (parallelism > 1) {
+                    new MergeCoordinator(pipeline, parallelism, preserveOrder, cancelled).run(tasks);
+                } else {
+                    for (MergeCoordinator.FileTask task : tasks) {
+                        if (cancelled.get()) {
+                            break;
+                        }
+                        task.read(pipeline::submit);
+                    }
                 }
-            }
+            });
 
-            writer.close();
-            result.markSuccess(totalInputRows[0], totalOutputRows[0], totalDuplicateRows[0], totalEmptyRows[0]);
+            closeWriter(writer, metrics);
+            transformer.commitKeyIndex();
+            transformer.reportTo(result);
+            result.markSuccess(totalInputRows.get(), transformer.outputRows(pipeline), transformer.duplicateRows(pipeline), totalEmptyRows[0]);
 
         } catch (Exception e) {
-            result.markFailed(e.getMessage(), e);
-            System.err.println("Merge conversion error: " + e.getMessage());
-            e.printStackTrace();
+            closeQuietly(writer);
+            if (cancelled.get()) {
+                result.markCancelled(totalInputRows.get(), transformer.outputRows(pipeline), transformer.duplicateRows(pipeline), totalEmptyRows[0]);
+            } else {
+                result.markFailed(e.getMessage(), e);
+                System.err.println("Merge conversion error: " + e.getMessage());
+                e.printStackTrace();
+            }
+        } finally {
+            transformer.close();
+            result.setMetrics(metrics.finish());
+            commitEvent(event, profile, result, true, totalInputBytes, writer);
         }
 
         return result;
     }
 
+    /**
+     * 병합 모드에서 첫 파일의 변환 계획 대기 (다른 파일을 동시에 읽는 경우)
+     */
+    private ConversionPlan awaitPlan(CompletableFuture<ConversionPlan> basePlan) throws Exception {
+        while (true) {
+            if (cancelled.get()) {
+                throw new CancellationException("Conversion cancelled");
+            }
+            try {
+                return basePlan.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 취소 여부 확인 후 계속 대기
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("First file header failed", e.getCause());
+            }
+        }
+    }
+
     /**
      * 단일 파일 변환
      */
@@ -361,8 +566,25 @@ public class ExcelConverterService {
                                           File outputDir,
                                           RowProgressCallback rowCallback,
                                           ProgressListener listener) {
+        return convertSingle(profile, inputFile, outputDir, rowCallback, listener, null, 0);
+    }
+
+    /**
+     * 단일 파일 변환 (계측 스냅샷 콜백 포함)
+     * @param metricsCallback 변환 중 계측 스냅샷 (진행률 콜백과 함께 최대 0.5초에 한 번, null 가능)
+     * @param readerThreads 읽기 스레드 상한 (0이면 리더가 결정)
+     */
+    private ConversionResult convertSingle(Profile profile,
+                                           File inputFile,
+                                           File outputDir,
+                                           RowProgressCallback rowCallback,
+                                           ProgressListener listener,
+                                           Consumer<ConversionMetrics> metricsCallback,
+                                           int readerThreads) {
 
         ConversionResult result = new ConversionResult(inputFile);
+        FileConversionEvent event = new FileConversionEvent();
+        event.begin();
 
         // 적절한 리더 찾기
         DataReader reader = findReader(inputFile);
@@ -380,45 +602,63 @@ public class ExcelConverterService {
         File outputFile = new File(outputDir, outputFileName);
         result.setOutputFile(outputFile);
 
-        try {
-            // 중복 제거용 Set
-            Set<String> seenKeys = new HashSet<>();
-            List<Integer> uniqueKeyIndices = new ArrayList<>();
-
-            // 출력 헤더 및 컬럼 인덱스
-            List<String> outputHeaders = new ArrayList<>();
-            List<String> selectedSourceColumns = new ArrayList<>();
-            Map<String, Integer> sourceColumnIndex = new HashMap<>();
+        // 읽기 → 변환 → 쓰기 파이프라인
+        MetricsRecorder metrics = new MetricsRecorder();
+        metrics.setOutput(writer::getBytesWritten, writer::getIoNanos);
+        PlanTransformer transformer = new PlanTransformer(profile, writer, metrics);
+        // 진행률/계측 스냅샷은 쓰기 단계에서만 보고 (리스너는 한 스레드에서만 호출, 출력 행 수 기준)
+        LongConsumer outputProgress = rowCallback == null && metricsCallback == null ? null : rowNum -> {
+            if (rowCallback != null) {
+                rowCallback.onRow(rowNum);
+            }
+            if (metricsCallback != null) {
+                ConversionMetrics snapshot = metrics.pollSnapshot();
+                if (snapshot != null) {
+                    metricsCallback.accept(snapshot);
+                }
+            }
+        };
+        ConversionPipeline pipeline = new ConversionPipeline("convert", transformer,
+            writer, cancelled, outputProgress, metrics);
 
-            // 통계 카운터
-            long[] inputRows = {0};      // 입력 행 수
-            long[] outputRows = {0};     // 출력 행 수
-            long[] duplicateRows = {0};  // 중복 건너뛴 행 수
-            long[] emptyRows = {0};      // 빈 행 건너뛴 행 수
+        // 통계 카운터 (출력/중복 행은 파이프라인에서 집계)
+        long[] inputRows = {0};      // 입력 행 수
+        long[] emptyRows = {0};      // 빈 행 건너뛴 행 수
 
+        try {
             // 누락 컬럼으로 인한 중단 플래그
             boolean[] abortDueToMissingColumns = {false};
 
-            writer.open(outputFile, profile);
+            // CSV 출력이면 체크포인트 기록 (맞는 체크포인트가 있으면 이어서 변환)
+            boolean checkpointed = openWithCheckpoints(profile, inputFile, outputFile, writer, pipeline, result);
+            if (!checkpointed) {
+                writer.open(outputFile, profile);
+            }
 
-            reader.read(inputFile, profile,
-                // 헤더 콜백
-                headerRow -> {
-                    try {
-                        // 원본 컬럼명 → 인덱스 매핑
-                        for (int i = 0; i < headerRow.size(); i++) {
-                            sourceColumnIndex.put(headerRow.get(i).trim(), i);
-                        }
+            // 헤더 기준 변환 계획
+            ConversionPlan[] plan = {null};
 
-                        // 누락된 컬럼 수집
-                        List<String> missingColumns = new ArrayList<>();
-                        for (ColumnMapping col : profile.getColumns()) {
-                            if (!sourceColumnIndex.containsKey(col.getSource())) {
-                                missingColumns.add(col.getSource());
-                            }
-                        }
+            // 리더가 해석할 원본 컬럼 (매핑 + 수식 참조)
+            Set<String> projectedColumns = getReferencedColumns(profile);
+
+            pipeline.run(() -> reader.read(inputFile, profile, new RowHandler() {
+                @Override
+                public Set<String> getProjectedColumns() {
+                    return projectedColumns;
+                }
+
+                @Override
+                public int getReaderThreads() {
+                    return readerThreads;
+                }
+
+                @Override
+                public void onHeader(List<String> headerRow) {
+                    try {
+                        ConversionPlan compiled = ConversionPlan.compile(profile, headerRow, calculationEngine);
 
                         // 누락된 컬럼이 있으면 리스너에게 확인
+                        List<String> missingColumns = compiled.getMissingColumns();
                         if (!missingColumns.isEmpty() && listener != null) {
                             boolean shouldContinue = listener.onMissingColumns(inputFile.getName(), missingColumns);
                             if (!shouldContinue) {
@@ -427,109 +667,43 @@ public class ExcelConverterService {
                             }
                         }
 
-                        // 프로필에서 선택할 컬럼 찾기
-                        int idx = 0;
-                        for (ColumnMapping col : profile.getColumns()) {
-                            Integer colIdx = sourceColumnIndex.get(col.getSource());
-                            if (colIdx != null) {
-                                selectedSourceColumns.add(col.getSource());
-                                outputHeaders.add(col.getOutputName());
-
-                                if (col.isUniqueKey()) {
-                                    uniqueKeyIndices.add(idx);
-                                }
-                                idx++;
-                            } else {
-                                System.out.println("Warning: Column not found - " + col.getSource());
-                            }
-                        }
-
-                        // 계산 컬럼 헤더 추가
-                        for (Calculation calc : profile.getCalculations()) {
-                            if (calc.getInsertAfter() != null) {
-                                int insertIdx = outputHeaders.indexOf(calc.getInsertAfter());
-                                if (insertIdx >= 0) {
-                                    outputHeaders.add(insertIdx + 1, calc.getNewColumn());
-                                } else {
-                                    outputHeaders.add(calc.getNewColumn());
-                                }
-                            } else {
-                                outputHeaders.add(calc.getNewColumn());
-                            }
+                        for (String missing : missingColumns) {
+                            System.out.println("Warning: Column not found - " + missing);
                         }
 
-                        writer.writeHeader(outputHeaders);
+                        plan[0] = compiled;
+                        pipeline.writeHeader(compiled.getOutputHeaders());
                     } catch (Exception e) {
                         throw new RuntimeException("헤더 처리 오류", e);
                     }
-                },
-                // 행 콜백
-                rowData -> {
-                    try {
-                        inputRows[0]++;  // 입력 행 카운트
-
-                        // 중복 체크
-                        if (!uniqueKeyIndices.isEmpty()) {
-                            StringBuilder keyBuilder = new StringBuilder();
-                            for (int keyIdx : uniqueKeyIndices) {
-                                if (keyIdx < selectedSourceColumns.size()) {
-                                    String colName = selectedSourceColumns.get(keyIdx);
-                                    String value = rowData.getOrDefault(colName, "");
-                                    keyBuilder.append(value).append("\u0000");
-                                }
-                            }
-                            String key = keyBuilder.toString();
-
-                            if (seenKeys.contains(key)) {
-                                duplicateRows[0]++;  // 중복 카운트
-                                return;
-                            }
-                            seenKeys.add(key);
-                        }
-
-                        // 선택된 컬럼 값 추출
-                        List<String> values = new ArrayList<>();
-                        for (String colName : selectedSourceColumns) {
-                            values.add(rowData.getOrDefault(colName, ""));
-                        }
-
-                        // 계산 컬럼 추가
-                        for (Calculation calc : profile.getCalculations()) {
-                            String calcValue = calculationEngine.evaluate(calc, rowData);
+                }
 
-                            if (calc.getInsertAfter() != null) {
-                                int insertIdx = outputHeaders.indexOf(calc.getNewColumn());
-                                if (insertIdx >= 0 && insertIdx <= values.size()) {
-                                    values.add(insertIdx, calcValue);
-                                } else {
-                                    values.add(calcValue);
-                                }
-                            } else {
-                                values.add(calcValue);
-                            }
+                @Override
+                public void onRow(RowBuffer row) throws Exception {
+                    inputRows[0]++;  // 입력 행 카운트
+                    if (plan[0] == null) {
+                        return;  // 누락 컬럼으로 중단됨
+                    }
+                    pipeline.submit(plan[0], row);
+                }
 
-                            rowData.put(calc.getNewColumn(), calcValue);
-                        }
+                @Override
+                public void onSheetComplete(String sheetName, long rowCount) {
+                    result.addSheetRowCount(sheetName, rowCount);
+                }
 
-                        writer.writeRow(values);
-                        outputRows[0]++;  // 출력 행 카운트
+                @Override
+                public void onInputPosition(long position, long length) {
+                    metrics.setInputPosition(position, length);
+                }
 
-                        if (rowCallback != null && outputRows[0] % 10000 == 0) {
-                            rowCallback.onRow(outputRows[0]);
-                        }
-                    } catch (Exception e) {
-                        throw new RuntimeException("Row processing error", e);
-                    }
-                },
-                // 진행률 콜백
-                rowNum -> {
-                    if (rowCallback != null) {
-                        rowCallback.onRow(rowNum);
-                    }
+                @Override
+                public void onSharedStringLookups(long lookups, long nanos) {
+                    metrics.addSharedStringTime(nanos);
                 }
-            );
+            }));
 
-            writer.close();
+            closeWriter(writer, metrics);
 
             // 누락된 컬럼으로 인해 중단된 경우
             if (abortDueToMissingColumns[0]) {
@@ -538,20 +712,308 @@ public class ExcelConverterService {
                 if (outputFile.exists()) {
                     outputFile.delete();
                 }
+                ConversionCheckpoint.delete(outputFile);
                 return result;
             }
 
-            result.markSuccess(inputRows[0], outputRows[0], duplicateRows[0], emptyRows[0]);
+            if (checkpointed) {
+                ConversionCheckpoint.delete(outputFile);
+            }
+            transformer.commitKeyIndex();
+            transformer.reportTo(result);
+            result.markSuccess(inputRows[0], transformer.outputRows(pipeline), transformer.duplicateRows(pipeline), emptyRows[0]);
 
         } catch (Exception e) {
-            result.markFailed(e.getMessage(), e);
-            System.err.println("Conversion error [" + inputFile.getName() + "]: " + e.getMessage());
-            e.printStackTrace();
+            closeQuietly(writer);
+            if (cancelled.get()) {
+                result.markCancelled(inputRows[0], transformer.outputRows(pipeline), transformer.duplicateRows(pipeline), emptyRows[0]);
+            } else {
+                result.markFailed(e.getMessage(), e);
+                if (e instanceof ConversionPipeline.ReplayMismatchException) {
+                    ConversionCheckpoint.delete(outputFile);  // 다음 실행은 처음부터
+                }
+                System.err.println("Conversion error [" + inputFile.getName() + "]: " + e.getMessage());
+                e.printStackTrace();
+            }
+        } finally {
+            transformer.close();
+            result.setMetrics(metrics.finish());
+            commitEvent(event, profile, result, false, inputFile.length(), writer);
         }
 
         return result;
     }
 
+    /**
+     * Flight Recorder 파일 변환 이벤트 기록 (기록 중이 아니면 아무것도 하지 않음)
+     */
+    private static void commitEvent(FileConversionEvent event, Profile profile, ConversionResult result,
+                                    boolean merged, long inputBytes, DataWriter writer) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.inputFile = result.getInputFile() != null ? result.getInputFile().getAbsolutePath() : null;
+        event.outputFile = result.getOutputFile() != null ? result.getOutputFile().getAbsolutePath() : null;
+        event.profile = profile.getProfileName();
+        event.merged = merged;
+        event.status = result.getStatus() != null ? result.getStatus().name() : null;
+        event.inputRows = result.getInputRows();
+        event.outputRows = result.getOutputRows();
+        event.duplicateRows = result.getDuplicateRows();
+        event.inputBytes = inputBytes;
+        event.outputBytes = writer.getBytesWritten();
+        event.commit();
+    }
+
+    /**
+     * 체크포인트 설정 (checkpointSeconds > 0이고 CSV 출력일 때만)
+     * 맞는 체크포인트가 있으면 출력 파일을 체크포인트 위치부터 이어 쓰고,
+     * 그때까지 읽은 행은 파이프라인에서 replay만 하도록 설정 (이어서 변환한 위치는 결과에 기록)
+     * @return 체크포인트를 쓰면 true (라이터도 열림), 아니면 false (호출 측에서 open)
+     */
+    private boolean openWithCheckpoints(Profile profile, File inputFile, File outputFile,
+                                        DataWriter writer, ConversionPipeline pipeline,
+                                        ConversionResult result) throws Exception {
+        int seconds = profile.getOptions().getCheckpointSeconds();
+        if (seconds <= 0 || !(writer instanceof CsvDataWriter)) {
+            return false;
+        }
+        CsvDataWriter csvWriter = (CsvDataWriter) writer;
+        String profileHash = ConversionCache.hashProfile(profile);
+
+        ConversionCheckpoint checkpoint = ConversionCheckpoint.loadFor(inputFile, outputFile, profileHash);
+        if (checkpoint != null) {
+            csvWriter.resume(outputFile, profile, checkpoint.outputBytes);
+            pipeline.resumeFrom(checkpoint.consumedRows, checkpoint.headers, checkpoint.outputRows);
+            result.setResumedFromRow(checkpoint.consumedRows);
+        } else {
+            ConversionCheckpoint.delete(outputFile);
+            csvWriter.open(outputFile, profile);
+            checkpoint = ConversionCheckpoint.start(inputFile, profileHash);
+        }
+
+        // 쓰기 스레드에서 배치를 쓴 뒤 주기가 지났으면 기록
+        ConversionCheckpoint state = checkpoint;
+        long intervalNanos = seconds * 1_000_000_000L;
+        long[] lastSaved = {System.nanoTime()};
+        pipeline.setCommitListener((consumedRows, headers, outputRows) -> {
+            long now = System.nanoTime();
+            if (now - lastSaved[0] < intervalNanos) {
+                return;
+            }
+            lastSaved[0] = now;
+            state.outputBytes = csvWriter.commit();
+            state.consumedRows = consumedRows;
+            state.headers = headers;
+            state.outputRows = outputRows;
+            state.save(outputFile);
+        });
+        return true;
+    }
+
+    /**
+     * 프로필이 실제로 참조하는 원본 컬럼명
+     * 매핑 컬럼 + 계산식의 ${컬럼명} (계산 컬럼명이 섞여 있어도 헤더에 없으면 무시됨)
+     */
+    private Set<String> getReferencedColumns(Profile profile) {
+        Set<String> columns = new HashSet<>();
+        for (ColumnMapping col : profile.getColumns()) {
+            columns.add(col.getSource());
+        }
+        for (Calculation calc : profile.getCalculations()) {
+            if (calc.getFormula() != null) {
+                columns.addAll(calculationEngine.extractColumnNames(calc.getFormula()));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 변환 단계: 중복 체크 + 계획에 따른 출력 행 생성 (변환 스레드에서만 사용)
+     * 배치 계산을 켜면 계산 컬럼은 배치 단위로 BatchCalculator에서 채움
+     * memoize 계산은 변환 하나 동안 결과 메모 공유 (행 단위/배치 모두)
+     * 중복 체크 키는 dedupMode에 따른 DedupStore에 저장 (변환이 끝나면 close)
+     */
+    private class PlanTransformer implements ConversionPipeline.RowTransformer {
+        private final DedupStore seenKeys;              // spill 모드면 null (라이터에서 중복 제거)
+        private final SpillingDedupWriter spill;
+        private final CalculationMemo memo = new CalculationMemo(calculationEngine);
+        private final BatchCalculator batchCalculator;
+        private final Path keyIndexPath;                // persistentKeyIndex가 꺼져 있으면 null
+        private final MetricsRecorder metrics;
+        private KeyIndex keyIndex;                      // 첫 키 확인 때 열기
+        private long previouslyExportedRows = 0;
+
+        PlanTransformer(Profile profile, DataWriter writer, MetricsRecorder metrics) {
+            this.spill = writer instanceof SpillingDedupWriter ? (SpillingDedupWriter) writer : null;
+            this.seenKeys = isSpillDedup(profile) ? null : DedupStore.create(profile.getOptions().getDedupMode());
+            this.batchCalculator = profile.getOptions().isBatchCalculation()
+                ? new BatchCalculator(calculationEngine, memo) : null;
+            this.keyIndexPath = profile.getOptions().isPersistentKeyIndex()
+                ? KeyIndex.locate(profile.getProfileName(), getUniqueKeyColumns(profile)) : null;
+            this.metrics = metrics;
+        }
+
+        /**
+         * 이번 실행에서 새로 출력한 키를 실행 간 색인에 저장 (변환 성공 후, 라이터를 닫은 뒤 호출)
+         */
+        void commitKeyIndex() throws IOException {
+            if (keyIndex != null) {
+                keyIndex.commit();
+            }
+        }
+
+        /**
+         * 메모 적중률 + 중복 체크 키 수/메모리 기록 (라이터를 닫은 뒤 호출)
+         */
+        void reportTo(ConversionResult result) {
+            memo.reportTo(result);
+            result.setPreviouslyExportedRows(previouslyExportedRows);
+            if (spill != null) {
+                result.setDedupStats(spill.getUniqueKeys(), spill.getPeakMemoryBytes());
+            } else if (seenKeys != null) {
+                result.setDedupStats(seenKeys.size(), seenKeys.memoryBytes());
+            }
+        }
+
+        /**
+         * 출력 행 수 (spill 모드는 라이터가 버린 중복 행 제외)
+         */
+        long outputRows(ConversionPipeline pipeline) {
+            return pipeline.getOutputRows() - (spill != null ? spill.getDuplicateRows() : 0);
+        }
+
+        /**
+         * 중복 행 수 (이전 실행에서 출력한 행은 제외, previouslyExportedRows로 따로 기록)
+         */
+        long duplicateRows(ConversionPipeline pipeline) {
+            return pipeline.getDuplicateRows() - previouslyExportedRows
+                + (spill != null ? spill.getDuplicateRows() : 0);
+        }
+
+        void close() {
+            if (seenKeys != null) {
+                seenKeys.close();
+            }
+            if (keyIndex != null) {
+                keyIndex.close();
+            }
+        }
+
+        @Override
+        public String[] transform(ConversionPlan plan, RowBuffer row) throws IOException {
+            if (!acceptKey(plan, row)) {
+                return null;
+            }
+            return batchCalculator != null ? plan.project(row) : transformRow(plan, row, memo);
+        }
+
+        /**
+         * 체크포인트 이어하기: 키 상태만 복원 (계산/출력 없음)
+         */
+        @Override
+        public boolean replay(ConversionPlan plan, RowBuffer row) throws IOException {
+            return acceptKey(plan, row);
+        }
+
+        /**
+         * 이전 실행 색인 + 중복 체크 (새 키면 기록하고 true, 걸린 시간은 중복 체크 시간으로 기록)
+         */
+        private boolean acceptKey(ConversionPlan plan, RowBuffer row) throws IOException {
+            if (plan.hasUniqueKey() && (seenKeys != null || keyIndexPath != null)) {
+                long start = System.nanoTime();
+                try {
+                    return acceptNewKey(plan.keyValues(row));
+                } finally {
+                    metrics.addDedupTime(System.nanoTime() - start);
+                }
+            }
+            return true;
+        }
+
+        private boolean acceptNewKey(String[] key) throws IOException {
+            // 이전 실행에서 이미 출력한 키
+            if (keyIndexPath != null) {
+                if (keyIndex == null) {
+                    keyIndex = KeyIndex.open(keyIndexPath);
+                }
+                if (!keyIndex.add(key)) {
+                    previouslyExportedRows++;
+                    return false;
+                }
+            }
+
+            // 중복 체크
+            return seenKeys == null || seenKeys.add(key);
+        }
+
+        @Override
+        public void completeBatch(ConversionPlan plan, List<String[]> inputs, List<String[]> outputs) {
+            if (batchCalculator != null) {
+                batchCalculator.calculate(plan, inputs, outputs);
+            }
+        }
+    }
+
+    /**
+     * 계획에 따라 출력 행 생성 (선택 컬럼 + 계산 컬럼을 정해진 위치에 채움)
+     * 산술식은 숫자 변수로 계산하고 포맷 없는 결과는 double 그대로 뒤 계산에 전달,
+     * 나머지 계산은 출력 행의 문자열을 읽음 (공통 부분식 재사용은 배치 계산에서만)
+     */
+    private String[] transformRow(ConversionPlan plan, RowBuffer row, CalculationMemo memo) {
+        String[] values = plan.project(row);
+        double[] results = new double[plan.calculationCount()];
+
+        // 의존 순서대로 계산
+        for (int i : plan.calculationOrder()) {
+            Calculation calc = plan.calculation(i);
+            CompiledFormula formula = plan.formula(i);
+            if (!plan.isNumericCalculation(i)) {
+                values[plan.calculationTarget(i)] = memo.evaluate(
+                    calc, formula, plan.calculationArguments(i, row, values));
+                continue;
+            }
+
+            double value = 0d;
+            boolean failed = false;
+            try {
+                value = formula.evaluateNumber(plan.numericArguments(i, row, values, results));
+            } catch (RuntimeException e) {
+                failed = true;
+            }
+            values[plan.calculationTarget(i)] = calculationEngine.formatResult(calc, formula, value, failed);
+            results[i] = CompiledFormula.resultNumber(value, failed);
+        }
+        return values;
+    }
+
+    /**
+     * 라이터 닫기 (남은 버퍼/통합문서 쓰기 시간은 쓰기 단계 시간으로 기록)
+     */
+    private void closeWriter(DataWriter writer, MetricsRecorder metrics) throws Exception {
+        long start = System.nanoTime();
+        try {
+            writer.close();
+        } finally {
+            metrics.addWriteTime(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 오류/취소 후 라이터 정리 (부분 출력 파일을 닫기 위함)
+     */
+    private void closeQuietly(DataWriter writer) {
+        if (writer instanceof SpillingDedupWriter) {
+            ((SpillingDedupWriter) writer).discard();
+        }
+        try {
+            writer.close();
+        } catch (Exception e) {
+            // 이미 실패한 변환이므로 무시
+        }
+    }
+
     /**
      * 파일에 맞는 리더 찾기
      */
@@ -569,10 +1031,49 @@ public class ExcelConverterService {
      */
     private DataWriter createWriter(Profile profile) {
         String format = profile.getOptions().getOutputFormat();
-        if ("xlsx".equalsIgnoreCase(format)) {
-            return new XlsxDataWriter();
+        DataWriter writer = "xlsx".equalsIgnoreCase(format) ? new XlsxDataWriter() : new CsvDataWriter();
+
+        // spill 모드: 중복 제거를 쓰기 단계에서 (키 집합이 한도를 넘으면 디스크로 분할)
+        if (isSpillDedup(profile)) {
+            List<String> keyColumns = new ArrayList<>();
+            for (ColumnMapping col : profile.getColumns()) {
+                if (col.isUniqueKey()) {
+                    keyColumns.add(col.getOutputName());
+                }
+            }
+            if (!keyColumns.isEmpty()) {
+                writer = new SpillingDedupWriter(writer, keyColumns, resolveDedupMemory(profile));
+            }
         }
-        return new CsvDataWriter();
+        return writer;
+    }
+
+    /**
+     * 중복 체크 키 원본 컬럼명 (프로필 순서)
+     */
+    private static List<String> getUniqueKeyColumns(Profile profile) {
+        List<String> keyColumns = new ArrayList<>();
+        for (ColumnMapping col : profile.getColumns()) {
+            if (col.isUniqueKey()) {
+                keyColumns.add(col.getSource());
+            }
+        }
+        return keyColumns;
+    }
+
+    private static boolean isSpillDedup(Profile profile) {
+        return "spill".equalsIgnoreCase(profile.getOptions().getDedupMode());
+    }
+
+    /**
+     * spill 모드 키 집합 메모리 한도 (dedupMemoryMB가 0이면 최대 힙의 1/8)
+     */
+    private static long resolveDedupMemory(Profile profile) {
+        int megabytes = profile.getOptions().getDedupMemoryMB();
+        if (megabytes > 0) {
+            return megabytes * 1024L * 1024L;
+        }
+        return Runtime.getRuntime().maxMemory() / 8;
     }
 
     /**
@@ -621,6 +1122,70 @@ public class ExcelConverterService {
         return cancelled.get();
     }
 
+    /**
+     * 여러 파일을 동시에 변환할 때 리스너 호출 직렬화
+     * (리스너 구현이 스레드 안전하지 않아도 되도록, 진행 콜백은 한 번에 하나씩 호출)
+     * 누락 컬럼 확인 창은 별도 잠금으로 한 번에 하나씩 (창이 떠 있어도 다른 파일의 진행 콜백은 막지 않음)
+     */
+    private static class SynchronizedProgressListener implements ProgressListener {
+        private final ProgressListener delegate;
+        private final Object progressLock = new Object();
+        private final Object dialogLock = new Object();
+
+        SynchronizedProgressListener(ProgressListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onFileStart(int fileIndex, int totalFiles, File file) {
+            synchronized (progressLock) {
+                delegate.onFileStart(fileIndex, totalFiles, file);
+            }
+        }
+
+        @Override
+        public void onProgress(int fileIndex, int totalFiles, long currentRow, String fileName) {
+            synchronized (progressLock) {
+                delegate.onProgress(fileIndex, totalFiles, currentRow, fileName);
+            }
+        }
+
+        @Override
+        public void onFileComplete(int fileIndex, int totalFiles, ConversionResult result) {
+            synchronized (progressLock) {
+                delegate.onFileComplete(fileIndex, totalFiles, result);
+            }
+        }
+
+        @Override
+        public void onError(String message, Exception e) {
+            synchronized (progressLock) {
+                delegate.onError(message, e);
+            }
+        }
+
+        @Override
+        public void onAllComplete(List<ConversionResult> results) {
+            synchronized (progressLock) {
+                delegate.onAllComplete(results);
+            }
+        }
+
+        @Override
+        public boolean onMissingColumns(String fileName, List<String> missingColumns) {
+            synchronized (dialogLock) {
+                return delegate.onMissingColumns(fileName, missingColumns);
+            }
+        }
+
+        @Override
+        public void onMetrics(int fileIndex, int totalFiles, String fileName, ConversionMetrics metrics) {
+            synchronized (progressLock) {
+                delegate.onMetrics(fileIndex, totalFiles, fileName, metrics);
+            }
+        }
+    }
+
     /**
      * 행 처리 콜백
      */
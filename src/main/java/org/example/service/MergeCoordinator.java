@@ -0,0 +1,308 @@
+package org.example.service;
+
+import org.example.service.reader.RowBuffer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 병합 모드 동시 읽기
+ * 파일별 리더를 스레드 풀에서 동시에 실행하고 읽은 행을 파이프라인으로 전달
+ * - ordered: 파일 순서 유지. 현재 차례인 파일은 바로 전달하고, 뒤 파일은 파일별 버퍼에 모으다가
+ *   메모리 한도를 넘으면 임시 파일로 내림 (spill)
+ * - interleaved: 배치가 준비되는 대로 전달 (가장 빠름, 파일 간 행 순서 보장 없음)
+ * 중복 체크는 파이프라인의 단일 변환 스레드에서 하므로 어느 모드든 전체 파일 기준으로 정확함
+ */
+final class MergeCoordinator {
+
+    private static final int MEMORY_BATCHES = 16;   // 파일별 메모리 버퍼 (배치 수)
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * 파일 하나 읽기 (읽은 행은 sink로 전달)
+     */
+    interface FileTask {
+        void read(ConversionPipeline.RowSink sink) throws Exception;
+    }
+
+    private final ConversionPipeline pipeline;
+    private final int parallelism;
+    private final boolean ordered;
+    private final AtomicBoolean cancelled;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean stopped = false;
+
+    MergeCoordinator(ConversionPipeline pipeline, int parallelism, boolean ordered, AtomicBoolean cancelled) {
+        this.pipeline = pipeline;
+        this.parallelism = parallelism;
+        this.ordered = ordered;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * 모든 파일 읽기 (모든 리더가 끝날 때까지 대기, 처음 발생한 오류를 다시 던짐)
+     */
+    void run(List<FileTask> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "merge-read");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<FileFeed> feeds = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            // 파일 순서대로 제출 (FIFO 풀이므로 앞 파일이 먼저 시작)
+            for (FileTask task : tasks) {
+                FileFeed feed = new FileFeed();
+                feeds.add(feed);
+                futures.add(pool.submit(() -> {
+                    try {
+                        task.read(feed);
+                        feed.finish();
+                    } catch (Throwable e) {
+                        fail(e);
+                    }
+                }));
+            }
+
+            if (ordered) {
+                for (FileFeed feed : feeds) {
+                    drain(feed);
+                }
+            }
+            for (Future<?> future : futures) {
+                awaitQuietly(future);
+            }
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            stopped = true;
+            pool.shutdownNow();
+            for (FileFeed feed : feeds) {
+                feed.discard();
+            }
+        }
+
+        Throwable cause = failure.get();
+        if (cause instanceof Exception) {
+            throw (Exception) cause;
+        } else if (cause != null) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * 차례가 된 파일의 버퍼를 끝까지 파이프라인으로 전달
+     */
+    private void drain(FileFeed feed) throws Exception {
+        feed.buffer.promote();
+        List<String[]> rows;
+        while ((rows = feed.buffer.take()) != null) {
+            pipeline.submitBatch(feed.plan, feed.headers, rows);
+        }
+    }
+
+    private void fail(Throwable e) {
+        failure.compareAndSet(null, e);
+        stopped = true;
+    }
+
+    private boolean isStopped() {
+        return stopped || cancelled.get() || pipeline.isStopped();
+    }
+
+    private void checkStopped() {
+        if (isStopped()) {
+            throw new CancellationException("Merge stopped");
+        }
+    }
+
+    private static void awaitQuietly(Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            // 작업 안에서 fail()로 이미 기록됨
+        }
+    }
+
+    /**
+     * 파일 하나의 행을 배치로 모으는 싱크 (읽기 스레드 하나에서만 호출)
+     */
+    private class FileFeed implements ConversionPipeline.RowSink {
+        private final SpillBuffer buffer = ordered ? new SpillBuffer() : null;
+        private volatile ConversionPlan plan;
+        private volatile List<String> headers;
+        private List<String[]> rows = new ArrayList<>(ConversionPipeline.BATCH_SIZE);
+
+        @Override
+        public void submit(ConversionPlan plan, RowBuffer row) throws Exception {
+            if (this.plan == null) {
+                // 같은 파일 안에서는 계획과 헤더가 바뀌지 않음 (시트는 리더에서 첫 시트 기준으로 정렬됨)
+                this.headers = new ArrayList<>(row.getHeaders());
+                this.plan = plan;
+            }
+            rows.add(row.toArray());
+            if (rows.size() >= ConversionPipeline.BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void finish() throws Exception {
+            flush();
+            if (buffer != null) {
+                buffer.finish();
+            }
+        }
+
+        void discard() {
+            if (buffer != null) {
+                buffer.discard();
+            }
+        }
+
+        private void flush() throws Exception {
+            checkStopped();
+            if (rows.isEmpty()) {
+                return;
+            }
+            if (buffer != null) {
+                buffer.put(rows);
+            } else {
+                pipeline.submitBatch(plan, headers, rows);
+            }
+            rows = new ArrayList<>(ConversionPipeline.BATCH_SIZE);
+        }
+    }
+
+    /**
+     * 파일별 순서 보존 버퍼
+     * 메모리 배치가 한도를 넘으면 그 뒤 배치는 모두 임시 파일에 기록 → 메모리, 디스크 순으로 읽으면 순서 유지
+     * 현재 차례인 파일(promote 이후)은 디스크로 내리기 전까지 메모리가 차면 읽기를 멈춤 (배압)
+     */
+    private class SpillBuffer {
+        private final Deque<List<String[]>> memory = new ArrayDeque<>();
+        private boolean head = false;
+        private boolean finished = false;
+
+        private File spillFile;
+        private DataOutputStream spillOut;
+        private DataInputStream spillIn;
+        private long spilledBatches = 0;
+        private long readBatches = 0;
+
+        synchronized void put(List<String[]> rows) throws Exception {
+            while (head && spillFile == null && memory.size() >= MEMORY_BATCHES) {
+                wait(POLL_MILLIS);
+                checkStopped();
+            }
+            if (spillFile == null && memory.size() < MEMORY_BATCHES) {
+                memory.add(rows);
+            } else {
+                spill(rows);
+            }
+            notifyAll();
+        }
+
+        synchronized void finish() {
+            finished = true;
+            notifyAll();
+        }
+
+        synchronized void promote() {
+            head = true;
+            notifyAll();
+        }
+
+        /**
+         * 다음 배치 (파일 끝이면 null)
+         */
+        synchronized List<String[]> take() throws Exception {
+            while (true) {
+                checkStopped();
+                if (!memory.isEmpty()) {
+                    List<String[]> rows = memory.poll();
+                    notifyAll();
+                    return rows;
+                }
+                if (readBatches < spilledBatches) {
+                    readBatches++;
+                    return readSpilled();
+                }
+                if (finished) {
+                    return null;
+                }
+                wait(POLL_MILLIS);
+            }
+        }
+
+        synchronized void discard() {
+            closeQuietly(spillOut);
+            closeQuietly(spillIn);
+            if (spillFile != null) {
+                spillFile.delete();
+            }
+        }
+
+        private void spill(List<String[]> rows) throws IOException {
+            if (spillFile == null) {
+                spillFile = Files.createTempFile("merge-spill-", ".bin").toFile();
+                spillFile.deleteOnExit();
+                spillOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile), 1 << 16));
+            }
+            spillOut.writeInt(rows.size());
+            for (String[] row : rows) {
+                spillOut.writeInt(row.length);
+                for (String value : row) {
+                    if (value == null) {
+                        spillOut.writeInt(-1);
+                    } else {
+                        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        spillOut.writeInt(bytes.length);
+                        spillOut.write(bytes);
+                    }
+                }
+            }
+            // 읽는 쪽이 기록이 끝난 배치만 읽도록 배치 단위로 flush
+            spillOut.flush();
+            spilledBatches++;
+        }
+
+        private List<String[]> readSpilled() throws IOException {
+            if (spillIn == null) {
+                spillIn = new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile), 1 << 16));
+            }
+            int rowCount = spillIn.readInt();
+            List<String[]> rows = new ArrayList<>(rowCount);
+            for (int r = 0; r < rowCount; r++) {
+                String[] row = new String[spillIn.readInt()];
+                for (int i = 0; i < row.length; i++) {
+                    int length = spillIn.readInt();
+                    if (length >= 0) {
+                        byte[] bytes = new byte[length];
+                        spillIn.readFully(bytes);
+                        row[i] = new String(bytes, StandardCharsets.UTF_8);
+                    }
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        private void closeQuietly(Closeable closeable) {
+            if (closeable != null) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    // 임시 파일이므로 무시
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.service;
+
+import org.example.model.ConversionMetrics;
+import org.example.model.ConversionMetrics.Stage;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 변환 하나의 계측 값 수집 (여러 스레드에서 기록, 아무 스레드에서나 snapshot)
+ * 시간은 배치/호출 단위로 재므로 행마다 nanoTime을 부르지 않음 (중복 체크만 키가 있는 행마다)
+ * - 읽기: 리더 실행 시간 - 큐 대기 시간 - SST 조회 추정 시간 = 파싱
+ * - 변환: 배치 처리 시간 - 중복 체크 시간 = 계산 (출력 행 생성 포함)
+ * - 쓰기: 배치 쓰기 + close 시간 - 출력 스트림 쓰기 시간 = 인코딩
+ */
+final class MetricsRecorder {
+
+    private static final long SNAPSHOT_INTERVAL_NANOS = 500_000_000L;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final long startNanos = System.nanoTime();
+    private final long startGcCount;
+    private final long startGcMillis;
+
+    private final LongAdder readNanos = new LongAdder();
+    private final LongAdder readBlockedNanos = new LongAdder();
+    private final LongAdder sstNanos = new LongAdder();
+    private final LongAdder transformNanos = new LongAdder();
+    private final LongAdder dedupNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder inputRows = new LongAdder();
+    private final LongAdder outputRows = new LongAdder();
+    private final AtomicLong inputPosition = new AtomicLong(-1);
+    private volatile long inputLength = 0;
+
+    // 출력 스트림 계측 (라이터 기준, 쓰기 스레드에서 갱신)
+    private volatile LongSupplier outputBytes = () -> 0;
+    private volatile LongSupplier ioNanos = () -> 0;
+
+    // 스레드별 할당량 기준값 (스레드 ID → 시작 시점 할당량)
+    private final Map<Long, Long> allocationBaselines = new ConcurrentHashMap<>();
+    private final LongAdder finishedAllocation = new LongAdder();
+
+    private final AtomicLong lastSnapshot = new AtomicLong(System.nanoTime());
+    private volatile ConversionMetrics finalMetrics;
+
+    MetricsRecorder() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        this.startGcCount = count;
+        this.startGcMillis = millis;
+    }
+
+    void addReadTime(long nanos) {
+        readNanos.add(nanos);
+    }
+
+    /**
+     * 읽기 스레드가 변환 큐 자리를 기다린 시간 (파싱 시간에서 제외)
+     */
+    void addReadBlocked(long nanos) {
+        readBlockedNanos.add(nanos);
+    }
+
+    void addSharedStringTime(long nanos) {
+        sstNanos.add(nanos);
+    }
+
+    void addTransformTime(long nanos) {
+        transformNanos.add(nanos);
+    }
+
+    void addDedupTime(long nanos) {
+        dedupNanos.add(nanos);
+    }
+
+    void addWriteTime(long nanos) {
+        writeNanos.add(nanos);
+    }
+
+    void addInputRows(long rows) {
+        inputRows.add(rows);
+    }
+
+    void addOutputRows(long rows) {
+        outputRows.add(rows);
+    }
+
+    /**
+     * 입력 위치 (여러 읽기 스레드가 보고하면 가장 앞선 위치)
+     */
+    void setInputPosition(long position, long length) {
+        inputLength = length;
+        inputPosition.accumulateAndGet(position, Math::max);
+    }
+
+    /**
+     * 출력 바이트/쓰기 시간 출처 (라이터)
+     */
+    void setOutput(LongSupplier outputBytes, LongSupplier ioNanos) {
+        this.outputBytes = outputBytes;
+        this.ioNanos = ioNanos;
+    }
+
+    /**
+     * 현재 스레드 할당량 측정 시작 (해당 스레드에서 호출)
+     */
+    void enterThread() {
+        long allocated = threadAllocatedBytes(Thread.currentThread().getId());
+        if (allocated >= 0) {
+            allocationBaselines.put(Thread.currentThread().getId(), allocated);
+        }
+    }
+
+    /**
+     * 현재 스레드 할당량 측정 종료 (해당 스레드에서 호출)
+     */
+    void exitThread() {
+        long id = Thread.currentThread().getId();
+        Long baseline = allocationBaselines.remove(id);
+        long allocated = threadAllocatedBytes(id);
+        if (baseline != null && allocated >= 0) {
+            finishedAllocation.add(allocated - baseline);
+        }
+    }
+
+    /**
+     * 주기가 지났으면 스냅샷 (진행률 콜백에서 호출, 아니면 null)
+     */
+    ConversionMetrics pollSnapshot() {
+        long now = System.nanoTime();
+        long last = lastSnapshot.get();
+        if (now - last < SNAPSHOT_INTERVAL_NANOS || !lastSnapshot.compareAndSet(last, now)) {
+            return null;
+        }
+        return snapshot(false);
+    }
+
+    /**
+     * 변환 종료 스냅샷 (한 번만 계산하고 이후에는 같은 값)
+     */
+    ConversionMetrics finish() {
+        if (finalMetrics == null) {
+            finalMetrics = snapshot(true);
+        }
+        return finalMetrics;
+    }
+
+    ConversionMetrics snapshot(boolean complete) {
+        long[] stages = new long[Stage.values().length];
+        long sst = sstNanos.sum();
+        long dedup = dedupNanos.sum();
+        long io = ioNanos.getAsLong();
+        stages[Stage.PARSE.ordinal()] = Math.max(0, readNanos.sum() - readBlockedNanos.sum() - sst);
+        stages[Stage.SST_LOOKUP.ordinal()] = sst;
+        stages[Stage.CALCULATION.ordinal()] = Math.max(0, transformNanos.sum() - dedup);
+        stages[Stage.DEDUP.ordinal()] = dedup;
+        stages[Stage.ENCODE.ordinal()] = Math.max(0, writeNanos.sum() - io);
+        stages[Stage.IO.ordinal()] = io;
+
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+
+        return new ConversionMetrics(stages, System.nanoTime() - startNanos,
+            inputRows.sum(), outputRows.sum(), inputPosition.get(), inputLength, outputBytes.getAsLong(),
+            gcCount - startGcCount, gcMillis - startGcMillis, allocatedBytes(), complete);
+    }
+
+    /**
+     * 측정 중인 스레드 + 끝난 스레드 할당량 합 (지원하지 않으면 -1)
+     */
+    private long allocatedBytes() {
+        if (threadAllocatedBytes(Thread.currentThread().getId()) < 0) {
+            return -1;
+        }
+        long total = finishedAllocation.sum();
+        for (Map.Entry<Long, Long> entry : allocationBaselines.entrySet()) {
+            long allocated = threadAllocatedBytes(entry.getKey());
+            if (allocated >= 0) {
+                total += allocated - entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    private static long threadAllocatedBytes(long threadId) {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(threadId);
+            }
+        }
+        return -1;
+    }
+}
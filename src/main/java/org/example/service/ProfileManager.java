@@ -2,6 +2,7 @@ package org.example.service;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.ColumnMapping;
 import org.example.model.Profile;
 
 import java.io.File;
@@ -152,10 +153,37 @@ public class ProfileManager {
      */
     public Profile loadProfile(File file) throws IOException {
         Profile profile = objectMapper.readValue(file, Profile.class);
+        String warning = validateCalculations(profile);
+        if (warning != null) {
+            System.err.println("프로필 경고: " + profile.getProfileName() + " - " + warning);
+        }
         profile.setFilePath(file.getAbsolutePath());
         return profile;
     }
 
+    /**
+     * 계산 컬럼 검증 (순환 참조 경고)
+     * 원본 컬럼은 변환할 때 알 수 있으므로 매핑에 없는 원본 컬럼이 순환을 끊을 수 있음
+     * → 로드/저장은 막지 않고 경고만, 실제 순환이면 변환할 때 오류
+     * @return 경고 메시지 (문제 없으면 null)
+     */
+    public String validateCalculations(Profile profile) {
+        Set<String> sourceColumns = new HashSet<>();
+        if (profile.getColumns() != null) {
+            for (ColumnMapping col : profile.getColumns()) {
+                if (col.getSource() != null) {
+                    sourceColumns.add(col.getSource());
+                }
+            }
+        }
+        try {
+            CalculationGraph.validate(profile.getCalculations(), sourceColumns);
+            return null;
+        } catch (IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+
     /**
      * 이름으로 프로필 조회 (캐시에서)
      */
@@ -185,7 +213,7 @@ public class ProfileManager {
     }
 
     /**
-     * 프로필 저장
+     * 프로필 저장 (계산 컬럼 경고는 저장 전에 validateCalculations로 확인)
      */
     public void saveProfile(Profile profile) throws IOException {
         String fileName = profile.getProfileName() + ".json";
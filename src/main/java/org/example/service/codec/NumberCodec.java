@@ -0,0 +1,555 @@
+package org.example.service.codec;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 숫자 문자열 ↔ double 변환 (리더, 계산, 라이터 공용)
+ * - 파싱: 일반 10진수는 문자열을 만들지 않고 한 번 훑어서 변환 (쉼표 무시 가능),
+ *   유효 숫자 15자리/지수 ±22 안이면 곱셈 한 번으로 정확한 값, 그 밖의 경우만 Double.parseDouble
+ *   숫자가 아니면 예외 없이 판별 (NaN/Infinity/16진수 표기만 Double.parseDouble로 확인)
+ * - 출력: 정수면 정수 표기, 아니면 다시 읽었을 때 같은 값이 되는 가장 짧은 표기
+ * - 포맷: "%.2f" 같은 고정 소수점 패턴은 미리 컴파일해 String.format 없이 출력 (결과는 String.format과 동일)
+ * - 고정 소수점: 문자열 ↔ 10^scale 배 한 long (BigDecimal 없이)
+ * 모든 메서드는 스레드 안전
+ */
+public final class NumberCodec {
+
+    // 10^0 ~ 10^22 (double로 정확히 표현되는 범위)
+    private static final double[] POWERS = new double[23];
+    private static final long[] LONG_POWERS = new long[19];
+
+    static {
+        POWERS[0] = 1d;
+        for (int i = 1; i < POWERS.length; i++) {
+            POWERS[i] = POWERS[i - 1] * 10d;
+        }
+        LONG_POWERS[0] = 1L;
+        for (int i = 1; i < LONG_POWERS.length; i++) {
+            LONG_POWERS[i] = LONG_POWERS[i - 1] * 10L;
+        }
+    }
+
+    private static final double EXACT_LIMIT = 9007199254740992d;   // 2^53 (long → double 정확히 변환되는 범위)
+    private static final int FAST_DIGITS = 15;
+
+    // 포맷 패턴 → 컴파일 결과 (컴파일한 로케일과 기본 로케일이 다르면 다시 컴파일)
+    private static final Map<String, FixedFormat> FORMATS = new ConcurrentHashMap<>();
+    private static final Pattern FIXED_PATTERN = Pattern.compile("([^%]*)%(,?)(?:\\.(\\d{1,2}))?f([^%]*)");
+
+    /**
+     * parseScaled/고정 소수점 계산에서 long으로 정확히 표현할 수 없는 값
+     */
+    public static final long UNREPRESENTABLE = Long.MIN_VALUE;
+
+    // ===== 파싱 =====
+
+    /**
+     * 계산용 숫자 변환 (쉼표 무시, 빈 값/숫자 아님 → 0)
+     */
+    public static double parseNumber(String value) {
+        if (value == null) {
+            return 0d;
+        }
+        double result = scan(value, true);
+        if (!Double.isNaN(result)) {
+            return result;
+        }
+        return needsJdkParse(value) ? jdkParse(value, true, 0d) : 0d;
+    }
+
+    /**
+     * Double.parseDouble과 같은 문법으로 변환 (쉼표 불가)
+     * @param invalid 숫자가 아닐 때 반환할 값 (예외 없음)
+     */
+    public static double parseDouble(String value, double invalid) {
+        if (value == null) {
+            return invalid;
+        }
+        double result = scan(value, false);
+        if (!Double.isNaN(result)) {
+            return result;
+        }
+        return needsJdkParse(value) ? jdkParse(value, false, invalid) : invalid;
+    }
+
+    /**
+     * parseNumber로 읽을 수 있는 숫자인지 (쉼표 무시, 빈 값은 false)
+     */
+    public static boolean isNumber(String value) {
+        if (value == null) {
+            return false;
+        }
+        if (!Double.isNaN(scan(value, true))) {
+            return true;
+        }
+        if (!needsJdkParse(value)) {
+            return false;
+        }
+        try {
+            Double.parseDouble(stripCommas(value).trim());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 일반 10진수 ([공백][부호]숫자[.숫자][e[부호]숫자][공백]) 변환
+     * @return 값 (이 문법이 아니면 NaN)
+     */
+    private static double scan(String s, boolean commas) {
+        int end = s.length();
+        int pos = 0;
+        while (pos < end && (s.charAt(pos) <= ' ' || commas && s.charAt(pos) == ',')) {
+            pos++;
+        }
+        while (end > pos && (s.charAt(end - 1) <= ' ' || commas && s.charAt(end - 1) == ',')) {
+            end--;
+        }
+        if (pos == end) {
+            return Double.NaN;
+        }
+
+        boolean negative = false;
+        char c = s.charAt(pos);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            pos++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;             // 유효 숫자 (앞쪽 0 제외)
+        int exponent = 0;           // 10진 지수 보정
+        boolean anyDigit = false;
+        boolean dot = false;
+        for (; pos < end; pos++) {
+            c = s.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (digits < 18) {
+                    if (digits > 0 || c != '0') {
+                        mantissa = mantissa * 10 + (c - '0');
+                        digits++;
+                    }
+                    if (dot) {
+                        exponent--;
+                    }
+                } else {
+                    digits++;       // 버린 자리 (정확한 변환 불가 → Double.parseDouble)
+                    if (!dot) {
+                        exponent++;
+                    }
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else if (c == ',' && commas) {
+                // 천 단위 구분자
+            } else {
+                break;
+            }
+        }
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+
+        if (pos < end) {
+            c = s.charAt(pos);
+            if (c != 'e' && c != 'E') {
+                return Double.NaN;
+            }
+            pos++;
+            while (commas && pos < end && s.charAt(pos) == ',') {
+                pos++;
+            }
+            boolean negativeExponent = false;
+            if (pos < end && (s.charAt(pos) == '-' || s.charAt(pos) == '+')) {
+                negativeExponent = s.charAt(pos) == '-';
+                pos++;
+            }
+            int value = 0;
+            boolean exponentDigit = false;
+            for (; pos < end; pos++) {
+                c = s.charAt(pos);
+                if (c >= '0' && c <= '9') {
+                    exponentDigit = true;
+                    value = Math.min(value * 10 + (c - '0'), 100000);
+                } else if (c != ',' || !commas) {
+                    return Double.NaN;
+                }
+            }
+            if (!exponentDigit) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+
+        double result;
+        if (mantissa == 0) {
+            result = 0d;
+        } else if (digits <= FAST_DIGITS && exponent >= -22 && exponent <= 22) {
+            // 정수 부분과 10^|지수|가 모두 정확 → 한 번의 곱셈/나눗셈으로 올바르게 반올림된 값
+            result = exponent >= 0 ? mantissa * POWERS[exponent] : mantissa / POWERS[-exponent];
+        } else {
+            return Double.parseDouble(commas ? stripCommas(s) : s);
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * 고정 소수점 변환 (쉼표 무시, 빈 값/숫자 아님 → 0)
+     * 예: parseScaled("1,234.5", 2) → 123450
+     * @return 10^scale 배 한 값, 소수 자릿수가 scale보다 많거나(0 제외) 지수 표기이거나 long 범위를 넘으면 UNREPRESENTABLE
+     */
+    public static long parseScaled(String value, int scale) {
+        if (value == null) {
+            return 0L;
+        }
+        int end = value.length();
+        int pos = 0;
+        while (pos < end && (value.charAt(pos) <= ' ' || value.charAt(pos) == ',')) {
+            pos++;
+        }
+        while (end > pos && (value.charAt(end - 1) <= ' ' || value.charAt(end - 1) == ',')) {
+            end--;
+        }
+
+        boolean negative = false;
+        if (pos < end && (value.charAt(pos) == '-' || value.charAt(pos) == '+')) {
+            negative = value.charAt(pos) == '-';
+            pos++;
+        }
+
+        long unscaled = 0;
+        int fraction = -1;          // 소수점 뒤 자릿수 (소수점 없으면 -1)
+        boolean anyDigit = false;
+        for (; pos < end; pos++) {
+            char c = value.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (fraction >= 0 && ++fraction > scale) {
+                    if (c != '0') {
+                        return UNREPRESENTABLE;
+                    }
+                    continue;       // scale 뒤의 0은 무시
+                }
+                int digit = c - '0';
+                if (unscaled > (Long.MAX_VALUE - digit) / 10) {
+                    return UNREPRESENTABLE;
+                }
+                unscaled = unscaled * 10 + digit;
+            } else if (c == '.' && fraction < 0) {
+                fraction = 0;
+            } else if (c != ',') {
+                break;
+            }
+        }
+        if (pos < end || !anyDigit) {
+            // 지수 표기 등은 double로, 숫자가 아니면 0 (parseNumber와 동일)
+            return isNumber(value) ? UNREPRESENTABLE : 0L;
+        }
+
+        for (int i = Math.max(fraction, 0); i < scale; i++) {
+            if (unscaled > Long.MAX_VALUE / 10) {
+                return UNREPRESENTABLE;
+            }
+            unscaled *= 10;
+        }
+        return negative ? -unscaled : unscaled;
+    }
+
+    /**
+     * 일반 10진수가 아니지만 Double.parseDouble이 받을 수도 있는 표기 (NaN, Infinity, 16진수, 1.5d/1.5f)
+     */
+    private static boolean needsJdkParse(String s) {
+        int end = s.length();
+        while (end > 0 && (s.charAt(end - 1) <= ' ' || s.charAt(end - 1) == ',')) {
+            end--;
+        }
+        if (end == 0) {
+            return false;
+        }
+        char last = s.charAt(end - 1);
+        if (last == 'd' || last == 'D' || last == 'f' || last == 'F') {
+            return true;
+        }
+        for (int i = 0; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == 'N' || c == 'I' || c == 'x' || c == 'X') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double jdkParse(String value, boolean commas, double invalid) {
+        try {
+            return Double.parseDouble(commas ? stripCommas(value).trim() : value);
+        } catch (NumberFormatException e) {
+            return invalid;
+        }
+    }
+
+    private static String stripCommas(String value) {
+        return value.indexOf(',') < 0 ? value : value.replace(",", "");
+    }
+
+    // ===== 출력 =====
+
+    /**
+     * 숫자 → 문자열 (정수면 정수 표기, 아니면 가장 짧은 표기)
+     */
+    public static String format(double value) {
+        if (value == Math.floor(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return shortest(value);
+    }
+
+    /**
+     * Double.toString과 같은 표기 규칙의 가장 짧은 문자열 (다시 읽으면 같은 값)
+     * 0.001 ~ 10^7 범위는 소수 자릿수를 늘려가며 직접 계산
+     */
+    private static String shortest(double value) {
+        double abs = Math.abs(value);
+        if (!(abs >= 1e-3 && abs < 1e7) || abs == Math.floor(abs)) {
+            return Double.toString(value);
+        }
+        int scale = shortestScale(abs);
+        if (scale < 0) {
+            return Double.toString(value);
+        }
+        long scaled = Math.round(abs * POWERS[scale]);
+        char[] chars = new char[32];
+        int n = 0;
+        if (value < 0) {
+            chars[n++] = '-';
+        }
+        n = appendFixed(chars, n, scaled, scale, '\0', '.');
+        return new String(chars, 0, n);
+    }
+
+    /**
+     * 다시 읽었을 때 같은 값이 되는 최소 소수 자릿수 (abs * 10^자릿수가 2^53을 넘으면 -1)
+     */
+    private static int shortestScale(double abs) {
+        for (int scale = 0; scale <= FAST_DIGITS; scale++) {
+            double scaled = abs * POWERS[scale];
+            if (scaled >= EXACT_LIMIT) {
+                return -1;
+            }
+            // (double) 정수 / 10^scale은 올바르게 반올림된 나눗셈 → 문자열을 다시 읽은 값과 동일
+            if (Math.round(scaled) / POWERS[scale] == abs) {
+                return scale;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 고정 소수점 값 → 문자열 (scale 자릿수 그대로, 예: formatScaled(123450, 2) → "1234.50")
+     */
+    public static String formatScaled(long unscaled, int scale) {
+        char[] chars = new char[48];
+        int n = 0;
+        if (unscaled < 0) {
+            chars[n++] = '-';
+        }
+        n = appendFixed(chars, n, Math.abs(unscaled), scale, '\0', '.');
+        return new String(chars, 0, n);
+    }
+
+    /**
+     * 고정 소수점 값에 포맷 적용 (고정 소수점 패턴은 double 변환 없이 정확한 자릿수로 반올림)
+     */
+    public static String formatScaled(long unscaled, int scale, String pattern) {
+        FixedFormat format = fixedFormat(pattern);
+        if (format.supported) {
+            String text = format.write(unscaled < 0, Math.abs(unscaled), scale);
+            if (text != null) {
+                return text;
+            }
+        }
+        return String.format(pattern, unscaled / Math.pow(10, scale));
+    }
+
+    /**
+     * String.format(pattern, value)와 같은 결과
+     * 고정 소수점 패턴 (%.Nf, %,.Nf, %f + 앞뒤 문자)은 미리 컴파일해 직접 출력
+     */
+    public static String format(double value, String pattern) {
+        FixedFormat format = fixedFormat(pattern);
+        if (format.supported) {
+            String text = format.format(value);
+            if (text != null) {
+                return text;
+            }
+        }
+        return String.format(pattern, value);
+    }
+
+    /**
+     * 패턴을 기본 로케일(FORMAT)로 컴파일한 결과 (String.format은 호출 시점의 기본 로케일 기호를 사용)
+     */
+    private static FixedFormat fixedFormat(String pattern) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        FixedFormat format = FORMATS.get(pattern);
+        if (format == null || !format.locale.equals(locale)) {
+            format = compile(pattern, locale);
+            FORMATS.put(pattern, format);
+        }
+        return format;
+    }
+
+    private static FixedFormat compile(String pattern, Locale locale) {
+        Matcher matcher = FIXED_PATTERN.matcher(pattern);
+        if (!matcher.matches()) {
+            return FixedFormat.unsupported(locale);
+        }
+        int decimals = matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 6;
+        boolean grouping = !matcher.group(2).isEmpty();
+
+        // 숫자/소수점이 다르면 컴파일하지 않음
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        if (decimals > FAST_DIGITS || symbols.getZeroDigit() != '0'
+            || decimals > 0 && symbols.getDecimalSeparator() != '.') {
+            return FixedFormat.unsupported(locale);
+        }
+        if (grouping) {
+            NumberFormat integerFormat = NumberFormat.getIntegerInstance(locale);
+            if (!(integerFormat instanceof DecimalFormat) || ((DecimalFormat) integerFormat).getGroupingSize() != 3) {
+                return FixedFormat.unsupported(locale);
+            }
+        }
+        return new FixedFormat(locale, true, matcher.group(1), matcher.group(4), decimals, grouping,
+            symbols.getGroupingSeparator());
+    }
+
+    /**
+     * 정수 scaled를 소수점 scale자리 고정 소수로 기록
+     * @param groupingSeparator 정수 부분 3자리 구분자 ('\0'이면 없음)
+     */
+    private static int appendFixed(char[] chars, int n, long scaled, int scale, char groupingSeparator,
+                                   char decimalSeparator) {
+        long integer = scaled / LONG_POWERS[scale];
+        long fraction = scaled % LONG_POWERS[scale];
+
+        // 정수 부분 (뒤에서부터)
+        int start = n;
+        int count = 0;
+        do {
+            if (groupingSeparator != '\0' && count > 0 && count % 3 == 0) {
+                chars[n++] = groupingSeparator;
+            }
+            chars[n++] = (char) ('0' + integer % 10);
+            integer /= 10;
+            count++;
+        } while (integer > 0);
+        for (int i = start, j = n - 1; i < j; i++, j--) {
+            char t = chars[i];
+            chars[i] = chars[j];
+            chars[j] = t;
+        }
+
+        if (scale > 0) {
+            chars[n++] = decimalSeparator;
+            for (int i = scale - 1; i >= 0; i--) {
+                chars[n + i] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            n += scale;
+        }
+        return n;
+    }
+
+    /**
+     * 컴파일된 고정 소수점 포맷 ([앞 문자]%[,].Nf[뒤 문자])
+     * Formatter와 같이 Double.toString 자릿수를 HALF_UP으로 반올림
+     */
+    private static final class FixedFormat {
+        private final Locale locale;
+        private final boolean supported;   // false면 String.format으로 출력
+        private final String prefix;
+        private final String suffix;
+        private final int decimals;
+        private final boolean grouping;
+        private final char groupingSeparator;
+
+        FixedFormat(Locale locale, boolean supported, String prefix, String suffix, int decimals, boolean grouping,
+                    char groupingSeparator) {
+            this.locale = locale;
+            this.supported = supported;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.decimals = decimals;
+            this.grouping = grouping;
+            this.groupingSeparator = groupingSeparator;
+        }
+
+        static FixedFormat unsupported(Locale locale) {
+            return new FixedFormat(locale, false, "", "", 0, false, ',');
+        }
+
+        /**
+         * @return 직접 출력할 수 없는 값(NaN, 무한대, 매우 큰 값 등)이면 null
+         */
+        String format(double value) {
+            double abs = Math.abs(value);
+            if (!(abs < 1e15)) {
+                return null;
+            }
+
+            // 가장 짧은 표기의 자릿수 → decimals 자리로 맞춤
+            long scaled;
+            int scale;
+            if (abs == Math.floor(abs)) {
+                scaled = (long) abs;
+                scale = 0;
+            } else {
+                scale = shortestScale(abs);
+                if (scale < 0) {
+                    return null;
+                }
+                scaled = Math.round(abs * POWERS[scale]);
+            }
+            // 음수는 0으로 반올림돼도 부호 유지 (-0.001 → "-0.00", String.format과 동일)
+            return write(Double.doubleToRawLongBits(value) < 0, scaled, scale);
+        }
+
+        /**
+         * 절댓값 scaled / 10^scale을 decimals 자리로 반올림해 출력
+         * @return long 범위를 넘으면 null
+         */
+        String write(boolean negative, long scaled, int scale) {
+            if (scale <= decimals) {
+                long factor = LONG_POWERS[decimals - scale];
+                if (scaled > Long.MAX_VALUE / factor) {
+                    return null;
+                }
+                scaled *= factor;
+            } else {
+                long divisor = LONG_POWERS[scale - decimals];
+                long remainder = scaled % divisor;
+                scaled /= divisor;
+                if (remainder * 2 >= divisor) {
+                    scaled++;   // HALF_UP
+                }
+            }
+
+            char[] chars = new char[48];
+            int n = 0;
+            if (negative) {
+                chars[n++] = '-';
+            }
+            n = appendFixed(chars, n, scaled, decimals, grouping ? groupingSeparator : '\0', '.');
+            String number = new String(chars, 0, n);
+            return prefix.isEmpty() && suffix.isEmpty() ? number : prefix + number + suffix;
+        }
+    }
+}
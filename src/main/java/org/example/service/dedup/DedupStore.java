@@ -0,0 +1,49 @@
+package org.example.service.dedup;
+
+import java.io.Closeable;
+
+/**
+ * 중복 체크 키 저장소 (uniqueKey 컬럼 값 묶음)
+ * 모든 구현은 여러 스레드에서 동시에 add 가능
+ */
+public interface DedupStore extends Closeable {
+
+    /**
+     * 키 추가
+     * @param key 키 컬럼 값 (null 가능, 호출 후 배열을 수정해도 됨)
+     * @return 처음 본 키면 true, 이미 있으면 false
+     */
+    boolean add(String[] key);
+
+    /**
+     * 저장된 키 수
+     */
+    long size();
+
+    /**
+     * 키 저장에 쓰는 메모리 (힙 또는 오프힙, 바이트)
+     */
+    long memoryBytes();
+
+    /**
+     * 메모리 해제 (이후 add 불가)
+     */
+    @Override
+    void close();
+
+    /**
+     * 옵션 값으로 저장소 생성
+     * @param mode memory: 키 문자열 HashSet (기존 방식)
+     *             fingerprint: 128비트 해시만 오프힙 저장 (기본값)
+     *             fingerprint-exact: 해시 + 키 원문 오프힙 저장, 해시가 같으면 원문 비교
+     */
+    static DedupStore create(String mode) {
+        if ("memory".equalsIgnoreCase(mode)) {
+            return new HeapDedupStore();
+        }
+        if ("fingerprint-exact".equalsIgnoreCase(mode)) {
+            return new FingerprintDedupStore(true);
+        }
+        return new FingerprintDedupStore(false);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.service.dedup;
+
+/**
+ * 키 값 묶음의 128비트 해시 (MurmurHash3 x64_128을 UTF-16 문자 단위로 적용)
+ * 문자열을 이어 붙이거나 바이트로 인코딩하지 않고 문자를 바로 블록(문자 8개)에 채움
+ * 값마다 길이를 먼저 넣으므로 ("ab", "c")와 ("a", "bc"), null과 빈 문자열이 서로 다름
+ */
+final class Fingerprint {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private long h1;
+    private long h2;
+    private long k1;
+    private long k2;
+    private int filled;     // 현재 블록에 채운 문자 수 (0 ~ 7)
+    private long length;    // 전체 문자 수
+
+    /**
+     * @param out [0] 상위 64비트, [1] 하위 64비트
+     */
+    static void of(String[] key, long[] out) {
+        Fingerprint f = new Fingerprint();
+        for (String value : key) {
+            if (value == null) {
+                f.put((char) 0xFFFF);
+                f.put((char) 0xFFFF);
+                continue;
+            }
+            int n = value.length();
+            f.put((char) (n >>> 16));
+            f.put((char) n);
+            for (int i = 0; i < n; i++) {
+                f.put(value.charAt(i));
+            }
+        }
+        f.finish(out);
+    }
+
+    private void put(char c) {
+        if (filled < 4) {
+            k1 |= (long) c << (filled << 4);
+        } else {
+            k2 |= (long) c << ((filled - 4) << 4);
+        }
+        length++;
+        if (++filled == 8) {
+            mixBlock();
+            k1 = 0;
+            k2 = 0;
+            filled = 0;
+        }
+    }
+
+    private void mixBlock() {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    private void finish(long[] out) {
+        if (filled > 0) {
+            h1 ^= mixK1(k1);
+            h2 ^= mixK2(k2);
+        }
+        long bytes = length * 2;
+        h1 ^= bytes;
+        h2 ^= bytes;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        out[0] = h1;
+        out[1] = h2;
+    }
+
+    private static long mixK1(long k) {
+        k *= C1;
+        k = Long.rotateLeft(k, 31);
+        return k * C2;
+    }
+
+    private static long mixK2(long k) {
+        k *= C2;
+        k = Long.rotateLeft(k, 33);
+        return k * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.service.dedup;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 128비트 지문(Fingerprint) 집합 (오프힙, 오픈 어드레싱)
+ * 키 하나에 슬롯 16바이트 (exact면 24바이트 + 키 원문) → 키 문자열 HashSet보다 훨씬 작고 GC 대상 아님
+ * - 지문 상위 비트로 스트라이프를 나누고 스트라이프마다 잠금 → 여러 스레드가 동시에 추가 가능
+ * - 스트라이프별 선형 탐색 테이블, 75% 차면 두 배로 확장 (최대 크기에서 75%가 차면 오류 → spill 모드 사용)
+ * - exact: 키 원문을 스트라이프별 로그(오프힙)에 저장, 지문이 같으면 원문까지 비교 (충돌해도 정확)
+ *   exact가 아니면 서로 다른 키의 지문이 같을 확률은 키 2천만 개에서 약 10^-24
+ */
+final class FingerprintDedupStore implements DedupStore {
+
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final int INITIAL_SLOTS = 1 << 10;      // 스트라이프당 초기 슬롯 수
+    private static final int MAX_SLOTS = 1 << 26;          // 스트라이프당 최대 슬롯 수 (버퍼 2GB 제한)
+
+    private final boolean exact;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    FingerprintDedupStore(boolean exact) {
+        this.exact = exact;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(exact ? 24 : 16, exact);
+        }
+    }
+
+    @Override
+    public boolean add(String[] key) {
+        long[] fingerprint = new long[2];
+        Fingerprint.of(key, fingerprint);
+        long hi = fingerprint[0];
+        long lo = fingerprint[1];
+        if (hi == 0 && lo == 0) {
+            lo = 1;     // (0, 0)은 빈 슬롯 표시
+        }
+        Stripe stripe = stripes[(int) (hi >>> (64 - STRIPE_BITS))];
+        synchronized (stripe) {
+            return stripe.add(hi, lo, exact ? key : null);
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                bytes += stripe.memoryBytes();
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        // 다이렉트 버퍼는 참조가 없어지면 GC가 해제
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.table = null;
+                stripe.log = null;
+            }
+        }
+    }
+
+    /**
+     * 스트라이프 하나 (잠금은 호출 측에서)
+     * 슬롯: [hi 8][lo 8]([키 로그 오프셋 8])
+     */
+    private static final class Stripe {
+        private final int slotBytes;
+        private final boolean exact;
+        private ByteBuffer table;
+        private int slots;
+        private int size;
+        private KeyLog log;
+
+        Stripe(int slotBytes, boolean exact) {
+            this.slotBytes = slotBytes;
+            this.exact = exact;
+            this.slots = INITIAL_SLOTS;
+            this.table = ByteBuffer.allocateDirect(slots * slotBytes);
+            this.log = exact ? new KeyLog() : null;
+        }
+
+        boolean add(long hi, long lo, String[] key) {
+            if (table == null) {
+                throw new IllegalStateException("Dedup store is closed");
+            }
+            int mask = slots - 1;
+            for (int slot = (int) lo & mask; ; slot = (slot + 1) & mask) {
+                int pos = slot * slotBytes;
+                long slotHi = table.getLong(pos);
+                long slotLo = table.getLong(pos + 8);
+                if (slotHi == 0 && slotLo == 0) {
+                    // 빈 슬롯 → 새 키 (더 늘릴 수 없으면 탐색이 끝나도록 빈 슬롯을 남기고 오류)
+                    if (slots >= MAX_SLOTS && size >= slots - (slots >>> 2)) {
+                        throw new IllegalStateException(
+                            "Dedup fingerprint table is full (" + size + " keys per stripe), use dedupMode spill");
+                    }
+                    table.putLong(pos, hi);
+                    table.putLong(pos + 8, lo);
+                    if (exact) {
+                        table.putLong(pos + 16, log.append(key));
+                    }
+                    if (++size > slots - (slots >>> 2) && slots < MAX_SLOTS) {
+                        grow();
+                    }
+                    return true;
+                }
+                if (slotHi == hi && slotLo == lo && (!exact || log.matches(table.getLong(pos + 16), key))) {
+                    return false;
+                }
+                // 지문만 같은 다른 키(exact)거나 다른 지문 → 다음 슬롯
+            }
+        }
+
+        private void grow() {
+            int newSlots = slots << 1;
+            ByteBuffer newTable = ByteBuffer.allocateDirect(newSlots * slotBytes);
+            int mask = newSlots - 1;
+            for (int slot = 0; slot < slots; slot++) {
+                int pos = slot * slotBytes;
+                long hi = table.getLong(pos);
+                long lo = table.getLong(pos + 8);
+                if (hi == 0 && lo == 0) {
+                    continue;
+                }
+                int target = (int) lo & mask;
+                while (newTable.getLong(target * slotBytes) != 0 || newTable.getLong(target * slotBytes + 8) != 0) {
+                    target = (target + 1) & mask;
+                }
+                int newPos = target * slotBytes;
+                newTable.putLong(newPos, hi);
+                newTable.putLong(newPos + 8, lo);
+                if (exact) {
+                    newTable.putLong(newPos + 16, table.getLong(pos + 16));
+                }
+            }
+            table = newTable;
+            slots = newSlots;
+        }
+
+        long memoryBytes() {
+            if (table == null) {
+                return 0;
+            }
+            return (long) table.capacity() + (log != null ? log.capacity() : 0);
+        }
+    }
+
+    /**
+     * 키 원문 로그 (오프힙, 추가만 가능)
+     * 형식: [값 개수 int]([길이 int (null이면 -1)][UTF-16 문자...])*
+     */
+    private static final class KeyLog {
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+
+        long append(String[] key) {
+            int needed = 4;
+            for (String value : key) {
+                needed += 4 + (value != null ? value.length() * 2 : 0);
+            }
+            ensure(needed);
+
+            int offset = buffer.position();
+            buffer.putInt(key.length);
+            for (String value : key) {
+                if (value == null) {
+                    buffer.putInt(-1);
+                    continue;
+                }
+                buffer.putInt(value.length());
+                for (int i = 0; i < value.length(); i++) {
+                    buffer.putChar(value.charAt(i));
+                }
+            }
+            return offset;
+        }
+
+        boolean matches(long offset, String[] key) {
+            int pos = (int) offset;
+            if (buffer.getInt(pos) != key.length) {
+                return false;
+            }
+            pos += 4;
+            for (String value : key) {
+                int length = buffer.getInt(pos);
+                pos += 4;
+                if (value == null) {
+                    if (length != -1) {
+                        return false;
+                    }
+                    continue;
+                }
+                if (length != value.length()) {
+                    return false;
+                }
+                for (int i = 0; i < length; i++, pos += 2) {
+                    if (buffer.getChar(pos) != value.charAt(i)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        long capacity() {
+            return buffer.capacity();
+        }
+
+        private void ensure(int needed) {
+            if (buffer.remaining() >= needed) {
+                return;
+            }
+            long required = (long) buffer.position() + needed;
+            long capacity = Math.max((long) buffer.capacity() * 2, required);
+            if (capacity > Integer.MAX_VALUE - 8) {
+                if (required > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Dedup key log exceeds 2GB per stripe");
+                }
+                capacity = Integer.MAX_VALUE - 8;
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.service.dedup;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키 값을 \u0000으로 연결한 문자열 집합 (기존 seenKeys 방식, 힙 사용)
+ */
+final class HeapDedupStore implements DedupStore {
+
+    // HashMap 노드 + 테이블 참조 + String/byte[] 헤더 (문자 하나당 1~2바이트는 따로 계산)
+    private static final int ENTRY_OVERHEAD = 32 + 8 + 24 + 16;
+
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong keyChars = new AtomicLong();
+
+    @Override
+    public boolean add(String[] key) {
+        String joined = join(key);
+        if (keys.add(joined)) {
+            keyChars.addAndGet(joined.length());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 이미 있는 키인지 (추가하지 않음)
+     */
+    boolean contains(String[] key) {
+        return keys.contains(join(key));
+    }
+
+    @Override
+    public long size() {
+        return keys.size();
+    }
+
+    /**
+     * 추정치 (문자당 2바이트로 계산)
+     */
+    @Override
+    public long memoryBytes() {
+        return (long) keys.size() * ENTRY_OVERHEAD + keyChars.get() * 2;
+    }
+
+    @Override
+    public void close() {
+        keys.clear();
+    }
+
+    private static String join(String[] key) {
+        StringBuilder keyBuilder = new StringBuilder();
+        for (String value : key) {
+            keyBuilder.append(value).append("\u0000");
+        }
+        return keyBuilder.toString();
+    }
+}
@@ -0,0 +1,442 @@
+package org.example.service.dedup;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실행 간 유지되는 중복 체크 키 색인 (이전 실행에서 이미 출력한 키)
+ * ~/.ExcelConverter/keyindex/{프로필명}-{키 컬럼 해시}/ 아래에 정렬된 세그먼트 파일로 저장
+ * - 키는 128비트 지문(Fingerprint)으로 저장, 세그먼트마다 (상위, 하위) 부호 없는 정렬
+ * - 세그먼트 머리에 상위 16비트별 시작 위치(fanout)를 두고 조회 시 그 구간만 이진 탐색
+ *   (5천만 키 세그먼트도 구간당 약 760개 → 탐색 10회 정도, 데이터는 메모리 매핑)
+ * - 이번 실행의 새 키는 임시 런 파일에 모았다가 commit 시 새 세그먼트 하나로 기록
+ *   (변환이 실패/취소되면 commit하지 않으므로 다음 실행에서 다시 출력)
+ * - 세그먼트가 MAX_SEGMENTS개를 넘으면 하나로 병합
+ * 세그먼트 파일은 만든 뒤 수정하지 않음 → 다른 실행이 매핑 중이어도 안전
+ * add는 변환 스레드 하나에서만, commit은 변환이 끝난 뒤 호출
+ */
+public final class KeyIndex implements Closeable {
+
+    private static final int MAGIC = 0x454B4958;            // "EKIX"
+    private static final int VERSION = 1;
+    private static final int FANOUT_BITS = 16;
+    private static final int FANOUT_SIZE = (1 << FANOUT_BITS) + 1;
+    private static final long DATA_OFFSET = 16 + FANOUT_SIZE * 4L + 4;   // 8바이트 정렬
+    private static final int ENTRY_BYTES = 16;
+    private static final int MAP_SHIFT = 30;                // 1GB 단위 매핑
+    private static final int PENDING_CHUNK = 1 << 20;       // 런 하나의 키 수 (16MB)
+    private static final int MAX_SEGMENTS = 8;
+    private static final String SEGMENT_PREFIX = "seg-";
+    private static final String SEGMENT_SUFFIX = ".idx";
+
+    // 같은 색인을 여러 변환이 동시에 commit하지 않도록 (프로세스 간은 FileLock)
+    private static final Map<Path, Object> COMMIT_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final List<Segment> segments;
+    private final long[] fingerprint = new long[2];
+
+    private long[] pendingHi = new long[PENDING_CHUNK];
+    private long[] pendingLo = new long[PENDING_CHUNK];
+    private int pendingCount;
+    private final List<Path> pendingRuns = new ArrayList<>();
+
+    private KeyIndex(Path directory, List<Segment> segments) {
+        this.directory = directory;
+        this.segments = segments;
+    }
+
+    /**
+     * 프로필 + 키 컬럼 기준 색인 폴더
+     * @param keyColumns 중복 체크 키 원본 컬럼명 (순서 포함)
+     */
+    public static Path locate(String profileName, List<String> keyColumns) {
+        String name = profileName != null ? profileName.replaceAll("[\\\\/:*?\"<>|\\s]+", "_") : "profile";
+        return Paths.get(System.getProperty("user.home"), ".ExcelConverter", "keyindex",
+            name + "-" + shortHash(String.join("\u0000", keyColumns)));
+    }
+
+    /**
+     * 색인 열기 (지금 있는 세그먼트를 매핑, 없으면 빈 색인)
+     */
+    public static KeyIndex open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<Segment> segments = new ArrayList<>();
+        for (Path file : listSegments(directory)) {
+            segments.add(new Segment(file));
+        }
+        return new KeyIndex(directory, segments);
+    }
+
+    /**
+     * 이전 실행에서 출력한 키인지 확인하고, 아니면 이번 실행 키로 기록
+     * @return 처음 보는 키면 true (이번 실행에서 중복된 키도 true, 중복 제거는 호출 측에서)
+     */
+    public boolean add(String[] key) throws IOException {
+        Fingerprint.of(key, fingerprint);
+        long hi = fingerprint[0];
+        long lo = fingerprint[1];
+        for (Segment segment : segments) {
+            if (segment.contains(hi, lo)) {
+                return false;
+            }
+        }
+        pendingHi[pendingCount] = hi;
+        pendingLo[pendingCount] = lo;
+        if (++pendingCount == PENDING_CHUNK) {
+            flushPending();
+        }
+        return true;
+    }
+
+    /**
+     * 이전 실행까지 저장된 키 수 (세그먼트 합계, 병합 전이면 겹친 키 포함)
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    /**
+     * 이번 실행의 새 키를 세그먼트로 저장 (변환 성공 후 한 번 호출)
+     */
+    public void commit() throws IOException {
+        flushPending();
+        if (pendingRuns.isEmpty()) {
+            return;
+        }
+        synchronized (COMMIT_LOCKS.computeIfAbsent(directory.toAbsolutePath(), p -> new Object())) {
+            try (FileChannel lockChannel = FileChannel.open(directory.resolve("lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = lockChannel.lock()) {
+
+                List<Path> existing = listSegments(directory);
+                long generation = existing.isEmpty() ? 1 : generationOf(existing.get(existing.size() - 1)) + 1;
+                writeSegment(directory.resolve(segmentName(generation)), pendingRuns, false);
+
+                // 세그먼트가 많아지면 전부 병합 (다른 실행이 매핑 중인 파일은 삭제 실패해도 다음에 다시 병합)
+                List<Path> all = listSegments(directory);
+                if (all.size() > MAX_SEGMENTS) {
+                    writeSegment(directory.resolve(segmentName(generation + 1)), all, true);
+                    for (Path old : all) {
+                        try {
+                            Files.deleteIfExists(old);
+                        } catch (IOException e) {
+                            // 매핑 중 (Windows) → 다음 병합에서 정리
+                        }
+                    }
+                }
+            }
+        }
+        deletePendingRuns();
+    }
+
+    /**
+     * 커밋하지 않은 키 버림 (세그먼트 매핑 해제는 GC에 맡김)
+     */
+    @Override
+    public void close() {
+        deletePendingRuns();
+        pendingHi = null;
+        pendingLo = null;
+    }
+
+    /**
+     * 모은 키를 정렬해 런 파일로 기록 (같은 키는 하나만)
+     */
+    private void flushPending() throws IOException {
+        if (pendingCount == 0) {
+            return;
+        }
+        sort(pendingHi, pendingLo, 0, pendingCount - 1);
+        Path run = Files.createTempFile("keyindex-run-", ".bin");
+        run.toFile().deleteOnExit();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16))) {
+            for (int i = 0; i < pendingCount; i++) {
+                if (i > 0 && pendingHi[i] == pendingHi[i - 1] && pendingLo[i] == pendingLo[i - 1]) {
+                    continue;
+                }
+                out.writeLong(pendingHi[i]);
+                out.writeLong(pendingLo[i]);
+            }
+        }
+        pendingRuns.add(run);
+        pendingCount = 0;
+    }
+
+    private void deletePendingRuns() {
+        for (Path run : pendingRuns) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                // 임시 파일이므로 무시
+            }
+        }
+        pendingRuns.clear();
+    }
+
+    /**
+     * 정렬된 입력들을 병합해 세그먼트 파일 생성 (임시 이름으로 쓰고 이동)
+     * @param segmentInputs true면 입력이 세그먼트 파일, false면 런 파일 (머리 없음)
+     */
+    private static void writeSegment(Path target, List<Path> inputs, boolean segmentInputs) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        int[] bucketCounts = new int[1 << FANOUT_BITS];
+        long count = 0;
+
+        List<SortedInput> sources = new ArrayList<>();
+        try {
+            PriorityQueue<SortedInput> queue = new PriorityQueue<>(
+                (a, b) -> compare(a.hi, a.lo, b.hi, b.lo));
+            for (Path input : inputs) {
+                SortedInput source = new SortedInput(input, segmentInputs);
+                sources.add(source);
+                if (source.advance()) {
+                    queue.add(source);
+                }
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.write(new byte[(int) DATA_OFFSET]);   // 머리는 나중에 채움
+                boolean first = true;
+                long lastHi = 0;
+                long lastLo = 0;
+                while (!queue.isEmpty()) {
+                    SortedInput source = queue.poll();
+                    long hi = source.hi;
+                    long lo = source.lo;
+                    if (source.advance()) {
+                        queue.add(source);
+                    }
+                    if (!first && hi == lastHi && lo == lastLo) {
+                        continue;
+                    }
+                    out.writeLong(hi);
+                    out.writeLong(lo);
+                    bucketCounts[(int) (hi >>> (64 - FANOUT_BITS))]++;
+                    count++;
+                    first = false;
+                    lastHi = hi;
+                    lastLo = lo;
+                }
+            }
+        } finally {
+            for (SortedInput source : sources) {
+                source.close();
+            }
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(temp.toFile(), "rw")) {
+            ByteArrayOutputStream header = new ByteArrayOutputStream((int) DATA_OFFSET);
+            DataOutputStream headerOut = new DataOutputStream(header);
+            headerOut.writeInt(MAGIC);
+            headerOut.writeInt(VERSION);
+            headerOut.writeLong(count);
+            long start = 0;
+            for (int bucketCount : bucketCounts) {
+                headerOut.writeInt((int) start);
+                start += bucketCount;
+            }
+            headerOut.writeInt((int) start);
+            file.seek(0);
+            file.write(header.toByteArray());
+            file.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 세그먼트 파일 목록 (세대 순)
+     */
+    private static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(Comparator.comparingLong(KeyIndex::generationOf));
+        return files;
+    }
+
+    private static String segmentName(long generation) {
+        return String.format("%s%012d%s", SEGMENT_PREFIX, generation, SEGMENT_SUFFIX);
+    }
+
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int compare(long hiA, long loA, long hiB, long loB) {
+        int c = Long.compareUnsigned(hiA, hiB);
+        return c != 0 ? c : Long.compareUnsigned(loA, loB);
+    }
+
+    /**
+     * (hi, lo) 쌍 정렬 (퀵 정렬, 짧은 구간은 삽입 정렬)
+     */
+    private static void sort(long[] his, long[] los, int left, int right) {
+        while (right - left > 16) {
+            int mid = (left + right) >>> 1;
+            long pivotHi = his[mid];
+            long pivotLo = los[mid];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (compare(his[i], los[i], pivotHi, pivotLo) < 0) {
+                    i++;
+                }
+                while (compare(his[j], los[j], pivotHi, pivotLo) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(his, los, i++, j--);
+                }
+            }
+            // 짧은 쪽은 재귀, 긴 쪽은 반복 (스택 깊이 제한)
+            if (j - left < right - i) {
+                sort(his, los, left, j);
+                left = i;
+            } else {
+                sort(his, los, i, right);
+                right = j;
+            }
+        }
+        for (int i = left + 1; i <= right; i++) {
+            for (int j = i; j > left && compare(his[j - 1], los[j - 1], his[j], los[j]) > 0; j--) {
+                swap(his, los, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(long[] his, long[] los, int a, int b) {
+        long hi = his[a];
+        his[a] = his[b];
+        his[b] = hi;
+        long lo = los[a];
+        los[a] = los[b];
+        los[b] = lo;
+    }
+
+    private static String shortHash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 6; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 매핑한 세그먼트 (읽기 전용, fanout은 힙에 복사)
+     */
+    private static final class Segment {
+        private final long count;
+        private final int[] fanout = new int[FANOUT_SIZE];
+        private final MappedByteBuffer[] data;
+
+        Segment(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, DATA_OFFSET);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    throw new IOException("Invalid key index segment: " + file);
+                }
+                count = header.getLong(8);
+                for (int i = 0; i < FANOUT_SIZE; i++) {
+                    fanout[i] = header.getInt(16 + i * 4);
+                }
+
+                long dataSize = count * ENTRY_BYTES;
+                if (channel.size() < DATA_OFFSET + dataSize) {
+                    throw new IOException("Truncated key index segment: " + file);
+                }
+                int chunks = (int) ((dataSize + (1L << MAP_SHIFT) - 1) >>> MAP_SHIFT);
+                data = new MappedByteBuffer[chunks];
+                for (int i = 0; i < chunks; i++) {
+                    long position = (long) i << MAP_SHIFT;
+                    data[i] = channel.map(FileChannel.MapMode.READ_ONLY, DATA_OFFSET + position,
+                        Math.min(1L << MAP_SHIFT, dataSize - position));
+                }
+            }
+        }
+
+        boolean contains(long hi, long lo) {
+            int bucket = (int) (hi >>> (64 - FANOUT_BITS));
+            long low = fanout[bucket] & 0xFFFFFFFFL;
+            long high = (fanout[bucket + 1] & 0xFFFFFFFFL) - 1;
+            while (low <= high) {
+                long mid = (low + high) >>> 1;
+                long position = mid * ENTRY_BYTES;
+                MappedByteBuffer chunk = data[(int) (position >>> MAP_SHIFT)];
+                int offset = (int) (position & ((1L << MAP_SHIFT) - 1));
+                int c = compare(chunk.getLong(offset), chunk.getLong(offset + 8), hi, lo);
+                if (c < 0) {
+                    low = mid + 1;
+                } else if (c > 0) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 정렬된 (hi, lo) 입력 (런 파일 또는 세그먼트 데이터 부분)
+     */
+    private static final class SortedInput implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        long hi;
+        long lo;
+
+        SortedInput(Path file, boolean segment) throws IOException {
+            InputStream stream = Files.newInputStream(file);
+            this.in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+            if (segment) {
+                in.readInt();
+                in.readInt();
+                remaining = in.readLong();
+                in.skipNBytes(DATA_OFFSET - 16);
+            } else {
+                remaining = Files.size(file) / ENTRY_BYTES;
+            }
+        }
+
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            hi = in.readLong();
+            lo = in.readLong();
+            return true;
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // 무시
+            }
+        }
+    }
+}
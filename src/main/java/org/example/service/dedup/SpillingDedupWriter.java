@@ -0,0 +1,497 @@
+package org.example.service.dedup;
+
+import org.example.model.Profile;
+import org.example.service.jfr.DedupSpillEvent;
+import org.example.service.writer.DataWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 디스크 분할(spill) 정확 중복 제거 라이터 (dedupMode=spill)
+ * 키 집합이 힙에 다 들어가지 않는 대용량 입력용, 출력 행의 키 컬럼 값으로 중복 제거
+ * 1. 메모리 한도까지: 키 문자열 집합으로 바로 판단, 처음 본 행은 그대로 출력
+ * 2. 한도 초과 후: 집합을 고정하고 (이미 본 키는 계속 중복 처리)
+ *    나머지 행은 순번과 함께 키 해시 기준 파티션 파일(256개)에 기록
+ * 3. close: 파티션별로 중복 제거 (파일에 쓴 순서 = 입력 순서이므로 처음 본 행 유지)
+ *    파티션도 한도를 넘으면 해시 다음 비트로 16개로 다시 분할
+ *    → 파티션 결과를 순번 기준으로 병합해 원래 행 순서대로 출력
+ * 쓰기 스레드 하나에서만 사용
+ */
+public final class SpillingDedupWriter implements DataWriter {
+
+    private static final int PARTITION_BITS = 8;        // 첫 분할 (256개)
+    private static final int SPLIT_BITS = 4;            // 재분할 (16개)
+    private static final int MAX_HASH_BITS = 128;
+    private static final int BUFFER_SIZE = 32 * 1024;
+    private static final int CHECK_INTERVAL = 1024;     // 메모리 확인 간격 (행)
+
+    private final DataWriter delegate;
+    private final List<String> keyColumns;
+    private final long memoryBudget;
+
+    private int[] keyPositions = new int[0];
+    private HeapDedupStore seenKeys = new HeapDedupStore();
+    private boolean spilling;
+    private long sequence;
+
+    private File spillDir;
+    private final File[] partitionFiles = new File[1 << PARTITION_BITS];
+    private final DataOutputStream[] partitions = new DataOutputStream[1 << PARTITION_BITS];
+    private final long[] fingerprint = new long[2];
+
+    private long duplicateRows;
+    private long uniqueKeys;
+    private long spilledRows;
+    private long peakMemoryBytes;
+    private boolean discarded;
+
+    /**
+     * @param keyColumns 중복 체크 키 컬럼의 출력 컬럼명
+     * @param memoryBudget 키 집합 메모리 한도 (바이트, 추정치 기준)
+     */
+    public SpillingDedupWriter(DataWriter delegate, List<String> keyColumns, long memoryBudget) {
+        this.delegate = delegate;
+        this.keyColumns = new ArrayList<>(keyColumns);
+        this.memoryBudget = memoryBudget;
+    }
+
+    @Override
+    public void open(File file, Profile profile) throws Exception {
+        delegate.open(file, profile);
+    }
+
+    /**
+     * 헤더에서 키 컬럼 위치 확인 (헤더에 없는 키 컬럼은 제외)
+     */
+    @Override
+    public void writeHeader(List<String> headers) throws Exception {
+        List<Integer> positions = new ArrayList<>();
+        for (String column : keyColumns) {
+            int index = headers.indexOf(column);
+            if (index >= 0) {
+                positions.add(index);
+            }
+        }
+        keyPositions = positions.stream().mapToInt(Integer::intValue).toArray();
+        delegate.writeHeader(headers);
+    }
+
+    @Override
+    public void writeRow(List<String> values) throws Exception {
+        writeRow(values.toArray(new String[0]));
+    }
+
+    @Override
+    public void writeRow(String[] values) throws Exception {
+        if (keyPositions.length == 0) {
+            delegate.writeRow(values);
+            return;
+        }
+        long seq = sequence++;
+        String[] key = keyOf(values);
+
+        if (!spilling) {
+            if (!seenKeys.add(key)) {
+                duplicateRows++;
+                return;
+            }
+            uniqueKeys++;
+            delegate.writeRow(values);
+            if (uniqueKeys % CHECK_INTERVAL == 0 && seenKeys.memoryBytes() > memoryBudget) {
+                peakMemoryBytes = Math.max(peakMemoryBytes, seenKeys.memoryBytes());
+                spilling = true;
+
+                DedupSpillEvent event = new DedupSpillEvent();
+                if (event.shouldCommit()) {
+                    event.phase = "start";
+                    event.rows = uniqueKeys;
+                    event.duplicateRows = duplicateRows;
+                    event.memoryBytes = seenKeys.memoryBytes();
+                    event.commit();
+                }
+            }
+            return;
+        }
+
+        if (seenKeys.contains(key)) {
+            duplicateRows++;
+            return;
+        }
+        Fingerprint.of(key, fingerprint);
+        int partition = (int) (fingerprint[0] >>> (64 - PARTITION_BITS));
+        writeRecord(partition(partition), seq, values);
+        spilledRows++;
+    }
+
+    /**
+     * 분할한 행을 중복 제거해 순서대로 출력한 뒤 닫기 (discard 후에는 그냥 닫기)
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            if (!discarded) {
+                peakMemoryBytes = Math.max(peakMemoryBytes, seenKeys.memoryBytes());
+                seenKeys.close();
+                seenKeys = new HeapDedupStore();
+                if (spilledRows > 0) {
+                    drainPartitions();
+                }
+            }
+        } finally {
+            closePartitions();
+            deleteSpillDir();
+            delegate.close();
+        }
+    }
+
+    /**
+     * 오류/취소 시 분할한 행을 버림 (이후 close는 임시 파일만 정리)
+     */
+    public void discard() {
+        discarded = true;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return delegate.getBytesWritten();
+    }
+
+    @Override
+    public long getIoNanos() {
+        return delegate.getIoNanos();
+    }
+
+    @Override
+    public String getExtension() {
+        return delegate.getExtension();
+    }
+
+    @Override
+    public String getFormatName() {
+        return delegate.getFormatName();
+    }
+
+    /**
+     * 중복으로 출력하지 않은 행 수 (close 후 최종값)
+     */
+    public long getDuplicateRows() {
+        return duplicateRows;
+    }
+
+    public long getUniqueKeys() {
+        return uniqueKeys;
+    }
+
+    /**
+     * 임시 파일로 분할한 행 수
+     */
+    public long getSpilledRows() {
+        return spilledRows;
+    }
+
+    /**
+     * 키 집합이 쓴 최대 메모리 (추정치)
+     */
+    public long getPeakMemoryBytes() {
+        return peakMemoryBytes;
+    }
+
+    private String[] keyOf(String[] values) {
+        String[] key = new String[keyPositions.length];
+        for (int i = 0; i < keyPositions.length; i++) {
+            key[i] = values[keyPositions[i]];
+        }
+        return key;
+    }
+
+    private DataOutputStream partition(int index) throws IOException {
+        if (partitions[index] == null) {
+            if (spillDir == null) {
+                spillDir = Files.createTempDirectory("excelconverter-dedup-").toFile();
+            }
+            partitionFiles[index] = new File(spillDir, "p" + index + ".bin");
+            partitions[index] = open(partitionFiles[index]);
+        }
+        return partitions[index];
+    }
+
+    /**
+     * 파티션별 중복 제거 → 결과 런을 순번 순서로 병합해 출력
+     */
+    private void drainPartitions() throws Exception {
+        closePartitions();
+        List<File> runs = new ArrayList<>();
+        for (File file : partitionFiles) {
+            if (file != null) {
+                dedupPartition(file, PARTITION_BITS, runs);
+            }
+        }
+        mergeRuns(runs);
+    }
+
+    /**
+     * 파티션 하나 중복 제거 (처음 본 행만 런 파일에 남김)
+     * 키 집합이 한도를 넘으면 해시 다음 비트로 다시 나눠 각각 처리
+     * @param usedBits 이 파티션을 나누는 데 이미 쓴 해시 비트 수
+     */
+    private void dedupPartition(File file, int usedBits, List<File> runs) throws Exception {
+        File run = new File(spillDir, file.getName() + ".run");
+        HeapDedupStore keys = new HeapDedupStore();
+        long unique = 0;
+        long duplicates = 0;
+        boolean overBudget = false;
+        DedupSpillEvent event = new DedupSpillEvent();
+        event.begin();
+
+        try (DataInputStream in = openInput(file); DataOutputStream out = open(run)) {
+            Record record;
+            while ((record = readRecord(in)) != null) {
+                if (keys.add(keyOf(record.values))) {
+                    writeRecord(out, record.seq, record.values);
+                    unique++;
+                } else {
+                    duplicates++;
+                }
+                if ((unique + duplicates) % CHECK_INTERVAL == 0
+                        && keys.memoryBytes() > memoryBudget && usedBits + SPLIT_BITS <= MAX_HASH_BITS) {
+                    overBudget = true;
+                    break;
+                }
+            }
+        } finally {
+            peakMemoryBytes = Math.max(peakMemoryBytes, keys.memoryBytes());
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = overBudget ? "partition-over-budget" : "partition";
+                event.rows = unique + duplicates;
+                event.duplicateRows = duplicates;
+                event.hashBits = usedBits;
+                event.memoryBytes = keys.memoryBytes();
+                event.commit();
+            }
+            keys.close();
+        }
+
+        if (!overBudget) {
+            file.delete();
+            uniqueKeys += unique;
+            duplicateRows += duplicates;
+            runs.add(run);
+            return;
+        }
+
+        run.delete();
+        for (File part : split(file, usedBits)) {
+            dedupPartition(part, usedBits + SPLIT_BITS, runs);
+        }
+    }
+
+    /**
+     * 파티션을 해시의 다음 SPLIT_BITS 비트로 나눔 (파일 안 순서 유지)
+     */
+    private List<File> split(File file, int usedBits) throws IOException {
+        int count = 1 << SPLIT_BITS;
+        File[] parts = new File[count];
+        DataOutputStream[] outs = new DataOutputStream[count];
+        long[] hash = new long[2];
+        long rows = 0;
+        DedupSpillEvent event = new DedupSpillEvent();
+        event.begin();
+        try (DataInputStream in = openInput(file)) {
+            Record record;
+            while ((record = readRecord(in)) != null) {
+                rows++;
+                Fingerprint.of(keyOf(record.values), hash);
+                int part = (int) hashBits(hash, usedBits, SPLIT_BITS);
+                if (outs[part] == null) {
+                    parts[part] = new File(spillDir, file.getName() + "." + part);
+                    outs[part] = open(parts[part]);
+                }
+                writeRecord(outs[part], record.seq, record.values);
+            }
+        } finally {
+            for (DataOutputStream out : outs) {
+                closeQuietly(out);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = "split";
+                event.rows = rows;
+                event.hashBits = usedBits;
+                event.commit();
+            }
+        }
+        file.delete();
+
+        List<File> result = new ArrayList<>();
+        for (File part : parts) {
+            if (part != null) {
+                result.add(part);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 128비트 해시에서 offset번째 비트부터 bits개 (상위 비트부터)
+     */
+    private static long hashBits(long[] hash, int offset, int bits) {
+        long word = offset < 64 ? hash[0] : hash[1];
+        int shift = 64 - (offset % 64) - bits;
+        if (shift >= 0) {
+            return (word >>> shift) & ((1L << bits) - 1);
+        }
+        // 두 워드에 걸친 경우
+        long high = word & ((1L << (bits + shift)) - 1);
+        return (high << -shift) | (hash[1] >>> (64 + shift));
+    }
+
+    /**
+     * 순번 순서 병합 (각 런은 이미 순번 오름차순)
+     */
+    private void mergeRuns(List<File> runs) throws Exception {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>((a, b) -> Long.compare(a.current.seq, b.current.seq));
+        long rows = 0;
+        DedupSpillEvent event = new DedupSpillEvent();
+        event.begin();
+        try {
+            for (File run : runs) {
+                RunReader reader = new RunReader(openInput(run));
+                if (reader.advance()) {
+                    queue.add(reader);
+                } else {
+                    reader.in.close();
+                }
+            }
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                delegate.writeRow(reader.current.values);
+                rows++;
+                if (reader.advance()) {
+                    queue.add(reader);
+                } else {
+                    reader.in.close();
+                }
+            }
+        } finally {
+            for (RunReader reader : queue) {
+                closeQuietly(reader.in);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = "merge";
+                event.rows = rows;
+                event.commit();
+            }
+        }
+    }
+
+    private void closePartitions() {
+        for (int i = 0; i < partitions.length; i++) {
+            closeQuietly(partitions[i]);
+            partitions[i] = null;
+        }
+    }
+
+    private void deleteSpillDir() {
+        if (spillDir == null) {
+            return;
+        }
+        File[] files = spillDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        spillDir.delete();
+        spillDir = null;
+    }
+
+    private static DataOutputStream open(File file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static DataInputStream openInput(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // 임시 파일이므로 무시
+        }
+    }
+
+    /**
+     * 레코드 형식: [순번 long][값 개수 int]([UTF-8 길이 int (null이면 -1)][바이트...])*
+     */
+    private static void writeRecord(DataOutputStream out, long seq, String[] values) throws IOException {
+        out.writeLong(seq);
+        out.writeInt(values.length);
+        for (String value : values) {
+            if (value == null) {
+                out.writeInt(-1);
+                continue;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @return 파일 끝이면 null
+     */
+    private static Record readRecord(DataInputStream in) throws IOException {
+        long seq;
+        try {
+            seq = in.readLong();
+        } catch (EOFException e) {
+            return null;
+        }
+        String[] values = new String[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            int length = in.readInt();
+            if (length < 0) {
+                continue;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Record(seq, values);
+    }
+
+    private static final class Record {
+        final long seq;
+        final String[] values;
+
+        Record(long seq, String[] values) {
+            this.seq = seq;
+            this.values = values;
+        }
+    }
+
+    private static final class RunReader {
+        final DataInputStream in;
+        Record current;
+
+        RunReader(DataInputStream in) {
+            this.in = in;
+        }
+
+        boolean advance() throws IOException {
+            current = readRecord(in);
+            return current != null;
+        }
+    }
+}
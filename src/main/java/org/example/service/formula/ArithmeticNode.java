@@ -0,0 +1,343 @@
+package org.example.service.formula;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 산술식 구문 트리
+ * toHandle()로 (double[] 변수값)double 형태의 MethodHandle 하나로 합성
+ * → 트리 순회/박싱 없이 JIT가 직선 산술 코드로 인라인할 수 있음
+ * evaluateBatch()는 여러 행을 열(double[]) 단위로 계산 (노드마다 한 번의 단순 루프),
+ * 여러 수식에 반복되는 부분식은 SharedSubexpressions로 배치당 한 번만 계산
+ * 연산 의미는 exp4j와 동일 (0으로 나누기/나머지는 ArithmeticException, 배치에서는 failed 표시)
+ */
+abstract class ArithmeticNode {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType UNARY = MethodType.methodType(double.class, double.class);
+    private static final MethodType BINARY = MethodType.methodType(double.class, double.class, double.class);
+
+    // 루트 핸들 타입: (double[])double
+    static final MethodType ROOT_TYPE = MethodType.methodType(double.class, double[].class);
+
+    private static final MethodHandle VARIABLE_GETTER = MethodHandles.arrayElementGetter(double[].class);
+
+    /**
+     * (double[])double 핸들로 컴파일
+     */
+    abstract MethodHandle toHandle();
+
+    /**
+     * 여러 행 한 번에 계산
+     * @param columns 변수별 값 열 (Variable.index 순서)
+     * @param count 행 수
+     * @param out 결과 (count개 기록)
+     * @param failed exp4j라면 오류였을 행을 true로 표시 (0으로 나누기)
+     * @param shared 공통 부분식 (없으면 null)
+     */
+    final void evaluateBatch(double[][] columns, int count, double[] out, boolean[] failed,
+                             SharedSubexpressions.Scope shared) {
+        int slot = shared != null ? shared.slot(this) : -1;
+        if (slot < 0) {
+            compute(columns, count, out, failed, shared);
+        } else {
+            shared.evaluate(slot, this, columns, count, out, failed);
+        }
+    }
+
+    /**
+     * 이 노드 계산 (하위 노드는 evaluateBatch로)
+     */
+    abstract void compute(double[][] columns, int count, double[] out, boolean[] failed,
+                          SharedSubexpressions.Scope shared);
+
+    /**
+     * 구조 키 (키가 같으면 같은 값을 계산, 변수는 값 위치로 구분)
+     * 연산 노드(Unary, Binary)는 keys에 함께 기록
+     * @param sources Variable.index → 값 위치
+     * @return 이 노드의 키
+     */
+    abstract String collectKeys(int[] sources, Map<ArithmeticNode, String> keys);
+
+    /**
+     * 상수
+     */
+    static final class Constant extends ArithmeticNode {
+        final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        MethodHandle toHandle() {
+            return MethodHandles.dropArguments(MethodHandles.constant(double.class, value), 0, double[].class);
+        }
+
+        @Override
+        void compute(double[][] columns, int count, double[] out, boolean[] failed,
+                     SharedSubexpressions.Scope shared) {
+            Arrays.fill(out, 0, count, value);
+        }
+
+        @Override
+        String collectKeys(int[] sources, Map<ArithmeticNode, String> keys) {
+            return Double.toString(value);
+        }
+    }
+
+    /**
+     * 변수 (CompiledFormula.getColumns() 순서의 인덱스)
+     */
+    static final class Variable extends ArithmeticNode {
+        final int index;
+
+        Variable(int index) {
+            this.index = index;
+        }
+
+        @Override
+        MethodHandle toHandle() {
+            return MethodHandles.insertArguments(VARIABLE_GETTER, 1, index);
+        }
+
+        @Override
+        void compute(double[][] columns, int count, double[] out, boolean[] failed,
+                     SharedSubexpressions.Scope shared) {
+            System.arraycopy(columns[index], 0, out, 0, count);
+        }
+
+        @Override
+        String collectKeys(int[] sources, Map<ArithmeticNode, String> keys) {
+            return "$" + sources[index];
+        }
+    }
+
+    /**
+     * 단항 연산/함수 (-x, abs(x), sqrt(x) ...)
+     */
+    static final class Unary extends ArithmeticNode {
+        final String name;
+        final MethodHandle operator;
+        final DoubleUnaryOperator function;  // 배치용 (operator와 같은 연산)
+        final ArithmeticNode operand;
+
+        Unary(String name, MethodHandle operator, DoubleUnaryOperator function, ArithmeticNode operand) {
+            this.name = name;
+            this.operator = operator;
+            this.function = function;
+            this.operand = operand;
+        }
+
+        /**
+         * 부호 반전
+         */
+        static Unary negate(ArithmeticNode operand) {
+            return new Unary("-", NEGATE, null, operand);
+        }
+
+        @Override
+        MethodHandle toHandle() {
+            return MethodHandles.filterArguments(operator, 0, operand.toHandle());
+        }
+
+        @Override
+        void compute(double[][] columns, int count, double[] out, boolean[] failed,
+                     SharedSubexpressions.Scope shared) {
+            operand.evaluateBatch(columns, count, out, failed, shared);
+            if (function == null) {
+                for (int i = 0; i < count; i++) {
+                    out[i] = -out[i];
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    out[i] = function.applyAsDouble(out[i]);
+                }
+            }
+        }
+
+        @Override
+        String collectKeys(int[] sources, Map<ArithmeticNode, String> keys) {
+            String key = name + "(" + operand.collectKeys(sources, keys) + ")";
+            keys.put(this, key);
+            return key;
+        }
+    }
+
+    /**
+     * 이항 연산 (+, -, *, /, %, ^, pow)
+     */
+    static final class Binary extends ArithmeticNode {
+        final Op op;
+        final ArithmeticNode left;
+        final ArithmeticNode right;
+
+        Binary(Op op, ArithmeticNode left, ArithmeticNode right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        MethodHandle toHandle() {
+            // (double[], double[])double → 같은 배열을 양쪽에 전달
+            MethodHandle both = MethodHandles.filterArguments(op.handle, 0, left.toHandle(), right.toHandle());
+            return MethodHandles.permuteArguments(both, ROOT_TYPE, 0, 0);
+        }
+
+        @Override
+        void compute(double[][] columns, int count, double[] out, boolean[] failed,
+                     SharedSubexpressions.Scope shared) {
+            left.evaluateBatch(columns, count, out, failed, shared);
+            double[] rhs = new double[count];
+            right.evaluateBatch(columns, count, rhs, failed, shared);
+
+            // 연산별 루프 (루프 안에 분기/가상 호출 없음)
+            switch (op) {
+                case ADD:
+                    for (int i = 0; i < count; i++) {
+                        out[i] = out[i] + rhs[i];
+                    }
+                    break;
+                case SUBTRACT:
+                    for (int i = 0; i < count; i++) {
+                        out[i] = out[i] - rhs[i];
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int i = 0; i < count; i++) {
+                        out[i] = out[i] * rhs[i];
+                    }
+                    break;
+                case DIVIDE:
+                    for (int i = 0; i < count; i++) {
+                        failed[i] |= rhs[i] == 0d;
+                        out[i] = out[i] / rhs[i];
+                    }
+                    break;
+                case MODULO:
+                    for (int i = 0; i < count; i++) {
+                        failed[i] |= rhs[i] == 0d;
+                        out[i] = out[i] % rhs[i];
+                    }
+                    break;
+                case POWER:
+                    for (int i = 0; i < count; i++) {
+                        out[i] = Math.pow(out[i], rhs[i]);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException(op.name());
+            }
+        }
+
+        @Override
+        String collectKeys(int[] sources, Map<ArithmeticNode, String> keys) {
+            String a = left.collectKeys(sources, keys);
+            String b = right.collectKeys(sources, keys);
+            // 덧셈/곱셈은 교환법칙이 정확히 성립 (IEEE 754) → a + b와 b + a를 같은 키로
+            if ((op == Op.ADD || op == Op.MULTIPLY) && a.compareTo(b) > 0) {
+                String t = a;
+                a = b;
+                b = t;
+            }
+            String key = "(" + a + " " + op.name() + " " + b + ")";
+            keys.put(this, key);
+            return key;
+        }
+    }
+
+    // ===== 연산자 =====
+
+    /**
+     * 이항 연산자
+     */
+    enum Op {
+        ADD("add"), SUBTRACT("subtract"), MULTIPLY("multiply"), DIVIDE("divide"), MODULO("modulo"), POWER("power");
+
+        final MethodHandle handle;
+
+        Op(String method) {
+            this.handle = operator(method, BINARY);
+        }
+
+        /**
+         * 값 하나 계산 (handle과 같은 연산)
+         */
+        double apply(double a, double b) {
+            switch (this) {
+                case ADD:
+                    return add(a, b);
+                case SUBTRACT:
+                    return subtract(a, b);
+                case MULTIPLY:
+                    return multiply(a, b);
+                case DIVIDE:
+                    return divide(a, b);
+                case MODULO:
+                    return modulo(a, b);
+                default:
+                    return power(a, b);
+            }
+        }
+    }
+
+    static final MethodHandle NEGATE = operator("negate", UNARY);
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double subtract(double a, double b) {
+        return a - b;
+    }
+
+    private static double multiply(double a, double b) {
+        return a * b;
+    }
+
+    private static double divide(double a, double b) {
+        if (b == 0d) {
+            throw new ArithmeticException("Division by zero!");
+        }
+        return a / b;
+    }
+
+    private static double modulo(double a, double b) {
+        if (b == 0d) {
+            throw new ArithmeticException("Division by zero!");
+        }
+        return a % b;
+    }
+
+    private static double power(double a, double b) {
+        return Math.pow(a, b);
+    }
+
+    private static double negate(double a) {
+        return -a;
+    }
+
+    private static MethodHandle operator(String name, MethodType type) {
+        try {
+            return LOOKUP.findStatic(ArithmeticNode.class, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * java.lang.Math 단항 함수 핸들
+     */
+    static MethodHandle mathFunction(String name) {
+        try {
+            return LOOKUP.findStatic(Math.class, name, UNARY);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
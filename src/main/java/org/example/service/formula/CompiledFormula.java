@@ -0,0 +1,330 @@
+package org.example.service.formula;
+
+import net.objecthunter.exp4j.Expression;
+import net.objecthunter.exp4j.ExpressionBuilder;
+import org.example.service.codec.NumberCodec;
+
+import java.lang.invoke.MethodHandle;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 한 번 파싱해 재사용하는 수식
+ * 수식 문자열 해석(파싱, 상수 접기, exp4j 빌드)은 compile에서 한 번만 하고,
+ * 행마다 evaluate에는 변수 순서대로 값 배열만 넘김
+ * - 산술식: MethodHandle로 합성해 double 배열에서 바로 계산, evaluateBatch로 열 단위 계산도 가능
+ *   +, -, *만 쓴 산술식은 evaluateScaled로 고정 소수점(long) 계산도 가능
+ * - 문자열/조건 함수가 섞인 수식: 타입이 있는 구문 트리(FormulaNode)로 계산
+ * - FormulaParser가 지원하지 않는 문법만 exp4j 사용
+ * 여러 스레드에서 동시에 evaluate 해도 안전 (exp4j Expression은 스레드별 복사본 사용)
+ */
+public final class CompiledFormula {
+
+    // ${컬럼명} 패턴 매칭
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+
+    /**
+     * evaluateScaled에서 지원하는 최대 자릿수
+     */
+    public static final int MAX_SCALE = 9;
+
+    // 고정 소수점으로 계산할 수 없는 수식 표시
+    private static final ScaledArithmetic NOT_SCALABLE = ScaledArithmetic.from(new ArithmeticNode.Constant(0d), 0);
+
+    private enum Kind {
+        COMPILED, TYPED, ARITHMETIC, INVALID
+    }
+
+    private final String formula;
+    private final Kind kind;
+    private final List<String> columns;    // 변수 순서 (evaluate 값 배열과 같은 순서)
+
+    // 문자열/조건이 섞인 수식
+    private final FormulaNode tree;
+
+    // 산술식 (MethodHandle 합성)
+    private final ArithmeticNode node;
+    private final MethodHandle handle;     // (double[])double
+    private final ScaledArithmetic[] scaledForms;  // 자릿수별 고정 소수점 식 (처음 사용할 때 생성)
+
+    // 산술식 (exp4j)
+    private final String[] variableNames;  // v0, v1, ... (exp4j는 한글 변수명 지원 안함)
+    private final ThreadLocal<Expression> expression;
+
+    private CompiledFormula(String formula, Kind kind, List<String> columns, FormulaNode tree,
+                            ArithmeticNode node, String[] variableNames, Expression prototype) {
+        this.formula = formula;
+        this.kind = kind;
+        this.columns = Collections.unmodifiableList(columns);
+        this.tree = tree;
+        this.node = node;
+        this.handle = node != null ? node.toHandle() : null;
+        this.scaledForms = node != null ? new ScaledArithmetic[MAX_SCALE + 1] : null;
+        this.variableNames = variableNames;
+        this.expression = prototype != null ? ThreadLocal.withInitial(() -> new Expression(prototype)) : null;
+    }
+
+    /**
+     * 수식 컴파일
+     * 문법 오류는 예외 대신 항상 "0"을 반환하는 수식으로 만듦 (기존 행 단위 동작과 동일한 결과)
+     */
+    public static CompiledFormula compile(String formula) {
+        List<String> columns = new ArrayList<>(extractColumnNames(formula));
+
+        try {
+            FormulaNode tree = FormulaParser.parse(formula, columns);
+            ArithmeticNode node = tree.toArithmetic();
+            if (node != null) {
+                // 산술식: MethodHandle로 합성
+                return new CompiledFormula(formula, Kind.COMPILED, columns, null, node, null, null);
+            }
+            return new CompiledFormula(formula, Kind.TYPED, columns, tree, null, null, null);
+        } catch (IllegalArgumentException e) {
+            // 지원하지 않는 문법 → exp4j
+        }
+
+        // ${컬럼명} → v0, v1, ... 치환 후 exp4j로 한 번만 빌드
+        String[] variableNames = new String[columns.size()];
+        String expressionText = formula;
+        for (int i = 0; i < variableNames.length; i++) {
+            variableNames[i] = "v" + i;
+            expressionText = expressionText.replace("${" + columns.get(i) + "}", variableNames[i]);
+        }
+
+        try {
+            ExpressionBuilder builder = new ExpressionBuilder(expressionText);
+            if (variableNames.length > 0) {
+                builder.variables(variableNames);
+            }
+            Expression prototype = builder.build();
+            return new CompiledFormula(formula, Kind.ARITHMETIC, columns, null, null, variableNames, prototype);
+        } catch (Exception e) {
+            System.err.println("계산 오류 [" + formula + "]: " + e.getMessage());
+            return new CompiledFormula(formula, Kind.INVALID, columns, null, null, variableNames, null);
+        }
+    }
+
+    /**
+     * FormulaParser로 해석 가능한 수식인지 (exp4j 대체 경로 제외)
+     */
+    public static boolean isSupported(String formula) {
+        try {
+            FormulaParser.parse(formula, new ArrayList<>(extractColumnNames(formula)));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 수식에 사용된 컬럼명 추출 (등장 순서, 중복 제거)
+     */
+    public static Set<String> extractColumnNames(String formula) {
+        Set<String> columns = new LinkedHashSet<>();
+        Matcher matcher = VARIABLE_PATTERN.matcher(formula);
+        while (matcher.find()) {
+            columns.add(matcher.group(1));
+        }
+        return columns;
+    }
+
+    /**
+     * 원본 수식
+     */
+    public String getFormula() {
+        return formula;
+    }
+
+    /**
+     * 참조 컬럼 (evaluate 값 배열 순서)
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 계산
+     * @param values getColumns() 순서의 값 (없는 컬럼은 null)
+     * @return 계산 결과 문자열 (오류 시 "0")
+     */
+    public String evaluate(String[] values) {
+        switch (kind) {
+            case COMPILED:
+                return evaluateCompiled(values);
+            case TYPED:
+                return evaluateTyped(values);
+            case ARITHMETIC:
+                return evaluateArithmetic(values);
+            default:
+                return "0";
+        }
+    }
+
+    /**
+     * evaluateBatch 사용 가능 여부 (MethodHandle로 합성된 산술식만)
+     */
+    public boolean isBatchable() {
+        return kind == Kind.COMPILED;
+    }
+
+    /**
+     * 여러 행 한 번에 계산 (isBatchable()인 경우만)
+     * @param columns getColumns() 순서의 변수 열 (parseNumber 적용된 값)
+     * @param count 행 수
+     * @param out 결과
+     * @param failed 오류 행 표시 (false로 초기화해서 전달, 결과 문자열은 formatResult로)
+     */
+    public void evaluateBatch(double[][] columns, int count, double[] out, boolean[] failed) {
+        node.evaluateBatch(columns, count, out, failed, null);
+    }
+
+    /**
+     * 여러 행 한 번에 계산 (공통 부분식은 shared에서 재사용)
+     * @param formulaIndex SharedSubexpressions.build에 넘긴 수식 위치
+     */
+    public void evaluateBatch(double[][] columns, int count, double[] out, boolean[] failed,
+                              SharedSubexpressions shared, int formulaIndex) {
+        node.evaluateBatch(columns, count, out, failed, shared.scope(formulaIndex));
+    }
+
+    /**
+     * 산술식 트리 (isBatchable()인 경우만)
+     */
+    ArithmeticNode arithmetic() {
+        return node;
+    }
+
+    /**
+     * 고정 소수점 계산 (+, -, *와 부호만 쓴 산술식)
+     * 값을 scale 자릿수의 long으로 읽어 정수 연산으로 계산하고, 결과는 scale 자릿수로 HALF_UP 반올림
+     * @param values getColumns() 순서의 값 (없는 컬럼/숫자 아님은 0)
+     * @param scale 소수 자릿수 (0 ~ MAX_SCALE)
+     * @return 결과 (10^scale 배 한 정수), 계산할 수 없으면 NumberCodec.UNREPRESENTABLE
+     *         (지원하지 않는 수식, 입력 자릿수가 scale보다 많음, 지수 표기, 오버플로)
+     */
+    public long evaluateScaled(String[] values, int scale) {
+        ScaledArithmetic arithmetic = scaledForm(scale);
+        if (arithmetic == NOT_SCALABLE) {
+            return NumberCodec.UNREPRESENTABLE;
+        }
+        long[] inputs = new long[values.length];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = NumberCodec.parseScaled(values[i], scale);
+            if (inputs[i] == NumberCodec.UNREPRESENTABLE) {
+                return NumberCodec.UNREPRESENTABLE;
+            }
+        }
+        try {
+            return ScaledArithmetic.rescale(arithmetic.evaluate(inputs), arithmetic.scale, scale);
+        } catch (ArithmeticException e) {
+            return NumberCodec.UNREPRESENTABLE;   // 오버플로
+        }
+    }
+
+    private ScaledArithmetic scaledForm(int scale) {
+        if (scaledForms == null || scale < 0 || scale > MAX_SCALE) {
+            return NOT_SCALABLE;
+        }
+        // 여러 스레드가 동시에 만들어도 같은 결과 (불변 객체)
+        ScaledArithmetic arithmetic = scaledForms[scale];
+        if (arithmetic == null) {
+            arithmetic = ScaledArithmetic.from(node, scale);
+            if (arithmetic == null) {
+                arithmetic = NOT_SCALABLE;
+            }
+            scaledForms[scale] = arithmetic;
+        }
+        return arithmetic;
+    }
+
+    /**
+     * 배치 결과 → 문자열 (evaluate(String[])와 같은 규칙, 오류 행은 "0")
+     */
+    public String formatResult(double value, boolean failed) {
+        if (failed) {
+            System.err.println("계산 오류 [" + formula + "]: Division by zero!");
+            return "0";
+        }
+        return formatNumber(value);
+    }
+
+    /**
+     * 숫자 변수로 계산 (isBatchable()인 경우만, 문자열 변환 없음)
+     * @param variables getColumns() 순서의 값 (parseNumber 적용된 값)
+     * @throws ArithmeticException 0으로 나누기 (결과 문자열은 formatResult(0, true)와 같은 "0")
+     */
+    public double evaluateNumber(double[] variables) {
+        try {
+            return (double) handle.invokeExact(variables);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String evaluateCompiled(String[] values) {
+        double[] variables = new double[values.length];
+        for (int i = 0; i < variables.length; i++) {
+            variables[i] = parseNumber(values[i]);
+        }
+        try {
+            return formatNumber(evaluateNumber(variables));
+        } catch (RuntimeException e) {
+            System.err.println("계산 오류 [" + formula + "]: " + e.getMessage());
+            return "0";
+        }
+    }
+
+    private String evaluateTyped(String[] values) {
+        try {
+            return tree.render(values);
+        } catch (RuntimeException e) {
+            System.err.println("계산 오류 [" + formula + "]: " + e.getMessage());
+            return "0";
+        }
+    }
+
+    private String evaluateArithmetic(String[] values) {
+        try {
+            Expression exp = expression.get();
+            for (int i = 0; i < variableNames.length; i++) {
+                exp.setVariable(variableNames[i], parseNumber(values[i]));
+            }
+            return formatNumber(exp.evaluate());
+        } catch (Exception e) {
+            System.err.println("계산 오류 [" + formula + "]: " + e.getMessage());
+            return "0";
+        }
+    }
+
+    /**
+     * formatResult(value, failed)를 다시 parseNumber 한 값 (오류 행은 0, 정수는 long 범위로 잘림)
+     * 포맷 없는 계산 결과를 문자열을 거치지 않고 뒤 계산에 넘길 때 사용
+     */
+    public static double resultNumber(double value, boolean failed) {
+        if (failed) {
+            return 0d;
+        }
+        if (value == Math.floor(value) && !Double.isInfinite(value)) {
+            return (long) value;
+        }
+        return value;
+    }
+
+    /**
+     * 계산 결과 문자열 (정수면 정수로)
+     */
+    static String formatNumber(double result) {
+        return NumberCodec.format(result);
+    }
+
+    /**
+     * 문자열을 숫자로 변환 (빈 값/숫자 아님 → 0)
+     */
+    public static double parseNumber(String value) {
+        // 쉼표(천 단위 구분자) 무시
+        return NumberCodec.parseNumber(value);
+    }
+}
@@ -0,0 +1,660 @@
+package org.example.service.formula;
+
+import org.example.service.codec.NumberCodec;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 타입이 있는 수식 구문 트리 (FormulaParser가 생성)
+ * 값은 숫자/문자열/논리 중 하나, ${컬럼}은 쓰이는 곳에 따라 숫자 또는 문자열로 해석 (DYNAMIC)
+ * 형 변환 규칙
+ * - 문자열 → 숫자: parseNumber (쉼표 제거, 빈 값/숫자 아님 → 0)
+ * - 숫자 → 문자열: 정수면 정수 표기 (formatNumber)
+ * - 논리 → 숫자 1/0, 문자열 TRUE/FALSE
+ * 산술 연산만으로 된 트리는 toArithmetic()으로 ArithmeticNode(MethodHandle/배치 계산)로 바꿔 사용
+ */
+abstract class FormulaNode {
+
+    enum Type {
+        NUMBER, TEXT, BOOLEAN, DYNAMIC
+    }
+
+    abstract Type type();
+
+    abstract double number(String[] values);
+
+    abstract String text(String[] values);
+
+    /**
+     * 논리값 (숫자는 0이 아니면 참, 문자열은 "TRUE" 또는 0이 아닌 숫자면 참)
+     */
+    boolean bool(String[] values) {
+        if (type() == Type.NUMBER) {
+            return number(values) != 0d;
+        }
+        String text = text(values).trim();
+        return "TRUE".equalsIgnoreCase(text) || CompiledFormula.parseNumber(text) != 0d;
+    }
+
+    /**
+     * 계산 결과 문자열 (수식 전체의 결과)
+     */
+    String render(String[] values) {
+        switch (type()) {
+            case NUMBER:
+                return CompiledFormula.formatNumber(number(values));
+            case BOOLEAN:
+                return bool(values) ? "TRUE" : "FALSE";
+            default:
+                return text(values);
+        }
+    }
+
+    /**
+     * 변수 없이 계산 가능한지 (상수 접기 대상)
+     */
+    abstract boolean isConstant();
+
+    /**
+     * 산술 전용 트리로 변환 (문자열/논리/조건이 섞여 있으면 null)
+     */
+    ArithmeticNode toArithmetic() {
+        return null;
+    }
+
+    private static String booleanText(boolean value) {
+        return value ? "TRUE" : "FALSE";
+    }
+
+    // ===== 값 =====
+
+    /**
+     * 상수 (숫자/문자열/논리)
+     */
+    static final class Literal extends FormulaNode {
+        private final Type type;
+        private final double number;
+        private final String text;
+        private final boolean bool;
+
+        private Literal(Type type, double number, String text, boolean bool) {
+            this.type = type;
+            this.number = number;
+            this.text = text;
+            this.bool = bool;
+        }
+
+        static Literal of(double value) {
+            return new Literal(Type.NUMBER, value, CompiledFormula.formatNumber(value), value != 0d);
+        }
+
+        static Literal of(String value) {
+            String trimmed = value.trim();
+            return new Literal(Type.TEXT, CompiledFormula.parseNumber(value), value,
+                "TRUE".equalsIgnoreCase(trimmed) || CompiledFormula.parseNumber(trimmed) != 0d);
+        }
+
+        static Literal of(boolean value) {
+            return new Literal(Type.BOOLEAN, value ? 1d : 0d, booleanText(value), value);
+        }
+
+        /**
+         * 상수 트리를 한 번 계산해 상수로 (계산 중 오류면 null → 행마다 계산해 오류 처리)
+         */
+        static Literal fold(FormulaNode node) {
+            String[] none = new String[0];
+            try {
+                switch (node.type()) {
+                    case NUMBER:
+                        return of(node.number(none));
+                    case BOOLEAN:
+                        return of(node.bool(none));
+                    default:
+                        return of(node.text(none));
+                }
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        @Override
+        Type type() {
+            return type;
+        }
+
+        @Override
+        double number(String[] values) {
+            return number;
+        }
+
+        @Override
+        String text(String[] values) {
+            return text;
+        }
+
+        @Override
+        boolean bool(String[] values) {
+            return bool;
+        }
+
+        @Override
+        boolean isConstant() {
+            return true;
+        }
+
+        @Override
+        ArithmeticNode toArithmetic() {
+            return type == Type.NUMBER ? new ArithmeticNode.Constant(number) : null;
+        }
+    }
+
+    /**
+     * ${컬럼} (CompiledFormula.getColumns() 순서의 인덱스, 없는 컬럼은 빈 값)
+     */
+    static final class Variable extends FormulaNode {
+        private final int index;
+
+        Variable(int index) {
+            this.index = index;
+        }
+
+        @Override
+        Type type() {
+            return Type.DYNAMIC;
+        }
+
+        @Override
+        double number(String[] values) {
+            return CompiledFormula.parseNumber(values[index]);
+        }
+
+        @Override
+        String text(String[] values) {
+            return values[index] != null ? values[index] : "";
+        }
+
+        @Override
+        boolean isConstant() {
+            return false;
+        }
+
+        @Override
+        ArithmeticNode toArithmetic() {
+            return new ArithmeticNode.Variable(index);
+        }
+    }
+
+    // ===== 숫자 연산 =====
+
+    /**
+     * 부호 반전
+     */
+    static final class Negate extends FormulaNode {
+        private final FormulaNode operand;
+
+        Negate(FormulaNode operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Type type() {
+            return Type.NUMBER;
+        }
+
+        @Override
+        double number(String[] values) {
+            return -operand.number(values);
+        }
+
+        @Override
+        String text(String[] values) {
+            return CompiledFormula.formatNumber(number(values));
+        }
+
+        @Override
+        boolean isConstant() {
+            return operand.isConstant();
+        }
+
+        @Override
+        ArithmeticNode toArithmetic() {
+            ArithmeticNode arithmetic = operand.toArithmetic();
+            return arithmetic != null ? ArithmeticNode.Unary.negate(arithmetic) : null;
+        }
+    }
+
+    /**
+     * 사칙연산, 나머지, 거듭제곱
+     */
+    static final class Arithmetic extends FormulaNode {
+        private final ArithmeticNode.Op op;
+        private final FormulaNode left;
+        private final FormulaNode right;
+
+        Arithmetic(ArithmeticNode.Op op, FormulaNode left, FormulaNode right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Type type() {
+            return Type.NUMBER;
+        }
+
+        @Override
+        double number(String[] values) {
+            return op.apply(left.number(values), right.number(values));
+        }
+
+        @Override
+        String text(String[] values) {
+            return CompiledFormula.formatNumber(number(values));
+        }
+
+        @Override
+        boolean isConstant() {
+            return left.isConstant() && right.isConstant();
+        }
+
+        @Override
+        ArithmeticNode toArithmetic() {
+            ArithmeticNode l = left.toArithmetic();
+            ArithmeticNode r = right.toArithmetic();
+            return l != null && r != null ? new ArithmeticNode.Binary(op, l, r) : null;
+        }
+    }
+
+    /**
+     * java.lang.Math 단항 함수 (abs, sqrt ...)
+     */
+    static final class MathCall extends FormulaNode {
+        private final String name;
+        private final DoubleUnaryOperator function;
+        private final FormulaNode operand;
+
+        MathCall(String name, DoubleUnaryOperator function, FormulaNode operand) {
+            this.name = name;
+            this.function = function;
+            this.operand = operand;
+        }
+
+        @Override
+        Type type() {
+            return Type.NUMBER;
+        }
+
+        @Override
+        double number(String[] values) {
+            return function.applyAsDouble(operand.number(values));
+        }
+
+        @Override
+        String text(String[] values) {
+            return CompiledFormula.formatNumber(number(values));
+        }
+
+        @Override
+        boolean isConstant() {
+            return operand.isConstant();
+        }
+
+        @Override
+        ArithmeticNode toArithmetic() {
+            ArithmeticNode arithmetic = operand.toArithmetic();
+            if (arithmetic == null) {
+                return null;
+            }
+            MethodHandle handle = ArithmeticNode.mathFunction(name);
+            return new ArithmeticNode.Unary(name, handle, function, arithmetic);
+        }
+    }
+
+    // ===== 비교/조건 =====
+
+    /**
+     * 비교 (=, <>, <, <=, >, >=)
+     * 한쪽이 숫자면 숫자 비교, 한쪽이 문자열이면 문자열 비교,
+     * 둘 다 컬럼 값이면 둘 다 숫자일 때만 숫자 비교
+     */
+    static final class Compare extends FormulaNode {
+        enum Op {
+            EQ, NE, LT, LE, GT, GE
+        }
+
+        private final Op op;
+        private final FormulaNode left;
+        private final FormulaNode right;
+
+        Compare(Op op, FormulaNode left, FormulaNode right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Type type() {
+            return Type.BOOLEAN;
+        }
+
+        @Override
+        boolean bool(String[] values) {
+            Type l = left.type();
+            Type r = right.type();
+            int result;
+            if (l == Type.TEXT || r == Type.TEXT) {
+                result = left.text(values).compareTo(right.text(values));
+            } else if (l == Type.DYNAMIC && r == Type.DYNAMIC) {
+                String a = left.text(values);
+                String b = right.text(values);
+                result = isNumeric(a) && isNumeric(b)
+                    ? Double.compare(CompiledFormula.parseNumber(a), CompiledFormula.parseNumber(b))
+                    : a.compareTo(b);
+            } else {
+                double a = left.number(values);
+                double b = right.number(values);
+                result = a < b ? -1 : (a > b ? 1 : 0);
+            }
+            switch (op) {
+                case EQ:
+                    return result == 0;
+                case NE:
+                    return result != 0;
+                case LT:
+                    return result < 0;
+                case LE:
+                    return result <= 0;
+                case GT:
+                    return result > 0;
+                default:
+                    return result >= 0;
+            }
+        }
+
+        @Override
+        double number(String[] values) {
+            return bool(values) ? 1d : 0d;
+        }
+
+        @Override
+        String text(String[] values) {
+            return booleanText(bool(values));
+        }
+
+        @Override
+        boolean isConstant() {
+            return left.isConstant() && right.isConstant();
+        }
+
+        private static boolean isNumeric(String value) {
+            return NumberCodec.isNumber(value);
+        }
+    }
+
+    /**
+     * IF(조건, 참, 거짓) - 선택된 쪽만 계산
+     */
+    static final class If extends FormulaNode {
+        private final FormulaNode condition;
+        private final FormulaNode whenTrue;
+        private final FormulaNode whenFalse;
+        private final Type type;
+
+        If(FormulaNode condition, FormulaNode whenTrue, FormulaNode whenFalse) {
+            this.condition = condition;
+            this.whenTrue = whenTrue;
+            this.whenFalse = whenFalse;
+            this.type = unify(whenTrue.type(), whenFalse.type());
+        }
+
+        /**
+         * 두 결과의 공통 타입 (컬럼 값은 다른 쪽 타입을 따름)
+         */
+        private static Type unify(Type a, Type b) {
+            if (a == b) {
+                return a;
+            }
+            if (a == Type.DYNAMIC) {
+                return b;
+            }
+            if (b == Type.DYNAMIC) {
+                return a;
+            }
+            return Type.DYNAMIC;
+        }
+
+        /**
+         * 조건이 상수면 선택된 쪽만 남김
+         */
+        FormulaNode simplify() {
+            if (!condition.isConstant()) {
+                return this;
+            }
+            try {
+                return condition.bool(new String[0]) ? whenTrue : whenFalse;
+            } catch (RuntimeException e) {
+                return this;
+            }
+        }
+
+        private FormulaNode branch(String[] values) {
+            return condition.bool(values) ? whenTrue : whenFalse;
+        }
+
+        @Override
+        Type type() {
+            return type;
+        }
+
+        @Override
+        double number(String[] values) {
+            return branch(values).number(values);
+        }
+
+        @Override
+        String text(String[] values) {
+            FormulaNode branch = branch(values);
+            return type == Type.NUMBER ? CompiledFormula.formatNumber(branch.number(values)) : branch.text(values);
+        }
+
+        @Override
+        boolean bool(String[] values) {
+            return branch(values).bool(values);
+        }
+
+        @Override
+        String render(String[] values) {
+            // 두 결과 타입이 다르면 선택된 쪽 그대로
+            return type == Type.DYNAMIC ? branch(values).render(values) : super.render(values);
+        }
+
+        @Override
+        boolean isConstant() {
+            return condition.isConstant() && whenTrue.isConstant() && whenFalse.isConstant();
+        }
+    }
+
+    // ===== 함수 =====
+
+    /**
+     * 내장 함수 (이름은 대소문자 구분 없음)
+     */
+    enum Function {
+        LEFT(Type.TEXT, 2, 2),
+        RIGHT(Type.TEXT, 2, 2),
+        MID(Type.TEXT, 3, 3),         // MID/SUBSTR(값, 시작(0부터), 길이)
+        LEN(Type.NUMBER, 1, 1),
+        UPPER(Type.TEXT, 1, 1),
+        LOWER(Type.TEXT, 1, 1),
+        TRIM(Type.TEXT, 1, 1),
+        CONCAT(Type.TEXT, 1, Integer.MAX_VALUE),
+        VALUE(Type.NUMBER, 1, 1),
+        ROUND(Type.NUMBER, 1, 2),     // ROUND(값, 자릿수=0), 사사오입
+        MIN(Type.NUMBER, 1, Integer.MAX_VALUE),
+        MAX(Type.NUMBER, 1, Integer.MAX_VALUE),
+        AND(Type.BOOLEAN, 1, Integer.MAX_VALUE),
+        OR(Type.BOOLEAN, 1, Integer.MAX_VALUE),
+        NOT(Type.BOOLEAN, 1, 1);
+
+        final Type type;
+        final int minArgs;
+        final int maxArgs;
+
+        Function(Type type, int minArgs, int maxArgs) {
+            this.type = type;
+            this.minArgs = minArgs;
+            this.maxArgs = maxArgs;
+        }
+
+        /**
+         * 이름으로 찾기 (SUBSTR은 MID와 같음)
+         * @return 없으면 null
+         */
+        static Function lookup(String name) {
+            String upper = name.toUpperCase();
+            if ("SUBSTR".equals(upper)) {
+                return MID;
+            }
+            for (Function function : values()) {
+                if (function.name().equals(upper)) {
+                    return function;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 내장 함수 호출 (AND/OR는 결과가 정해지면 나머지 인자를 계산하지 않음)
+     */
+    static final class Call extends FormulaNode {
+        private final Function function;
+        private final FormulaNode[] args;
+
+        Call(Function function, FormulaNode[] args) {
+            this.function = function;
+            this.args = args;
+        }
+
+        @Override
+        Type type() {
+            return function.type;
+        }
+
+        @Override
+        double number(String[] values) {
+            switch (function) {
+                case LEN:
+                    return args[0].text(values).length();
+                case VALUE:
+                    return args[0].number(values);
+                case ROUND:
+                    return round(args[0].number(values), args.length > 1 ? (int) args[1].number(values) : 0);
+                case MIN: {
+                    double min = args[0].number(values);
+                    for (int i = 1; i < args.length; i++) {
+                        min = Math.min(min, args[i].number(values));
+                    }
+                    return min;
+                }
+                case MAX: {
+                    double max = args[0].number(values);
+                    for (int i = 1; i < args.length; i++) {
+                        max = Math.max(max, args[i].number(values));
+                    }
+                    return max;
+                }
+                default:
+                    return function.type == Type.BOOLEAN
+                        ? (bool(values) ? 1d : 0d)
+                        : CompiledFormula.parseNumber(text(values));
+            }
+        }
+
+        @Override
+        String text(String[] values) {
+            switch (function) {
+                case LEFT: {
+                    String value = args[0].text(values);
+                    int length = Math.max(0, (int) args[1].number(values));
+                    return value.length() <= length ? value : value.substring(0, length);
+                }
+                case RIGHT: {
+                    String value = args[0].text(values);
+                    int length = Math.max(0, (int) args[1].number(values));
+                    return value.length() <= length ? value : value.substring(value.length() - length);
+                }
+                case MID: {
+                    String value = args[0].text(values);
+                    int start = Math.max(0, (int) args[1].number(values));
+                    int length = Math.max(0, (int) args[2].number(values));
+                    if (start >= value.length()) {
+                        return "";
+                    }
+                    return value.substring(start, (int) Math.min((long) start + length, value.length()));
+                }
+                case UPPER:
+                    return args[0].text(values).toUpperCase();
+                case LOWER:
+                    return args[0].text(values).toLowerCase();
+                case TRIM:
+                    return args[0].text(values).trim();
+                case CONCAT: {
+                    StringBuilder builder = new StringBuilder();
+                    for (FormulaNode arg : args) {
+                        builder.append(arg.text(values));
+                    }
+                    return builder.toString();
+                }
+                default:
+                    return function.type == Type.BOOLEAN
+                        ? booleanText(bool(values))
+                        : CompiledFormula.formatNumber(number(values));
+            }
+        }
+
+        @Override
+        boolean bool(String[] values) {
+            switch (function) {
+                case AND:
+                    for (FormulaNode arg : args) {
+                        if (!arg.bool(values)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                case OR:
+                    for (FormulaNode arg : args) {
+                        if (arg.bool(values)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case NOT:
+                    return !args[0].bool(values);
+                default:
+                    return super.bool(values);
+            }
+        }
+
+        @Override
+        boolean isConstant() {
+            for (FormulaNode arg : args) {
+                if (!arg.isConstant()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static double round(double value, int digits) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return value;
+            }
+            return BigDecimal.valueOf(value).setScale(digits, RoundingMode.HALF_UP).doubleValue();
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package org.example.service.formula;
+
+import java.util.*;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 수식 파서 (재귀 하강)
+ * ${컬럼명}을 변수로 직접 인식해 FormulaNode 트리 생성
+ * 우선순위 (낮은 것부터): 비교(= <> != < <= > >=) < 문자열 연결(&) < + - < * / % < 단항 +- < ^ (오른쪽 결합)
+ * 산술 부분의 우선순위/결합 방향은 exp4j와 동일
+ * 문자열은 "..." 또는 '...' (같은 따옴표 두 번으로 이스케이프), 논리 상수 TRUE/FALSE
+ * 함수: IF, FormulaNode.Function의 내장 함수(대소문자 무관), exp4j와 같은 Math 함수(소문자)
+ * 상수만으로 된 부분은 파싱하면서 바로 계산해 상수로 바꾸고, 조건이 상수인 IF는 선택된 쪽만 남김
+ * 지원하지 않는 문법(암시적 곱셈, 미지원 함수 등)은 IllegalArgumentException → 호출 측에서 exp4j로 처리
+ */
+final class FormulaParser {
+
+    // exp4j 내장 함수 중 java.lang.Math와 의미가 같은 것 (pow는 ^와 같은 연산)
+    private static final Map<String, DoubleUnaryOperator> UNARY_FUNCTIONS = new HashMap<>();
+    private static final String POW = "pow";
+
+    // exp4j 내장 상수
+    private static final Map<String, Double> CONSTANTS = new HashMap<>();
+
+    static {
+        CONSTANTS.put("pi", Math.PI);
+        CONSTANTS.put("π", Math.PI);
+        CONSTANTS.put("e", Math.E);
+        CONSTANTS.put("φ", 1.61803398874d);
+
+        UNARY_FUNCTIONS.put("abs", Math::abs);
+        UNARY_FUNCTIONS.put("acos", Math::acos);
+        UNARY_FUNCTIONS.put("asin", Math::asin);
+        UNARY_FUNCTIONS.put("atan", Math::atan);
+        UNARY_FUNCTIONS.put("cbrt", Math::cbrt);
+        UNARY_FUNCTIONS.put("ceil", Math::ceil);
+        UNARY_FUNCTIONS.put("cos", Math::cos);
+        UNARY_FUNCTIONS.put("cosh", Math::cosh);
+        UNARY_FUNCTIONS.put("exp", Math::exp);
+        UNARY_FUNCTIONS.put("expm1", Math::expm1);
+        UNARY_FUNCTIONS.put("floor", Math::floor);
+        UNARY_FUNCTIONS.put("log", Math::log);
+        UNARY_FUNCTIONS.put("log10", Math::log10);
+        UNARY_FUNCTIONS.put("log1p", Math::log1p);
+        UNARY_FUNCTIONS.put("signum", Math::signum);
+        UNARY_FUNCTIONS.put("sin", Math::sin);
+        UNARY_FUNCTIONS.put("sinh", Math::sinh);
+        UNARY_FUNCTIONS.put("sqrt", Math::sqrt);
+        UNARY_FUNCTIONS.put("tan", Math::tan);
+        UNARY_FUNCTIONS.put("tanh", Math::tanh);
+    }
+
+    private final String text;
+    private final List<String> columns;
+    private int pos = 0;
+
+    private FormulaParser(String text, List<String> columns) {
+        this.text = text;
+        this.columns = columns;
+    }
+
+    /**
+     * @param columns 변수 순서 (CompiledFormula.getColumns())
+     */
+    static FormulaNode parse(String formula, List<String> columns) {
+        FormulaParser parser = new FormulaParser(formula, columns);
+        FormulaNode node = parser.parseComparison();
+        parser.skipSpaces();
+        if (parser.pos < parser.text.length()) {
+            throw parser.error("예상하지 못한 문자");
+        }
+        return node;
+    }
+
+    /**
+     * 비교 (결합 없음: a < b < c 는 오류)
+     */
+    private FormulaNode parseComparison() {
+        FormulaNode left = parseConcat();
+        FormulaNode.Compare.Op op;
+        if (accept("<>") || accept("!=")) {
+            op = FormulaNode.Compare.Op.NE;
+        } else if (accept("<=")) {
+            op = FormulaNode.Compare.Op.LE;
+        } else if (accept(">=")) {
+            op = FormulaNode.Compare.Op.GE;
+        } else if (accept('<')) {
+            op = FormulaNode.Compare.Op.LT;
+        } else if (accept('>')) {
+            op = FormulaNode.Compare.Op.GT;
+        } else if (accept('=')) {
+            op = FormulaNode.Compare.Op.EQ;
+        } else {
+            return left;
+        }
+        return fold(new FormulaNode.Compare(op, left, parseConcat()));
+    }
+
+    private FormulaNode parseConcat() {
+        FormulaNode node = parseAdditive();
+        while (accept('&')) {
+            node = fold(new FormulaNode.Call(FormulaNode.Function.CONCAT, new FormulaNode[]{node, parseAdditive()}));
+        }
+        return node;
+    }
+
+    private FormulaNode parseAdditive() {
+        FormulaNode node = parseMultiplicative();
+        while (true) {
+            if (accept('+')) {
+                node = arithmetic(ArithmeticNode.Op.ADD, node, parseMultiplicative());
+            } else if (accept('-')) {
+                node = arithmetic(ArithmeticNode.Op.SUBTRACT, node, parseMultiplicative());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private FormulaNode parseMultiplicative() {
+        FormulaNode node = parseUnary();
+        while (true) {
+            if (accept('*')) {
+                node = arithmetic(ArithmeticNode.Op.MULTIPLY, node, parseUnary());
+            } else if (accept('/')) {
+                node = arithmetic(ArithmeticNode.Op.DIVIDE, node, parseUnary());
+            } else if (accept('%')) {
+                node = arithmetic(ArithmeticNode.Op.MODULO, node, parseUnary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * 단항 +- (거듭제곱보다 우선순위 낮음: -2^2 = -4)
+     */
+    private FormulaNode parseUnary() {
+        if (accept('-')) {
+            return fold(new FormulaNode.Negate(parseUnary()));
+        }
+        if (accept('+')) {
+            return parseUnary();
+        }
+        return parsePower();
+    }
+
+    /**
+     * 거듭제곱 (오른쪽 결합, 지수에 단항 부호 허용: 2^-1)
+     */
+    private FormulaNode parsePower() {
+        FormulaNode base = parsePrimary();
+        if (accept('^')) {
+            return arithmetic(ArithmeticNode.Op.POWER, base, parseUnary());
+        }
+        return base;
+    }
+
+    private FormulaNode parsePrimary() {
+        skipSpaces();
+        if (pos >= text.length()) {
+            throw error("수식이 끝났음");
+        }
+
+        char c = text.charAt(pos);
+        if (c == '(') {
+            pos++;
+            FormulaNode node = parseComparison();
+            expect(')');
+            return node;
+        }
+        if (c == '$' && pos + 1 < text.length() && text.charAt(pos + 1) == '{') {
+            int close = text.indexOf('}', pos + 2);
+            if (close < 0) {
+                throw error("닫히지 않은 변수");
+            }
+            int index = columns.indexOf(text.substring(pos + 2, close));
+            if (index < 0) {
+                throw error("알 수 없는 변수");
+            }
+            pos = close + 1;
+            return new FormulaNode.Variable(index);
+        }
+        if (c == '"' || c == '\'') {
+            return FormulaNode.Literal.of(parseString(c));
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return FormulaNode.Literal.of(parseNumber());
+        }
+        if (Character.isLetter(c)) {
+            return parseIdentifier();
+        }
+        throw error("예상하지 못한 문자");
+    }
+
+    /**
+     * 함수 호출 또는 상수
+     */
+    private FormulaNode parseIdentifier() {
+        int start = pos;
+        while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+            pos++;
+        }
+        String name = text.substring(start, pos);
+
+        Double constant = CONSTANTS.get(name);
+        if (constant != null) {
+            return FormulaNode.Literal.of(constant);
+        }
+        if ("TRUE".equalsIgnoreCase(name) || "FALSE".equalsIgnoreCase(name)) {
+            return FormulaNode.Literal.of("TRUE".equalsIgnoreCase(name));
+        }
+
+        DoubleUnaryOperator mathFunction = UNARY_FUNCTIONS.get(name);
+        FormulaNode.Function function = mathFunction == null ? FormulaNode.Function.lookup(name) : null;
+        boolean isIf = "IF".equalsIgnoreCase(name);
+        if (mathFunction == null && function == null && !isIf && !POW.equals(name)) {
+            throw error("지원하지 않는 함수: " + name);
+        }
+
+        List<FormulaNode> args = parseArguments();
+        if (mathFunction != null) {
+            checkArity(name, args, 1, 1);
+            return fold(new FormulaNode.MathCall(name, mathFunction, args.get(0)));
+        }
+        if (isIf) {
+            checkArity(name, args, 3, 3);
+            return new FormulaNode.If(args.get(0), args.get(1), args.get(2)).simplify();
+        }
+        if (function == null) {
+            checkArity(name, args, 2, 2);
+            return arithmetic(ArithmeticNode.Op.POWER, args.get(0), args.get(1));
+        }
+        checkArity(name, args, function.minArgs, function.maxArgs);
+        return fold(new FormulaNode.Call(function, args.toArray(new FormulaNode[0])));
+    }
+
+    /**
+     * ( 인자, ... )
+     */
+    private List<FormulaNode> parseArguments() {
+        expect('(');
+        List<FormulaNode> args = new ArrayList<>();
+        if (accept(')')) {
+            return args;
+        }
+        do {
+            args.add(parseComparison());
+        } while (accept(','));
+        expect(')');
+        return args;
+    }
+
+    private void checkArity(String name, List<FormulaNode> args, int min, int max) {
+        if (args.size() < min || args.size() > max) {
+            throw error("인자 개수 오류: " + name);
+        }
+    }
+
+    /**
+     * 문자열 상수 (같은 따옴표 두 번 → 따옴표 하나)
+     */
+    private String parseString(char quote) {
+        StringBuilder builder = new StringBuilder();
+        pos++;
+        while (true) {
+            if (pos >= text.length()) {
+                throw error("닫히지 않은 문자열");
+            }
+            char c = text.charAt(pos++);
+            if (c == quote) {
+                if (pos < text.length() && text.charAt(pos) == quote) {
+                    pos++;
+                } else {
+                    return builder.toString();
+                }
+            }
+            builder.append(c);
+        }
+    }
+
+    private FormulaNode arithmetic(ArithmeticNode.Op op, FormulaNode left, FormulaNode right) {
+        return fold(new FormulaNode.Arithmetic(op, left, right));
+    }
+
+    /**
+     * 상수 접기 (변수가 없는 부분은 컴파일 시 계산, 계산 오류면 그대로 두어 행마다 오류 처리)
+     */
+    private static FormulaNode fold(FormulaNode node) {
+        if (!node.isConstant()) {
+            return node;
+        }
+        FormulaNode.Literal literal = FormulaNode.Literal.fold(node);
+        return literal != null ? literal : node;
+    }
+
+    /**
+     * 숫자 (소수점, 지수 표기 포함)
+     */
+    private double parseNumber() {
+        int start = pos;
+        while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            int exponent = pos + 1;
+            if (exponent < text.length() && (text.charAt(exponent) == '+' || text.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < text.length() && Character.isDigit(text.charAt(exponent))) {
+                pos = exponent;
+                while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                    pos++;
+                }
+            }
+        }
+        try {
+            return Double.parseDouble(text.substring(start, pos));
+        } catch (NumberFormatException e) {
+            throw error("잘못된 숫자");
+        }
+    }
+
+    private boolean accept(String token) {
+        skipSpaces();
+        if (text.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean accept(char c) {
+        skipSpaces();
+        if (pos < text.length() && text.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw error("'" + c + "' 필요");
+        }
+    }
+
+    private void skipSpaces() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " (위치 " + pos + "): " + text);
+    }
+}
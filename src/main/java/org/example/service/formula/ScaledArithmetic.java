@@ -0,0 +1,200 @@
+package org.example.service.formula;
+
+import java.math.BigDecimal;
+
+/**
+ * 고정 소수점(scaled long) 산술식
+ * 값 = 정수 / 10^scale 로 표현해 +, -, *를 정수 연산으로 정확히 계산 (금액 합계용)
+ * 노드마다 결과 자릿수가 컴파일 시점에 정해짐 (덧셈/뺄셈: 큰 쪽, 곱셈: 두 자릿수의 합)
+ * → 행마다 자릿수 계산 없이 long 연산만 수행
+ * 나눗셈, 나머지, 거듭제곱, 함수가 있으면 from()이 null (double 계산 사용)
+ * 오버플로는 ArithmeticException (호출 측에서 double 계산으로 대체)
+ */
+abstract class ScaledArithmetic {
+
+    static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS[0] = 1L;
+        for (int i = 1; i < POWERS.length; i++) {
+            POWERS[i] = POWERS[i - 1] * 10L;
+        }
+    }
+
+    final int scale;    // 결과 소수 자릿수
+
+    ScaledArithmetic(int scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * @param values 변수별 값 (Variable.index 순서, 입력 자릿수로 스케일된 정수)
+     * @return scale 자릿수로 스케일된 결과
+     * @throws ArithmeticException 오버플로
+     */
+    abstract long evaluate(long[] values);
+
+    /**
+     * 산술식 트리 → 고정 소수점 식
+     * @param inputScale 변수 값의 자릿수
+     * @return 지원하지 않는 연산이 있거나 자릿수가 MAX_SCALE을 넘으면 null
+     */
+    static ScaledArithmetic from(ArithmeticNode node, int inputScale) {
+        if (node instanceof ArithmeticNode.Constant) {
+            return constant(((ArithmeticNode.Constant) node).value);
+        }
+        if (node instanceof ArithmeticNode.Variable) {
+            return new Variable(((ArithmeticNode.Variable) node).index, inputScale);
+        }
+        if (node instanceof ArithmeticNode.Unary) {
+            ArithmeticNode.Unary unary = (ArithmeticNode.Unary) node;
+            if (unary.function != null) {
+                return null;    // abs, sqrt ... (부호 반전만 지원)
+            }
+            ScaledArithmetic operand = from(unary.operand, inputScale);
+            return operand != null ? new Negate(operand) : null;
+        }
+        ArithmeticNode.Binary binary = (ArithmeticNode.Binary) node;
+        ScaledArithmetic left = from(binary.left, inputScale);
+        ScaledArithmetic right = left != null ? from(binary.right, inputScale) : null;
+        if (right == null) {
+            return null;
+        }
+        switch (binary.op) {
+            case ADD:
+                return new Sum(left, right, false);
+            case SUBTRACT:
+                return new Sum(left, right, true);
+            case MULTIPLY:
+                return left.scale + right.scale <= MAX_SCALE ? new Product(left, right) : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 자릿수 변경 (줄일 때는 HALF_UP 반올림)
+     * @throws ArithmeticException 오버플로
+     */
+    static long rescale(long value, int from, int to) {
+        if (from == to) {
+            return value;
+        }
+        if (from < to) {
+            return Math.multiplyExact(value, POWERS[to - from]);
+        }
+        long divisor = POWERS[from - to];
+        long quotient = value / divisor;
+        long remainder = Math.abs(value % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += value < 0 ? -1 : 1;     // 0에서 먼 쪽으로
+        }
+        return quotient;
+    }
+
+    private static ScaledArithmetic constant(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return null;
+        }
+        // 수식에 적힌 그대로의 자릿수 (1.1 → 11 / 10^1)
+        BigDecimal decimal = new BigDecimal(Double.toString(value)).stripTrailingZeros();
+        if (decimal.scale() < 0) {
+            decimal = decimal.setScale(0);
+        }
+        if (decimal.scale() > MAX_SCALE) {
+            return null;
+        }
+        try {
+            return new Constant(decimal.unscaledValue().longValueExact(), decimal.scale());
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static final class Constant extends ScaledArithmetic {
+        private final long value;
+
+        Constant(long value, int scale) {
+            super(scale);
+            this.value = value;
+        }
+
+        @Override
+        long evaluate(long[] values) {
+            return value;
+        }
+    }
+
+    private static final class Variable extends ScaledArithmetic {
+        private final int index;
+
+        Variable(int index, int scale) {
+            super(scale);
+            this.index = index;
+        }
+
+        @Override
+        long evaluate(long[] values) {
+            return values[index];
+        }
+    }
+
+    private static final class Negate extends ScaledArithmetic {
+        private final ScaledArithmetic operand;
+
+        Negate(ScaledArithmetic operand) {
+            super(operand.scale);
+            this.operand = operand;
+        }
+
+        @Override
+        long evaluate(long[] values) {
+            return Math.negateExact(operand.evaluate(values));
+        }
+    }
+
+    /**
+     * 덧셈/뺄셈 (자릿수가 작은 쪽을 맞춘 뒤 계산)
+     */
+    private static final class Sum extends ScaledArithmetic {
+        private final ScaledArithmetic left;
+        private final ScaledArithmetic right;
+        private final long leftFactor;
+        private final long rightFactor;
+        private final boolean subtract;
+
+        Sum(ScaledArithmetic left, ScaledArithmetic right, boolean subtract) {
+            super(Math.max(left.scale, right.scale));
+            this.left = left;
+            this.right = right;
+            this.leftFactor = POWERS[scale - left.scale];
+            this.rightFactor = POWERS[scale - right.scale];
+            this.subtract = subtract;
+        }
+
+        @Override
+        long evaluate(long[] values) {
+            long a = Math.multiplyExact(left.evaluate(values), leftFactor);
+            long b = Math.multiplyExact(right.evaluate(values), rightFactor);
+            return subtract ? Math.subtractExact(a, b) : Math.addExact(a, b);
+        }
+    }
+
+    private static final class Product extends ScaledArithmetic {
+        private final ScaledArithmetic left;
+        private final ScaledArithmetic right;
+
+        Product(ScaledArithmetic left, ScaledArithmetic right) {
+            super(left.scale + right.scale);
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        long evaluate(long[] values) {
+            return Math.multiplyExact(left.evaluate(values), right.evaluate(values));
+        }
+    }
+}
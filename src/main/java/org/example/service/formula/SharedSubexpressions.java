@@ -0,0 +1,130 @@
+package org.example.service.formula;
+
+import java.util.*;
+
+/**
+ * 여러 계산식(또는 한 수식 안)에서 반복되는 산술 부분식
+ * 예: 두 계산 컬럼이 모두 ${상품 매출원가} + ${제품 매출원가}를 쓰면 배치당 한 번만 계산하고 결과 열을 재사용
+ * 같은 부분식 판단은 구조 키 기준 (변수는 이름이 아니라 값 위치로 비교, 덧셈/곱셈은 순서 무시)
+ * 변환 스레드 하나에서만 사용 (배치마다 reset)
+ */
+public final class SharedSubexpressions {
+
+    private final Scope[] scopes;       // 수식별 노드 → 슬롯
+    private final int slotCount;
+    private double[][] values;          // 슬롯별 결과 열
+    private boolean[][] failures;       // 슬롯별 오류 행
+    private final boolean[] ready;      // 현재 배치에서 계산됨
+
+    private SharedSubexpressions(Scope[] scopes, int slotCount) {
+        this.scopes = scopes;
+        this.slotCount = slotCount;
+        this.values = new double[slotCount][0];
+        this.failures = new boolean[slotCount][0];
+        this.ready = new boolean[slotCount];
+    }
+
+    /**
+     * @param formulas 계산식 (배치 계산 불가 수식과 null은 제외)
+     * @param sources 수식별 변수 값 위치 (getColumns() 순서, 같은 위치 = 같은 값)
+     */
+    public static SharedSubexpressions build(CompiledFormula[] formulas, int[][] sources) {
+        List<Map<ArithmeticNode, String>> formulaKeys = new ArrayList<>(formulas.length);
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i < formulas.length; i++) {
+            Map<ArithmeticNode, String> keys = new IdentityHashMap<>();
+            if (formulas[i] != null && formulas[i].isBatchable()) {
+                formulas[i].arithmetic().collectKeys(sources[i], keys);
+                for (String key : keys.values()) {
+                    occurrences.merge(key, 1, Integer::sum);
+                }
+            }
+            formulaKeys.add(keys);
+        }
+
+        // 두 번 이상 나오는 부분식만 슬롯 배정
+        Map<String, Integer> slots = new HashMap<>();
+        Scope[] scopes = new Scope[formulas.length];
+        for (int i = 0; i < formulas.length; i++) {
+            Map<ArithmeticNode, Integer> nodeSlots = new IdentityHashMap<>();
+            for (Map.Entry<ArithmeticNode, String> entry : formulaKeys.get(i).entrySet()) {
+                if (occurrences.get(entry.getValue()) > 1) {
+                    nodeSlots.put(entry.getKey(), slots.computeIfAbsent(entry.getValue(), k -> slots.size()));
+                }
+            }
+            scopes[i] = nodeSlots.isEmpty() ? null : new Scope(nodeSlots);
+        }
+        SharedSubexpressions shared = new SharedSubexpressions(scopes, slots.size());
+        for (Scope scope : scopes) {
+            if (scope != null) {
+                scope.owner = shared;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * 공유할 부분식이 없음
+     */
+    public boolean isEmpty() {
+        return slotCount == 0;
+    }
+
+    /**
+     * 새 배치 시작 (이전 배치 결과 무효화)
+     */
+    public void reset(int count) {
+        Arrays.fill(ready, false);
+        for (int s = 0; s < slotCount; s++) {
+            if (values[s].length < count) {
+                values[s] = new double[count];
+                failures[s] = new boolean[count];
+            }
+        }
+    }
+
+    /**
+     * 수식별 범위 (공유 부분식이 없는 수식이면 null)
+     */
+    Scope scope(int formulaIndex) {
+        return scopes[formulaIndex];
+    }
+
+    /**
+     * 한 수식의 노드 → 공유 슬롯
+     */
+    static final class Scope {
+        private final Map<ArithmeticNode, Integer> slots;
+        private SharedSubexpressions owner;
+
+        private Scope(Map<ArithmeticNode, Integer> slots) {
+            this.slots = slots;
+        }
+
+        /**
+         * 공유 슬롯 (공유하지 않는 노드면 -1)
+         */
+        int slot(ArithmeticNode node) {
+            Integer slot = slots.get(node);
+            return slot != null ? slot : -1;
+        }
+
+        /**
+         * 공유 부분식 계산 (배치에서 처음이면 계산해 저장, 아니면 저장된 열 복사)
+         * failed에는 이 부분식의 오류 행을 OR
+         */
+        void evaluate(int slot, ArithmeticNode node, double[][] columns, int count, double[] out, boolean[] failed) {
+            double[] value = owner.values[slot];
+            boolean[] failure = owner.failures[slot];
+            if (!owner.ready[slot]) {
+                Arrays.fill(failure, 0, count, false);
+                node.compute(columns, count, value, failure, this);
+                owner.ready[slot] = true;
+            }
+            System.arraycopy(value, 0, out, 0, count);
+            for (int i = 0; i < count; i++) {
+                failed[i] |= failure[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 변환 단계 배치 하나 (중복 체크 + 계산)
+ */
+@Name("org.example.BatchTransform")
+@Label("Batch Transform")
+@Category({"Excel Converter", "Transform"})
+@Description("Dedup and calculation of one pipeline batch")
+public final class BatchTransformEvent extends Event {
+
+    @Label("Pipeline")
+    public String pipeline;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Output Rows")
+    public int outputRows;
+
+    @Label("Replayed Rows")
+    @Description("Rows replayed from a checkpoint (key state only)")
+    public int replayedRows;
+}
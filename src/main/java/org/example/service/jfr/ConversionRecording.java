@@ -0,0 +1,70 @@
+package org.example.service.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 앱에서 시작/중지하는 Flight Recorder 기록 (한 번에 하나)
+ * JDK profile 설정 + 변환 이벤트, 중지하면 ~/.ExcelConverter/recordings/에 .jfr로 저장
+ */
+public final class ConversionRecording {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static Recording current;
+
+    private ConversionRecording() {
+    }
+
+    public static synchronized boolean isRunning() {
+        return current != null;
+    }
+
+    /**
+     * 기록 시작 (이미 기록 중이면 무시)
+     */
+    public static synchronized void start() throws IOException, ParseException {
+        if (current != null) {
+            return;
+        }
+        Recording recording = new Recording(Configuration.getConfiguration("profile"));
+        recording.setName("ExcelConverter");
+        recording.setToDisk(true);
+        recording.start();
+        current = recording;
+    }
+
+    /**
+     * 기록 중지 후 파일로 저장
+     * @return 저장한 .jfr 파일 (기록 중이 아니면 null)
+     */
+    public static synchronized Path stop() throws IOException {
+        if (current == null) {
+            return null;
+        }
+        Recording recording = current;
+        current = null;
+        try {
+            recording.stop();
+            Path dir = recordingsDir();
+            Files.createDirectories(dir);
+            Path file = dir.resolve("conversion-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+            recording.dump(file);
+            return file;
+        } finally {
+            recording.close();
+        }
+    }
+
+    public static Path recordingsDir() {
+        return Paths.get(System.getProperty("user.home"), ".ExcelConverter", "recordings");
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * spill 중복 제거 단계 (start: 메모리 한도 도달, partition: 파티션 중복 제거, split: 재분할, merge: 순번 병합)
+ */
+@Name("org.example.DedupSpill")
+@Label("Dedup Spill")
+@Category({"Excel Converter", "Dedup"})
+@Description("Disk-spilling dedup phase: start, partition, split or merge")
+public final class DedupSpillEvent extends Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Duplicate Rows")
+    public long duplicateRows;
+
+    @Label("Hash Bits")
+    @Description("Hash bits already used to partition (partition and split phases)")
+    public int hashBits;
+
+    @Label("Key Memory")
+    @DataAmount
+    public long memoryBytes;
+}
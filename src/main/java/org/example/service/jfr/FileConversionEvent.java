@@ -0,0 +1,50 @@
+package org.example.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 파일 하나 변환 (병합 모드는 병합 출력 하나)
+ */
+@Name("org.example.FileConversion")
+@Label("File Conversion")
+@Category({"Excel Converter", "Conversion"})
+@Description("Conversion of one input file (or one merged output)")
+public final class FileConversionEvent extends Event {
+
+    @Label("Input File")
+    public String inputFile;
+
+    @Label("Output File")
+    public String outputFile;
+
+    @Label("Profile")
+    public String profile;
+
+    @Label("Merged")
+    public boolean merged;
+
+    @Label("Status")
+    public String status;
+
+    @Label("Input Rows")
+    public long inputRows;
+
+    @Label("Output Rows")
+    public long outputRows;
+
+    @Label("Duplicate Rows")
+    public long duplicateRows;
+
+    @Label("Input Size")
+    @DataAmount
+    public long inputBytes;
+
+    @Label("Output Size")
+    @DataAmount
+    public long outputBytes;
+}
@@ -0,0 +1,24 @@
+package org.example.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 계산식 컴파일 (수식마다 한 번)
+ */
+@Name("org.example.FormulaCompile")
+@Label("Formula Compile")
+@Category({"Excel Converter", "Transform"})
+public final class FormulaCompileEvent extends Event {
+
+    @Label("Formula")
+    public String formula;
+
+    @Label("Columns")
+    public int columns;
+
+    @Label("Batchable")
+    public boolean batchable;
+}
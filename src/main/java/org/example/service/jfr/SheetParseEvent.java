@@ -0,0 +1,32 @@
+package org.example.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 시트(CSV는 파일 전체) 하나 파싱 (리더 스레드 기준, 다음 단계 대기 시간 포함)
+ */
+@Name("org.example.SheetParse")
+@Label("Sheet Parse")
+@Category({"Excel Converter", "Read"})
+@Description("Parsing of one xlsx sheet or one csv file, including time blocked on later stages")
+public final class SheetParseEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Reader Threads")
+    public int threads;
+}
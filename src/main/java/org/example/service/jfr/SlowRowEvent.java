@@ -0,0 +1,34 @@
+package org.example.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * 느린 행 (샘플링한 행 중 임계값을 넘은 것만, 값은 기록하지 않음)
+ */
+@Name("org.example.SlowRow")
+@Label("Slow Row")
+@Category({"Excel Converter", "Transform"})
+@Description("Sampled row whose transform exceeded the threshold; cell values are not recorded")
+@Threshold("1 ms")
+public final class SlowRowEvent extends Event {
+
+    /**
+     * 이 수만큼 행마다 한 번 측정 (2의 거듭제곱)
+     */
+    public static final int SAMPLE_INTERVAL = 64;
+
+    @Label("Pipeline")
+    public String pipeline;
+
+    @Label("Row")
+    @Description("Row number in read order (0 when rows come from parallel readers)")
+    public long row;
+
+    @Label("Duplicate")
+    public boolean duplicate;
+}
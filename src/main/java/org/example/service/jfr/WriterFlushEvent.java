@@ -0,0 +1,29 @@
+package org.example.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 출력 파일 반영 (CSV 체크포인트 commit, 라이터 close / XLSX 통합문서 쓰기)
+ */
+@Name("org.example.WriterFlush")
+@Label("Writer Flush")
+@Category({"Excel Converter", "Write"})
+@Description("Output flushed to disk: csv checkpoint commit or writer close (xlsx workbook write)")
+public final class WriterFlushEvent extends Event {
+
+    @Label("Format")
+    public String format;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Bytes Written")
+    @Description("Total bytes written to the output file so far")
+    @DataAmount
+    public long bytesWritten;
+}
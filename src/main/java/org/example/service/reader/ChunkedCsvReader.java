@@ -0,0 +1,297 @@
+package org.example.service.reader;
+
+import org.example.model.Profile;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 대용량 CSV 병렬 읽기
+ * 파일을 바이트 구간(청크)으로 나눠 포크-조인 풀에서 토큰화와 행 정리(빈 행, trim, 프로젝션)를 하고
+ * 결과는 원래 순서대로 핸들러에 전달
+ *
+ * 청크 경계는 줄바꿈 바로 뒤로 잡는데, 그 줄바꿈이 따옴표 안일 수도 있음.
+ * 앞 청크가 따옴표가 열린 채(pending)로 끝나면 경계가 틀린 것이므로 다음 청크와 한 번 합쳐 다시 파싱
+ * 합쳐도 안 끝나면(짝이 안 맞는 따옴표 등) 그 위치부터 파일 끝까지 현재 스레드에서 순차 읽기
+ * → 청크마다 순차 읽기와 같은 토크나이저를 쓰므로 결과도 순차 읽기와 동일
+ * 줄바꿈(0x0A)이 멀티바이트 문자 안에 나오지 않는 인코딩(UTF-8, EUC-KR)에서만 사용
+ */
+class ChunkedCsvReader {
+
+    static final long CHUNK_SIZE = 4L * 1024 * 1024;
+
+    private final File file;
+    private final Charset charset;
+    private final Profile profile;
+    private final int threads;
+    private final long chunkSize;
+
+    ChunkedCsvReader(File file, Charset charset, Profile profile, int threads) {
+        this(file, charset, profile, threads, CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize 청크 크기 (테스트에서 청크 경계를 따옴표 필드에 걸 때)
+     */
+    ChunkedCsvReader(File file, Charset charset, Profile profile, int threads, long chunkSize) {
+        this.file = file;
+        this.charset = charset;
+        this.profile = profile;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    long read(RowHandler handler) throws Exception {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long dataStart = hasUtf8Bom(channel) ? 3 : 0;
+
+            // 헤더 (여러 줄일 수 있으므로 깨끗하게 끝날 때까지 한 줄씩 확장)
+            long headerEnd = dataStart;
+            ChunkResult headerChunk;
+            do {
+                headerEnd = nextLineStart(channel, headerEnd, fileSize);
+                headerChunk = parseChunk(channel, dataStart, headerEnd, null);
+            } while (!headerChunk.clean && headerEnd < fileSize);
+
+            if (headerChunk.error != null) {
+                throw headerChunk.error;
+            }
+            if (headerChunk.rows.isEmpty()) {
+                return 0;
+            }
+
+            List<String> headerList = Arrays.asList(headerChunk.rows.get(0));
+            handler.onHeader(headerList);
+
+            RowBuffer rowBuffer = new RowBuffer(headerList);
+            boolean[] projected = rowBuffer.projectionMask(handler.getProjectedColumns());
+
+            long[] bounds = computeBoundaries(channel, headerEnd, fileSize);
+            int chunkCount = bounds.length - 1;
+            int window = threads + 2;  // 동시에 메모리에 올라가는 청크 수 제한
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            Map<Integer, CompletableFuture<ChunkResult>> inFlight = new HashMap<>();
+            try {
+                long processedRowCount = 0;
+                int nextSubmit = 0;
+                int chunk = 0;
+
+                while (chunk < chunkCount) {
+                    while (nextSubmit < chunkCount && nextSubmit < chunk + window) {
+                        long start = bounds[nextSubmit];
+                        long end = bounds[nextSubmit + 1];
+                        inFlight.put(nextSubmit, CompletableFuture.supplyAsync(
+                            () -> parseChunk(channel, start, end, projected), pool));
+                        nextSubmit++;
+                    }
+
+                    ChunkResult result = join(inFlight.remove(chunk));
+                    int endChunk = chunk + 1;
+
+                    // 경계가 따옴표 안이었음 → 다음 청크와 한 번만 합쳐 현재 스레드에서 다시 파싱
+                    if (!result.clean && endChunk < chunkCount) {
+                        CompletableFuture<ChunkResult> discarded = inFlight.remove(endChunk);
+                        if (discarded != null) {
+                            discarded.cancel(false);
+                        }
+                        endChunk++;
+                        result = parseChunk(channel, bounds[chunk], bounds[endChunk], projected);
+                    }
+                    // 그래도 안 끝남 → 이후 경계를 믿을 수 없으므로 계속 합치지 않고 여기서부터 순차 읽기
+                    if (!result.clean && endChunk < chunkCount) {
+                        inFlight.values().forEach(future -> future.cancel(false));
+                        inFlight.clear();
+                        return readSequential(channel, bounds[chunk], fileSize, projected, rowBuffer, handler,
+                            processedRowCount);
+                    }
+                    if (result.error != null) {
+                        throw result.error;
+                    }
+                    nextSubmit = Math.max(nextSubmit, endChunk);
+
+                    for (String[] row : result.rows) {
+                        rowBuffer.load(row, null);
+                        handler.onRow(rowBuffer);
+                        processedRowCount++;
+
+                        if (processedRowCount % 10000 == 0) {
+                            handler.onProgress(processedRowCount);
+                        }
+                    }
+
+                    chunk = endChunk;
+                    handler.onInputPosition(bounds[chunk], fileSize);
+                }
+
+                return processedRowCount;
+            } finally {
+                inFlight.values().forEach(future -> future.cancel(false));
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * start부터 파일 끝까지 현재 스레드에서 순차 읽기 (CsvReader 순차 읽기와 같은 행 정리)
+     * @param rowCount 앞 청크에서 이미 전달한 행 수
+     * @return 전체 전달 행 수
+     */
+    private long readSequential(FileChannel channel, long start, long fileSize, boolean[] projected,
+                                RowBuffer rowBuffer, RowHandler handler, long rowCount) throws Exception {
+        boolean skipEmptyRows = profile.getOptions().isSkipEmptyRows();
+        boolean trimWhitespace = profile.getOptions().isTrimWhitespace();
+
+        try (CsvRecords records = CsvReader.openRecords(channel, start, fileSize, charset, profile)) {
+            while (records.next()) {
+                if (skipEmptyRows && records.isBlank()) {
+                    continue;
+                }
+
+                rowBuffer.clear();
+                int width = Math.min(rowBuffer.width(), records.fieldCount());
+                for (int i = 0; i < width; i++) {
+                    if (!projected[i]) {
+                        continue;
+                    }
+                    String value = records.field(i);
+                    if (trimWhitespace && value != null) {
+                        value = value.trim();
+                    }
+                    rowBuffer.set(i, value);
+                }
+
+                handler.onRow(rowBuffer);
+                rowCount++;
+
+                if (rowCount % 10000 == 0) {
+                    handler.onProgress(rowCount);
+                    handler.onInputPosition(records.position(), fileSize);
+                }
+            }
+        }
+        handler.onInputPosition(fileSize, fileSize);
+        return rowCount;
+    }
+
+    /**
+     * 구간 하나를 파싱하고 행 정리
+     * @param projected 프로젝션 (null이면 원본 그대로 - 헤더용)
+     */
+    private ChunkResult parseChunk(FileChannel channel, long start, long end, boolean[] projected) {
+        boolean skipEmptyRows = profile.getOptions().isSkipEmptyRows();
+        boolean trimWhitespace = profile.getOptions().isTrimWhitespace();
+        List<String[]> rows = new ArrayList<>();
+
+        try (CsvRecords records = CsvReader.openRecords(channel, start, end, charset, profile)) {
+            while (records.next()) {
+                if (projected == null) {
+                    rows.add(records.toArray());
+                    continue;
+                }
+
+                if (skipEmptyRows && records.isBlank()) {
+                    continue;
+                }
+
+                String[] values = new String[projected.length];
+                int width = Math.min(projected.length, records.fieldCount());
+                for (int i = 0; i < width; i++) {
+                    if (!projected[i]) {
+                        continue;
+                    }
+                    String value = records.field(i);
+                    if (trimWhitespace && value != null) {
+                        value = value.trim();
+                    }
+                    values[i] = value;
+                }
+                rows.add(values);
+            }
+            return new ChunkResult(rows, !records.isPending(), null);
+        } catch (Exception e) {
+            // 구간 끝의 따옴표 미종료도 여기로 옴 → 호출 측에서 구간 확장 후 재시도
+            return new ChunkResult(rows, false, e);
+        }
+    }
+
+    /**
+     * 청크 경계 계산 (chunkSize 간격 위치 이후 첫 줄바꿈 다음)
+     */
+    private long[] computeBoundaries(FileChannel channel, long dataStart, long fileSize) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(dataStart);
+        long position = dataStart + chunkSize;
+        while (position < fileSize) {
+            long boundary = nextLineStart(channel, position, fileSize);
+            if (boundary > bounds.get(bounds.size() - 1) && boundary < fileSize) {
+                bounds.add(boundary);
+            }
+            position = Math.max(boundary, position) + chunkSize;
+        }
+        bounds.add(fileSize);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * position 이후 첫 '\n' 다음 위치 (없으면 파일 끝)
+     */
+    private static long nextLineStart(FileChannel channel, long position, long fileSize) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long pos = position;
+        while (pos < fileSize) {
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return fileSize;
+    }
+
+    private static boolean hasUtf8Bom(FileChannel channel) throws IOException {
+        ByteBuffer bom = ByteBuffer.allocate(3);
+        int read = channel.read(bom, 0);
+        return read == 3 && bom.get(0) == (byte) 0xEF && bom.get(1) == (byte) 0xBB && bom.get(2) == (byte) 0xBF;
+    }
+
+    private static ChunkResult join(CompletableFuture<ChunkResult> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 청크 파싱 결과
+     */
+    private static class ChunkResult {
+        final List<String[]> rows;
+        final boolean clean;     // 레코드 경계에서 끝났는지
+        final Exception error;
+
+        ChunkResult(List<String[]> rows, boolean clean, Exception error) {
+            this.rows = rows;
+            this.clean = clean;
+            this.error = error;
+        }
+    }
+}
@@ -2,43 +2,67 @@ package org.example.service.reader;
 
 import com.opencsv.CSVParser;
 import com.opencsv.CSVParserBuilder;
-import com.opencsv.CSVReaderBuilder;
 import org.example.model.Profile;
+import org.example.service.jfr.SheetParseEvent;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
-import java.util.function.Consumer;
 
 /**
  * CSV 파일 리더
  */
 public class CsvReader implements DataReader {
 
+    // 이 크기 이상이면 청크 병렬 읽기 (작은 파일은 스레드 비용이 더 큼)
+    static final long PARALLEL_THRESHOLD = 32L * 1024 * 1024;
+
     @Override
-    public long read(File file,
-                     Profile profile,
-                     Consumer<List<String>> headerCallback,
-                     Consumer<Map<String, String>> rowCallback,
-                     Consumer<Long> progressCallback) throws Exception {
+    public long read(File file, Profile profile, RowHandler handler) throws Exception {
 
         // 인코딩 감지 (BOM 체크)
         String encoding = detectEncoding(file);
 
-        char delimiter = profile.getOptions().getDelimiter().charAt(0);
-        CSVParser parser = new CSVParserBuilder()
-            .withSeparator(delimiter)
-            .build();
+        // 대용량 파일은 바이트 구간 단위 병렬 읽기 (UTF-16은 줄바꿈 바이트로 나눌 수 없으므로 제외)
+        int threads = resolveReaderThreads(profile, handler);
+        boolean chunked = threads > 1 && file.length() >= PARALLEL_THRESHOLD && !encoding.startsWith("UTF-16");
+
+        // Flight Recorder 기록 중이면 파일 파싱 이벤트
+        SheetParseEvent event = new SheetParseEvent();
+        event.begin();
+        long processedRowCount = 0;
+        try {
+            processedRowCount = chunked
+                ? new ChunkedCsvReader(file, Charset.forName(encoding), profile, threads).read(handler)
+                : readSequential(file, encoding, profile, handler);
+            return processedRowCount;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = file.getName();
+                event.sheet = file.getName();
+                event.format = "csv";
+                event.rows = processedRowCount;
+                event.threads = chunked ? threads : 1;
+                event.commit();
+            }
+        }
+    }
 
-        try (Reader reader = new InputStreamReader(new FileInputStream(file), encoding);
-             com.opencsv.CSVReader csvReader = new CSVReaderBuilder(reader)
-                 .withCSVParser(parser)
-                 .build()) {
+    /**
+     * 현재 스레드에서 처음부터 순서대로 읽기
+     */
+    private long readSequential(File file, String encoding, Profile profile, RowHandler handler) throws Exception {
+        Charset charset = Charset.forName(encoding);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             CsvRecords records = openRecords(channel, dataStart(encoding), channel.size(), charset, profile)) {
 
-            String[] header = csvReader.readNext();
-            if (header == null) {
+            if (!records.next()) {
                 return 0;
             }
+            String[] header = records.toArray();
 
             // BOM 제거
             if (header.length > 0 && header[0].startsWith("\uFEFF")) {
@@ -46,44 +70,106 @@ public class CsvReader implements DataReader {
             }
 
             List<String> headerList = Arrays.asList(header);
-            headerCallback.accept(headerList);
+            handler.onHeader(headerList);
+
+            // 헤더 → 슬롯 매핑은 여기서 한 번만
+            RowBuffer rowBuffer = new RowBuffer(headerList);
+            boolean[] projected = rowBuffer.projectionMask(handler.getProjectedColumns());
+            boolean skipEmptyRows = profile.getOptions().isSkipEmptyRows();
+            boolean trimWhitespace = profile.getOptions().isTrimWhitespace();
 
             long processedRowCount = 0;
-            String[] row;
+            long fileSize = channel.size();
 
-            while ((row = csvReader.readNext()) != null) {
+            while (records.next()) {
                 // 빈 행 건너뛰기
-                if (profile.getOptions().isSkipEmptyRows()) {
-                    boolean allEmpty = Arrays.stream(row)
-                        .allMatch(s -> s == null || s.trim().isEmpty());
-                    if (allEmpty) continue;
+                if (skipEmptyRows && records.isBlank()) {
+                    continue;
                 }
 
-                // 행 데이터를 Map으로 변환
-                Map<String, String> rowMap = new HashMap<>();
-                for (int i = 0; i < headerList.size(); i++) {
-                    String colName = headerList.get(i).trim();
-                    String value = i < row.length ? row[i] : "";
+                rowBuffer.clear();
+                int width = Math.min(rowBuffer.width(), records.fieldCount());
+                for (int i = 0; i < width; i++) {
+                    if (!projected[i]) {
+                        continue;  // 프로젝션 밖 필드는 디코딩하지 않음
+                    }
+                    String value = records.field(i);
 
-                    if (profile.getOptions().isTrimWhitespace() && value != null) {
+                    if (trimWhitespace && value != null) {
                         value = value.trim();
                     }
 
-                    rowMap.put(colName, value);
+                    rowBuffer.set(i, value);
                 }
 
-                rowCallback.accept(rowMap);
+                handler.onRow(rowBuffer);
                 processedRowCount++;
 
-                if (progressCallback != null && processedRowCount % 10000 == 0) {
-                    progressCallback.accept(processedRowCount);
+                if (processedRowCount % 10000 == 0) {
+                    handler.onProgress(processedRowCount);
+                    handler.onInputPosition(records.position(), fileSize);
                 }
             }
 
+            handler.onInputPosition(fileSize, fileSize);
             return processedRowCount;
         }
     }
 
+    /**
+     * 파일 구간 레코드 순회 생성
+     * 기본은 바이트 단위 네이티브 토크나이저, UTF-16/ASCII가 아닌 구분자/csvParser=opencsv면 opencsv
+     */
+    static CsvRecords openRecords(FileChannel channel, long start, long end, Charset charset, Profile profile) {
+        char delimiter = profile.getOptions().getDelimiter().charAt(0);
+        boolean nativeTokenizer = !"opencsv".equalsIgnoreCase(profile.getOptions().getCsvParser())
+            && !charset.name().startsWith("UTF-16")
+            && CsvTokenizer.supportsDelimiter(delimiter);
+
+        if (nativeTokenizer) {
+            return new CsvTokenizer(channel, start, end, charset, delimiter, createParser(profile));
+        }
+        return new OpencsvRecords(channel, start, end, charset, createParser(profile));
+    }
+
+    /**
+     * 데이터 시작 위치 (UTF-8 BOM 건너뛰기)
+     * UTF-16 BOM은 디코더가 \uFEFF로 돌려주므로 헤더에서 제거
+     */
+    static long dataStart(String encoding) {
+        return "UTF-8".equals(encoding) ? 3 : 0;
+    }
+
+    /**
+     * 프로필 구분자로 파서 생성
+     */
+    static CSVParser createParser(Profile profile) {
+        char delimiter = profile.getOptions().getDelimiter().charAt(0);
+        return new CSVParserBuilder()
+            .withSeparator(delimiter)
+            .build();
+    }
+
+    /**
+     * 읽기 스레드 수 (0 이하면 CPU 코어 수, 핸들러가 상한을 주면 그 이하)
+     */
+    private int resolveReaderThreads(Profile profile, RowHandler handler) {
+        int threads = profile.getOptions().getReaderThreads();
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        int limit = handler.getReaderThreads();
+        return limit > 0 ? Math.min(threads, limit) : threads;
+    }
+
+    /**
+     * 청크 병렬 읽기가 동시에 메모리에 올리는 최대 크기 (디코딩한 문자열 기준 추정치)
+     * @param threads 읽기 스레드 수
+     */
+    public static long chunkWindowBytes(int threads) {
+        return (threads + 2) * ChunkedCsvReader.CHUNK_SIZE * 2;
+    }
+
     /**
      * BOM으로 인코딩 감지
      */
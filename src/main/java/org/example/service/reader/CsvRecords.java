@@ -0,0 +1,53 @@
+package org.example.service.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * CSV 레코드 순회 (토크나이저 공통 인터페이스)
+ * 필드 값은 요청할 때만 문자열로 만들 수 있도록 인덱스로 접근
+ */
+interface CsvRecords extends Closeable {
+
+    /**
+     * 다음 레코드로 이동
+     * @return 더 이상 레코드가 없으면 false
+     */
+    boolean next() throws IOException;
+
+    /**
+     * 현재 레코드의 필드 수
+     */
+    int fieldCount();
+
+    /**
+     * 현재 레코드의 필드 값
+     */
+    String field(int index);
+
+    /**
+     * 모든 필드가 비어 있는지 (trim 기준)
+     */
+    boolean isBlank();
+
+    /**
+     * 따옴표가 열린 채로 입력이 끝났는지 (구간 단위 파싱에서 경계 검증용)
+     */
+    boolean isPending();
+
+    /**
+     * 지금까지 읽은 파일 바이트 위치 (진행률/ETA용, 버퍼링 때문에 현재 레코드보다 조금 앞설 수 있음)
+     */
+    long position();
+
+    /**
+     * 현재 레코드 전체 (헤더용)
+     */
+    default String[] toArray() {
+        String[] fields = new String[fieldCount()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = field(i);
+        }
+        return fields;
+    }
+}
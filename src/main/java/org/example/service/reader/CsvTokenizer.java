@@ -0,0 +1,396 @@
+package org.example.service.reader;
+
+import com.opencsv.CSVParser;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * 메모리 매핑 기반 바이트 단위 CSV 토크나이저
+ * 구분자/따옴표/줄바꿈을 바이트 수준에서 찾고 필드 위치만 기록,
+ * 문자열 디코딩은 field()로 요청된 필드만 수행 (매핑하지 않는 컬럼은 디코딩/할당 없음)
+ *
+ * ASCII 구분자와, ASCII 바이트가 멀티바이트 문자 안에 나오지 않는 인코딩(UTF-8, EUC-KR)에서만 사용
+ * 결과는 opencsv 기본 파서와 동일:
+ * - 따옴표 필드 안의 "" → ", 줄바꿈(CRLF/CR/LF) → LF
+ * - 레코드 구분은 CRLF, LF, CR (BufferedReader.readLine과 동일)
+ * 필드 중간 따옴표, 닫는 따옴표 뒤 문자, 백슬래시처럼 opencsv 고유 규칙이 적용되는 레코드는
+ * 해당 레코드만 opencsv 파서로 다시 읽음 (opencsv는 이스케이프할 수 없는 문자 앞의 백슬래시도 지우므로 백슬래시는 모두 대체 경로)
+ */
+class CsvTokenizer implements CsvRecords {
+
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+    private static final long MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final byte QUOTE = '"';
+    private static final byte ESCAPE = '\\';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    // scanRecord 결과
+    private static final int NEED_MORE = -1;
+    private static final int IRREGULAR = -2;
+
+    private final FileChannel channel;
+    private final long end;
+    private final Charset charset;
+    private final byte delimiter;
+    private final CSVParser fallbackParser;
+
+    // 현재 매핑 창
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLimit;
+    private long windowSize;
+
+    private long position;                           // 다음 레코드 시작 위치
+
+    // 현재 레코드 (창 기준 상대 위치)
+    private int fieldCount;
+    private int[] fieldStart = new int[16];
+    private int[] fieldEnd = new int[16];
+    private boolean[] fieldEscaped = new boolean[16];  // "" 또는 CR 포함 → 디코딩 시 복원 필요
+    private String[] fallbackFields;                  // opencsv로 읽은 레코드
+
+    private byte[] scratch = new byte[256];
+
+    /**
+     * @param start 읽기 시작 위치 (BOM 이후)
+     * @param end 읽기 끝 위치 (이 위치를 파일 끝으로 취급)
+     * @param delimiter ASCII 구분자
+     * @param fallbackParser 불규칙 레코드용 opencsv 파서 (같은 구분자 설정)
+     */
+    CsvTokenizer(FileChannel channel, long start, long end, Charset charset, char delimiter, CSVParser fallbackParser) {
+        this(channel, start, end, charset, delimiter, fallbackParser, WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize 처음 매핑할 창 크기 (테스트에서 창 경계에 걸리는 레코드를 만들 때)
+     */
+    CsvTokenizer(FileChannel channel, long start, long end, Charset charset, char delimiter, CSVParser fallbackParser,
+                 long windowSize) {
+        this.windowSize = windowSize;
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.charset = charset;
+        this.delimiter = (byte) delimiter;
+        this.fallbackParser = fallbackParser;
+    }
+
+    /**
+     * 네이티브 토크나이저로 읽을 수 있는 구분자인지
+     */
+    static boolean supportsDelimiter(char delimiter) {
+        return delimiter < 0x80 && delimiter != '"' && delimiter != '\\' && delimiter != '\r' && delimiter != '\n';
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        fallbackFields = null;
+        if (position >= end) {
+            return false;
+        }
+
+        while (true) {
+            ensureWindow(position);
+            int result = scanRecord((int) (position - windowStart));
+            if (result >= 0) {
+                position = windowStart + result;
+                return true;
+            }
+            if (result == IRREGULAR || windowStart + windowLimit >= end) {
+                // opencsv 규칙 적용 (입력 끝의 따옴표 미종료도 opencsv와 같은 예외로 처리)
+                readWithFallback();
+                return true;
+            }
+            // 레코드가 창 끝을 넘음 → 레코드 시작부터 다시 매핑
+            growWindow(position);
+        }
+    }
+
+    @Override
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    @Override
+    public String field(int index) {
+        if (fallbackFields != null) {
+            return fallbackFields[index];
+        }
+
+        int start = fieldStart[index];
+        int length = fieldEnd[index] - start;
+        if (length == 0) {
+            return "";
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+
+        if (!fieldEscaped[index]) {
+            window.get(start, scratch, 0, length);
+            return new String(scratch, 0, length, charset);
+        }
+
+        int n = 0;
+        int limit = start + length;
+        for (int p = start; p < limit; p++) {
+            byte b = window.get(p);
+            if (b == QUOTE) {
+                p++;  // "" → "
+            } else if (b == CR) {
+                if (p + 1 < limit && window.get(p + 1) == LF) {
+                    continue;
+                }
+                b = LF;
+            }
+            scratch[n++] = b;
+        }
+        return new String(scratch, 0, n, charset);
+    }
+
+    @Override
+    public boolean isBlank() {
+        if (fallbackFields != null) {
+            for (String s : fallbackFields) {
+                if (RowBuffer.hasText(s)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // ASCII 호환 인코딩이므로 바이트 > 0x20 이면 trim 후에도 남는 문자
+        for (int f = 0; f < fieldCount; f++) {
+            for (int p = fieldStart[f]; p < fieldEnd[f]; p++) {
+                if ((window.get(p) & 0xFF) > ' ') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isPending() {
+        // 따옴표 미종료는 next()에서 예외로 처리됨
+        return false;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() {
+        // 매핑 해제는 GC에 맡김 (채널은 호출 측 소유)
+        window = null;
+    }
+
+    /**
+     * 레코드 하나의 필드 위치 기록
+     * @param p 레코드 시작 (창 기준)
+     * @return 다음 레코드 시작 (창 기준), NEED_MORE, IRREGULAR
+     */
+    private int scanRecord(int p) {
+        int limit = windowLimit;
+        boolean atEnd = windowStart + limit >= end;
+        fieldCount = 0;
+
+        while (true) {
+            if (p < limit && window.get(p) == QUOTE) {
+                // 따옴표 필드
+                int contentStart = p + 1;
+                boolean escaped = false;
+                int q = contentStart;
+                while (true) {
+                    if (q >= limit) {
+                        return NEED_MORE;
+                    }
+                    byte b = window.get(q);
+                    if (b == QUOTE) {
+                        if (q + 1 >= limit && !atEnd) {
+                            return NEED_MORE;
+                        }
+                        if (q + 1 < limit && window.get(q + 1) == QUOTE) {
+                            escaped = true;
+                            q += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    if (b == ESCAPE) {
+                        return IRREGULAR;
+                    } else if (b == CR) {
+                        escaped = true;
+                    }
+                    q++;
+                }
+                addField(contentStart, q, escaped);
+
+                // 닫는 따옴표 뒤는 구분자나 줄 끝이어야 함
+                p = q + 1;
+                if (p >= limit) {
+                    return atEnd ? p : NEED_MORE;
+                }
+                byte b = window.get(p);
+                if (b == delimiter) {
+                    p++;
+                    continue;
+                }
+                if (b == LF || b == CR) {
+                    return terminatorEnd(p, limit, atEnd);
+                }
+                return IRREGULAR;
+            }
+
+            // 따옴표 없는 필드
+            int q = p;
+            while (q < limit) {
+                byte b = window.get(q);
+                if (b == delimiter || b == LF || b == CR) {
+                    break;
+                }
+                if (b == QUOTE || b == ESCAPE) {
+                    return IRREGULAR;
+                }
+                q++;
+            }
+            if (q >= limit) {
+                if (!atEnd) {
+                    return NEED_MORE;
+                }
+                addField(p, q, false);
+                return q;
+            }
+            addField(p, q, false);
+            if (window.get(q) == delimiter) {
+                p = q + 1;
+                continue;
+            }
+            return terminatorEnd(q, limit, atEnd);
+        }
+    }
+
+    /**
+     * 줄 끝(CRLF, LF, CR) 다음 위치
+     */
+    private int terminatorEnd(int p, int limit, boolean atEnd) {
+        if (window.get(p) == CR) {
+            if (p + 1 >= limit) {
+                return atEnd ? p + 1 : NEED_MORE;
+            }
+            return window.get(p + 1) == LF ? p + 2 : p + 1;
+        }
+        return p + 1;
+    }
+
+    private void addField(int start, int fieldEndPos, boolean escaped) {
+        if (fieldCount == fieldStart.length) {
+            int capacity = fieldCount * 2;
+            fieldStart = Arrays.copyOf(fieldStart, capacity);
+            fieldEnd = Arrays.copyOf(fieldEnd, capacity);
+            fieldEscaped = Arrays.copyOf(fieldEscaped, capacity);
+        }
+        fieldStart[fieldCount] = start;
+        fieldEnd[fieldCount] = fieldEndPos;
+        fieldEscaped[fieldCount] = escaped;
+        fieldCount++;
+    }
+
+    /**
+     * opencsv CSVReader와 같은 방식으로 레코드 하나 읽기
+     * (줄 단위로 파서에 넣고 pending이면 다음 줄을 이어 붙임)
+     */
+    private void readWithFallback() throws IOException {
+        String[] result = null;
+        do {
+            if (position >= end) {
+                throw new IOException("Unterminated quoted field at end of CSV file");
+            }
+            String[] fields = fallbackParser.parseLineMulti(readLine());
+            if (fields.length > 0) {
+                if (result == null) {
+                    result = fields;
+                } else {
+                    String[] combined = Arrays.copyOf(result, result.length + fields.length);
+                    System.arraycopy(fields, 0, combined, result.length, fields.length);
+                    result = combined;
+                }
+            }
+        } while (fallbackParser.isPending());
+
+        fallbackFields = result != null ? result : new String[]{""};
+        fieldCount = fallbackFields.length;
+    }
+
+    /**
+     * 현재 위치에서 한 줄 읽기 (줄 끝 문자 제외)
+     */
+    private String readLine() throws IOException {
+        while (true) {
+            ensureWindow(position);
+            int p = (int) (position - windowStart);
+            int q = p;
+            while (q < windowLimit && window.get(q) != LF && window.get(q) != CR) {
+                q++;
+            }
+            boolean atEnd = windowStart + windowLimit >= end;
+            if (q >= windowLimit && !atEnd) {
+                growWindow(position);
+                continue;
+            }
+
+            int length = q - p;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            window.get(p, scratch, 0, length);
+            String line = new String(scratch, 0, length, charset);
+
+            int next = q >= windowLimit ? q : terminatorEnd(q, windowLimit, atEnd);
+            if (next == NEED_MORE) {
+                // CR이 창 끝에 걸림 → 줄 시작부터 다시 매핑
+                growWindow(position);
+                continue;
+            }
+            position = windowStart + next;
+            return line;
+        }
+    }
+
+    /**
+     * pos가 창 안에 있도록 매핑
+     */
+    private void ensureWindow(long pos) throws IOException {
+        if (window == null || pos < windowStart || pos >= windowStart + windowLimit) {
+            map(pos);
+        }
+    }
+
+    /**
+     * 레코드가 창을 넘을 때: 레코드 시작부터 다시 매핑, 이미 시작점이면 창 크기 확장
+     */
+    private void growWindow(long pos) throws IOException {
+        if (pos == windowStart) {
+            if (windowSize >= MAX_WINDOW_SIZE) {
+                throw new IOException("CSV record too large at byte offset " + pos);
+            }
+            windowSize = Math.min(windowSize * 2, MAX_WINDOW_SIZE);
+        }
+        map(pos);
+    }
+
+    private void map(long pos) throws IOException {
+        long length = Math.min(windowSize, end - pos);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+        windowStart = pos;
+        windowLimit = (int) length;
+    }
+}
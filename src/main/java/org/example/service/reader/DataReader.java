@@ -13,7 +13,18 @@ import java.util.function.Consumer;
 public interface DataReader {
 
     /**
-     * 파일에서 데이터를 읽어 행 단위로 콜백 호출
+     * 파일에서 데이터를 읽어 행 단위로 핸들러 호출
+     * 행은 재사용되는 RowBuffer로 전달 (헤더 → 슬롯 매핑은 파일당 한 번)
+     * @param file 입력 파일
+     * @param profile 프로필 (컬럼 매핑 정보)
+     * @param handler 헤더/행/진행률 핸들러
+     * @return 처리된 행 수
+     */
+    long read(File file, Profile profile, RowHandler handler) throws Exception;
+
+    /**
+     * 파일에서 데이터를 읽어 행 단위로 콜백 호출 (Map 기반, 하위 호환용)
+     * 행마다 새 Map을 만들므로 대용량 파일에는 {@link #read(File, Profile, RowHandler)} 사용
      * @param file 입력 파일
      * @param profile 프로필 (컬럼 매핑 정보)
      * @param headerCallback 헤더 처리 콜백 (원본 헤더 목록)
@@ -21,11 +32,30 @@ public interface DataReader {
      * @param progressCallback 진행률 콜백 (처리된 행 수)
      * @return 처리된 행 수
      */
-    long read(File file,
-              Profile profile,
-              Consumer<List<String>> headerCallback,
-              Consumer<Map<String, String>> rowCallback,
-              Consumer<Long> progressCallback) throws Exception;
+    default long read(File file,
+                      Profile profile,
+                      Consumer<List<String>> headerCallback,
+                      Consumer<Map<String, String>> rowCallback,
+                      Consumer<Long> progressCallback) throws Exception {
+        return read(file, profile, new RowHandler() {
+            @Override
+            public void onHeader(List<String> headers) {
+                headerCallback.accept(headers);
+            }
+
+            @Override
+            public void onRow(RowBuffer row) {
+                rowCallback.accept(row.toMap());
+            }
+
+            @Override
+            public void onProgress(long rowCount) {
+                if (progressCallback != null) {
+                    progressCallback.accept(rowCount);
+                }
+            }
+        });
+    }
 
     /**
      * 지원하는 파일 확장자
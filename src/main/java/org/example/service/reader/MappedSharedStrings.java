@@ -0,0 +1,240 @@
+package org.example.service.reader;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 메모리 매핑 기반 공유 문자열(SST) 저장소
+ * sharedStrings.xml을 한 번 스트리밍해서 임시 파일(UTF-8 바이트 + 오프셋 인덱스)로 만들고,
+ * 조회 시점에 필요한 문자열만 디코딩 → SST 크기와 무관하게 힙 사용량 일정
+ * 읽기는 절대 위치 접근만 사용하므로 여러 스레드에서 동시에 조회 가능
+ */
+public class MappedSharedStrings implements Closeable {
+
+    // XSSFRichTextString.utfDecode와 동일한 _xHHHH_ 이스케이프
+    private static final Pattern UTF_ESCAPE = Pattern.compile("_x([0-9A-Fa-f]{4})_");
+
+    private final Path dataFile;
+    private final Path indexFile;
+    private final MappedRegion data;
+    private final MappedRegion index;
+    private final int count;
+
+    private MappedSharedStrings(Path dataFile, Path indexFile, int count) throws IOException {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.data = new MappedRegion(dataFile);
+        this.index = new MappedRegion(indexFile);
+        this.count = count;
+    }
+
+    /**
+     * sharedStrings.xml 스트림으로 저장소 생성
+     */
+    public static MappedSharedStrings build(InputStream sharedStringsXml) throws Exception {
+        Path dataFile = Files.createTempFile("sst-data-", ".bin");
+        Path indexFile = Files.createTempFile("sst-index-", ".bin");
+        dataFile.toFile().deleteOnExit();
+        indexFile.toFile().deleteOnExit();
+
+        SstWriter sstWriter;
+        try (OutputStream dataOut = new BufferedOutputStream(Files.newOutputStream(dataFile), 1 << 16);
+             DataOutputStream indexOut = new DataOutputStream(
+                 new BufferedOutputStream(Files.newOutputStream(indexFile), 1 << 16))) {
+
+            sstWriter = new SstWriter(dataOut, indexOut);
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.newSAXParser().parse(new InputSource(sharedStringsXml), sstWriter);
+
+            // 마지막 문자열의 끝 오프셋
+            indexOut.writeLong(sstWriter.offset);
+        } catch (Exception e) {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(indexFile);
+            throw e;
+        }
+
+        return new MappedSharedStrings(dataFile, indexFile, sstWriter.count);
+    }
+
+    /**
+     * 인덱스로 문자열 조회 (필요할 때만 UTF-8 디코딩)
+     */
+    public String getString(int idx) {
+        if (idx < 0 || idx >= count) {
+            throw new IndexOutOfBoundsException("Shared string index " + idx + " (count " + count + ")");
+        }
+        long start = index.getLong((long) idx * Long.BYTES);
+        long end = index.getLong((long) (idx + 1) * Long.BYTES);
+        int length = (int) (end - start);
+        if (length == 0) {
+            return "";
+        }
+        byte[] bytes = new byte[length];
+        data.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 고유 문자열 개수
+     */
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public void close() {
+        // 매핑 해제는 GC에 맡김 (Windows에서는 삭제 실패 시 deleteOnExit로 정리)
+        try {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(indexFile);
+        } catch (IOException e) {
+            // 무시
+        }
+    }
+
+    /**
+     * sharedStrings.xml SAX 핸들러 → 임시 파일 기록
+     * si 하나 = 문자열 하나, rPh(발음 표기) 안의 t는 제외 (XSSFRichTextString.getString과 동일)
+     */
+    private static class SstWriter extends DefaultHandler {
+        private final OutputStream dataOut;
+        private final DataOutputStream indexOut;
+        private final StringBuilder text = new StringBuilder();
+
+        private long offset = 0;
+        private int count = 0;
+        private boolean inItem = false;
+        private boolean inText = false;
+        private int phoneticDepth = 0;
+
+        SstWriter(OutputStream dataOut, DataOutputStream indexOut) {
+            this.dataOut = dataOut;
+            this.indexOut = indexOut;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            String name = localName.isEmpty() ? qName : localName;
+            if ("si".equals(name)) {
+                inItem = true;
+                text.setLength(0);
+            } else if ("rPh".equals(name)) {
+                phoneticDepth++;
+            } else if ("t".equals(name) && inItem && phoneticDepth == 0) {
+                inText = true;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            String name = localName.isEmpty() ? qName : localName;
+            if ("t".equals(name)) {
+                inText = false;
+            } else if ("rPh".equals(name)) {
+                phoneticDepth--;
+            } else if ("si".equals(name)) {
+                inItem = false;
+                try {
+                    byte[] bytes = utfDecode(text).getBytes(StandardCharsets.UTF_8);
+                    indexOut.writeLong(offset);
+                    dataOut.write(bytes);
+                    offset += bytes.length;
+                    count++;
+                } catch (IOException e) {
+                    throw new SAXException(e);
+                }
+            }
+        }
+
+        private static String utfDecode(CharSequence value) {
+            String s = value.toString();
+            if (s.indexOf("_x") < 0) {
+                return s;
+            }
+            StringBuilder buf = new StringBuilder();
+            Matcher m = UTF_ESCAPE.matcher(s);
+            int idx = 0;
+            while (m.find()) {
+                buf.append(s, idx, m.start());
+                buf.append((char) Integer.parseInt(m.group(1), 16));
+                idx = m.end();
+            }
+            buf.append(s.substring(idx));
+            return buf.toString();
+        }
+    }
+
+    /**
+     * 2GB를 넘는 파일도 다루기 위한 분할 매핑
+     */
+    private static class MappedRegion {
+        private static final int SEGMENT_SHIFT = 30;  // 1GB 단위
+        private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+        private final MappedByteBuffer[] segments;
+
+        MappedRegion(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                int segmentCount = (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+                segments = new MappedByteBuffer[Math.max(segmentCount, 1)];
+                for (int i = 0; i < segmentCount; i++) {
+                    long position = (long) i << SEGMENT_SHIFT;
+                    segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(SEGMENT_SIZE, size - position));
+                }
+            }
+        }
+
+        long getLong(long position) {
+            int segment = (int) (position >>> SEGMENT_SHIFT);
+            int offset = (int) (position & (SEGMENT_SIZE - 1));
+            MappedByteBuffer buffer = segments[segment];
+            if (offset + Long.BYTES <= buffer.limit()) {
+                return buffer.getLong(offset);
+            }
+            byte[] bytes = new byte[Long.BYTES];
+            get(position, bytes);
+            long value = 0;
+            for (byte b : bytes) {
+                value = (value << 8) | (b & 0xFF);
+            }
+            return value;
+        }
+
+        void get(long position, byte[] dst) {
+            int copied = 0;
+            while (copied < dst.length) {
+                long pos = position + copied;
+                int segment = (int) (pos >>> SEGMENT_SHIFT);
+                int offset = (int) (pos & (SEGMENT_SIZE - 1));
+                MappedByteBuffer buffer = segments[segment];
+                int length = Math.min(dst.length - copied, buffer.limit() - offset);
+                buffer.get(offset, dst, copied, length);
+                copied += length;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.service.reader;
+
+import com.opencsv.CSVParser;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * opencsv 기반 레코드 순회
+ * 네이티브 토크나이저를 쓸 수 없는 경우(UTF-16, ASCII가 아닌 구분자, csvParser=opencsv)의 대체 경로
+ */
+class OpencsvRecords implements CsvRecords {
+
+    private final CSVParser parser;
+    private final com.opencsv.CSVReader csvReader;
+    private final RegionInputStream input;
+    private String[] current;
+
+    OpencsvRecords(FileChannel channel, long start, long end, Charset charset, CSVParser parser) {
+        this.parser = parser;
+        this.input = new RegionInputStream(channel, start, end);
+        Reader reader = new InputStreamReader(input, charset);
+        this.csvReader = new CSVReaderBuilder(reader)
+            .withCSVParser(parser)
+            .build();
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        try {
+            current = csvReader.readNext();
+        } catch (CsvValidationException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return current != null;
+    }
+
+    @Override
+    public int fieldCount() {
+        return current.length;
+    }
+
+    @Override
+    public String field(int index) {
+        return current[index];
+    }
+
+    @Override
+    public boolean isBlank() {
+        for (String s : current) {
+            if (RowBuffer.hasText(s)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isPending() {
+        return parser.isPending();
+    }
+
+    @Override
+    public long position() {
+        return input.position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvReader.close();
+    }
+
+    /**
+     * 파일 구간 입력 스트림 (위치 지정 읽기라 여러 스레드가 같은 채널 공유 가능)
+     */
+    private static class RegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private long position;
+
+        RegionInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+            buffer.limit(0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        private boolean fill() throws IOException {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+            if (position >= end) {
+                return false;
+            }
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                buffer.limit(0);
+                return false;
+            }
+            position += read;
+            buffer.flip();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.service.reader;
+
+import java.util.*;
+
+/**
+ * 재사용 가능한 위치 기반 행 버퍼
+ * 헤더명 → 슬롯 매핑은 파일당 한 번만 계산하고, 행마다 값 배열만 다시 채움
+ * 리더가 같은 인스턴스를 계속 재사용하므로 콜백 밖으로 보관하지 말 것
+ */
+public class RowBuffer {
+
+    private final List<String> headers;             // 헤더 목록 (trim 적용)
+    private final Map<String, Integer> slotIndex;   // 헤더명 → 슬롯 인덱스
+    private final String[] values;                   // 슬롯별 값
+
+    public RowBuffer(List<String> headerRow) {
+        this.headers = new ArrayList<>(headerRow.size());
+        this.slotIndex = new HashMap<>(headerRow.size() * 2);
+        for (int i = 0; i < headerRow.size(); i++) {
+            String name = headerRow.get(i) != null ? headerRow.get(i).trim() : "";
+            headers.add(name);
+            slotIndex.put(name, i);  // 중복 헤더는 뒤쪽 컬럼 우선 (기존 Map 동작과 동일)
+        }
+        this.values = new String[headers.size()];
+        Arrays.fill(values, "");
+    }
+
+    /**
+     * 슬롯 개수 (헤더 컬럼 수)
+     */
+    public int width() {
+        return values.length;
+    }
+
+    /**
+     * 헤더 목록 (trim 적용)
+     */
+    public List<String> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    /**
+     * 컬럼명 → 슬롯 인덱스
+     * @return 없으면 -1
+     */
+    public int slotOf(String column) {
+        Integer slot = slotIndex.get(column);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * 슬롯 값 (범위 밖이면 빈 문자열)
+     */
+    public String get(int slot) {
+        if (slot < 0 || slot >= values.length) {
+            return "";
+        }
+        return values[slot];
+    }
+
+    /**
+     * 컬럼명으로 값 조회 (행마다 호출하면 해시 조회 비용 발생, 가능하면 slotOf로 미리 해석)
+     */
+    public String get(String column) {
+        return get(slotOf(column));
+    }
+
+    /**
+     * 프로젝션 대상 슬롯 표시 (columns가 null이면 전체)
+     */
+    boolean[] projectionMask(Set<String> columns) {
+        boolean[] mask = new boolean[values.length];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = columns == null || columns.contains(headers.get(i));
+        }
+        return mask;
+    }
+
+    /**
+     * 다른 헤더 순서 → 이 버퍼 슬롯 매핑 (같은 순서면 null)
+     * @return 슬롯별 원본 위치 (없으면 -1)
+     */
+    int[] remapFrom(List<String> otherHeaders) {
+        Map<String, Integer> otherIndex = new HashMap<>(otherHeaders.size() * 2);
+        boolean identical = otherHeaders.size() == headers.size();
+        for (int i = 0; i < otherHeaders.size(); i++) {
+            String name = otherHeaders.get(i) != null ? otherHeaders.get(i).trim() : "";
+            otherIndex.put(name, i);
+            identical = identical && name.equals(headers.get(i));
+        }
+        if (identical) {
+            return null;
+        }
+        int[] remap = new int[headers.size()];
+        for (int i = 0; i < remap.length; i++) {
+            remap[i] = otherIndex.getOrDefault(headers.get(i), -1);
+        }
+        return remap;
+    }
+
+    /**
+     * 값 배열로 현재 행 채우기
+     * @param source 원본 값
+     * @param remap 슬롯별 원본 위치 (null이면 같은 순서)
+     */
+    void load(String[] source, int[] remap) {
+        clear();
+        for (int i = 0; i < values.length; i++) {
+            int from = remap != null ? remap[i] : i;
+            if (from >= 0 && from < source.length) {
+                values[i] = source[from] != null ? source[from] : "";
+            }
+        }
+    }
+
+    /**
+     * 값 배열로 현재 행 채우기 (헤더와 같은 순서, 다른 스레드로 넘긴 행을 다시 읽을 때)
+     */
+    public void load(String[] source) {
+        load(source, null);
+    }
+
+    void set(int slot, String value) {
+        if (slot < values.length) {
+            values[slot] = value != null ? value : "";
+        }
+    }
+
+    /**
+     * 다음 행을 위해 초기화
+     */
+    void clear() {
+        Arrays.fill(values, "");
+    }
+
+    /**
+     * 현재 값 복사본
+     */
+    public String[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * 새 HashMap으로 복사 (기존 Map 기반 콜백 호환용)
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> map = new HashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            map.put(headers.get(i), values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * trim 후 내용이 남는지 (trim().isEmpty()와 같은 기준, 문자열 생성 없음)
+     */
+    static boolean hasText(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.service.reader;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 행 단위 읽기 콜백
+ */
+public interface RowHandler {
+
+    /**
+     * 헤더 처리
+     * @param headers 원본 헤더 목록
+     */
+    void onHeader(List<String> headers) throws Exception;
+
+    /**
+     * 행 처리
+     * @param row 현재 행 (리더가 재사용하므로 호출이 끝나면 값이 바뀜)
+     */
+    void onRow(RowBuffer row) throws Exception;
+
+    /**
+     * 실제로 사용할 원본 컬럼명 (컬럼 프로젝션)
+     * 리더는 여기 없는 컬럼의 값을 해석하지 않고 빈 문자열로 둠
+     * @return null이면 전체 컬럼
+     */
+    default Set<String> getProjectedColumns() {
+        return null;
+    }
+
+    /**
+     * 이 파일을 읽을 때 쓸 수 있는 최대 스레드 수 (여러 파일을 동시에 읽을 때 파일당 몫)
+     * @return 0이면 리더가 결정 (readerThreads 옵션 또는 CPU 코어 수)
+     */
+    default int getReaderThreads() {
+        return 0;
+    }
+
+    /**
+     * 시트(또는 파일) 하나를 다 읽었을 때
+     * @param sheetName 시트 이름
+     * @param rowCount 해당 시트에서 읽은 행 수
+     */
+    default void onSheetComplete(String sheetName, long rowCount) {
+    }
+
+    /**
+     * 진행률 (처리된 행 수)
+     */
+    default void onProgress(long rowCount) {
+    }
+
+    /**
+     * 입력 파일 읽은 위치 (ETA 계산용, 여러 읽기 스레드에서 호출될 수 있음)
+     * xlsx는 압축 해제한 시트 데이터 진행률을 파일 크기 기준 위치로 환산
+     * @param position 읽은 위치 (바이트)
+     * @param length 입력 파일 크기 (바이트)
+     */
+    default void onInputPosition(long position, long length) {
+    }
+
+    /**
+     * 공유 문자열(SST) 조회 시간 (샘플링 추정치, 여러 읽기 스레드에서 호출될 수 있음)
+     * @param lookups 이번 보고까지의 조회 수 (직전 보고 이후)
+     * @param nanos 추정 조회 시간 (직전 보고 이후)
+     */
+    default void onSharedStringLookups(long lookups, long nanos) {
+    }
+}
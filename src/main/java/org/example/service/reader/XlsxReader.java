@@ -2,54 +2,281 @@ package org.example.service.reader;
 
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
 import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
 import org.example.model.Profile;
+import org.example.model.SheetSelection;
+import org.example.service.codec.NumberCodec;
+import org.example.service.jfr.SheetParseEvent;
 import org.xml.sax.*;
 import org.xml.sax.helpers.DefaultHandler;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.function.Consumer;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
 
 /**
  * XLSX 파일 리더 (SAX 기반 스트리밍)
  */
 public class XlsxReader implements DataReader {
 
+    // auto 모드에서 매핑 SST로 전환하는 sharedStrings.xml 크기 (압축 해제 기준)
+    private static final long MAPPED_SST_THRESHOLD = 64L * 1024 * 1024;
+
+    // SST 조회 시간은 이 수만큼 조회할 때마다 한 번만 측정 (2의 거듭제곱)
+    private static final int SST_SAMPLE_INTERVAL = 64;
+
+    // 동시 시트 읽기 종료 시 작업 스레드를 기다리는 최대 시간
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
     @Override
-    public long read(File file,
-                     Profile profile,
-                     Consumer<List<String>> headerCallback,
-                     Consumer<Map<String, String>> rowCallback,
-                     Consumer<Long> progressCallback) throws Exception {
+    public long read(File file, Profile profile, RowHandler rowHandler) throws Exception {
 
+        MappedSharedStrings mappedSst = null;
         try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
             XSSFReader reader = new XSSFReader(pkg);
-            SharedStringsTable sst = (SharedStringsTable) reader.getSharedStringsTable();
             StylesTable styles = reader.getStylesTable();
 
-            Iterator<InputStream> sheets = reader.getSheetsData();
-            if (sheets.hasNext()) {
-                try (InputStream sheetData = sheets.next()) {
-                    SAXParserFactory factory = SAXParserFactory.newInstance();
-                    SAXParser parser = factory.newSAXParser();
+            // 공유 문자열 조회 방식 결정 (읽어 들이는 시간은 SST 조회 시간으로 보고)
+            long sstStart = System.nanoTime();
+            IntFunction<String> sharedStrings;
+            PackagePart sstPart = findSharedStringsPart(pkg);
+            if (sstPart != null && useMappedSharedStrings(profile, sstPart)) {
+                try (InputStream sstData = sstPart.getInputStream()) {
+                    mappedSst = MappedSharedStrings.build(sstData);
+                }
+                sharedStrings = mappedSst::getString;
+            } else {
+                SharedStringsTable sst = (SharedStringsTable) reader.getSharedStringsTable();
+                sharedStrings = idx -> sst.getItemAt(idx).getString();
+            }
+            rowHandler.onSharedStringLookups(0, System.nanoTime() - sstStart);
+
+            // 선택된 시트 스트림 수집 (통합문서 순서 유지)
+            SheetSelection selection = profile.getSheets() != null ? profile.getSheets() : new SheetSelection();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            List<String> sheetNames = new ArrayList<>();
+            List<InputStream> sheetStreams = new ArrayList<>();
+            InputProgress progress = new InputProgress(file.length(), rowHandler);
+            try {
+                int sheetIndex = 0;
+                while (sheets.hasNext()) {
+                    InputStream sheetData = sheets.next();
+                    if (selection.isSelected(sheetIndex++, sheets.getSheetName())) {
+                        sheetNames.add(sheets.getSheetName());
+                        sheetStreams.add(new CountingInputStream(sheetData, progress));
+                        progress.addSheet(sheets.getSheetPart());
+                    } else {
+                        sheetData.close();
+                    }
+                }
+
+                if (sheetStreams.isEmpty()) {
+                    System.err.println("선택된 시트가 없습니다 [" + file.getName() + "]: " + selection);
+                    return 0;
+                }
+
+                // 시트 하나면 현재 스레드에서 바로 처리
+                if (sheetStreams.size() == 1) {
+                    long rowCount = parseSheet(file, sheetNames.get(0), sheetStreams.get(0), sharedStrings, styles,
+                        profile, rowHandler, rowHandler);
+                    rowHandler.onSheetComplete(sheetNames.get(0), rowCount);
+                    progress.finish();
+                    return rowCount;
+                }
+
+                long rowCount = readSheetsConcurrently(file, sheetNames, sheetStreams, sharedStrings, styles, profile, rowHandler);
+                progress.finish();
+                return rowCount;
+            } finally {
+                for (InputStream sheetData : sheetStreams) {
+                    try {
+                        sheetData.close();
+                    } catch (Exception e) {
+                        // 무시
+                    }
+                }
+            }
+        } finally {
+            if (mappedSst != null) {
+                mappedSst.close();
+            }
+        }
+    }
+
+    /**
+     * 시트 하나를 SAX로 파싱 (Flight Recorder 기록 중이면 시트 파싱 이벤트)
+     * @param metrics SST 조회 시간을 보고할 핸들러 (동시 파싱이면 시트별 수집기가 아닌 원래 핸들러)
+     */
+    private long parseSheet(File file,
+                            String sheetName,
+                            InputStream sheetData,
+                            IntFunction<String> sharedStrings,
+                            StylesTable styles,
+                            Profile profile,
+                            RowHandler rowHandler,
+                            RowHandler metrics) throws Exception {
+        SheetParseEvent event = new SheetParseEvent();
+        event.begin();
+
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        SAXParser parser = factory.newSAXParser();
+
+        XlsxSheetHandler handler = new XlsxSheetHandler(sharedStrings, styles, profile, rowHandler, metrics);
+        try {
+            parser.parse(new InputSource(sheetData), handler);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = file.getName();
+                event.sheet = sheetName;
+                event.format = "xlsx";
+                event.rows = handler.getProcessedRowCount();
+                event.threads = 1;
+                event.commit();
+            }
+        }
+
+        return handler.getProcessedRowCount();
+    }
+
+    /**
+     * 여러 시트를 시트별 SAX 핸들러로 동시에 파싱하고, 결과는 시트 순서대로 전달
+     * 헤더는 처음 나온 시트 기준이며, 다른 시트 행은 컬럼명으로 맞춰 재배치
+     * 시트별 큐가 가득 차면 해당 시트 파싱이 멈추므로 메모리 사용량은 제한됨
+     */
+    private long readSheetsConcurrently(File file,
+                                        List<String> sheetNames,
+                                        List<InputStream> sheetStreams,
+                                        IntFunction<String> sharedStrings,
+                                        StylesTable styles,
+                                        Profile profile,
+                                        RowHandler rowHandler) throws Exception {
+        int sheetCount = sheetStreams.size();
+        int limit = rowHandler.getReaderThreads();
+        int threads = Math.min(sheetCount, limit > 0 ? limit : Runtime.getRuntime().availableProcessors());
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        CompletableFuture<Set<String>> projection = new CompletableFuture<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "xlsx-sheet-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            // 시트별 파싱 작업 시작 (FIFO 순서로 실행되므로 앞 시트가 먼저 시작됨)
+            List<SheetCollector> collectors = new ArrayList<>();
+            for (int i = 0; i < sheetCount; i++) {
+                InputStream sheetData = sheetStreams.get(i);
+                String sheetName = sheetNames.get(i);
+                SheetCollector collector = new SheetCollector(projection, stopped);
+                collectors.add(collector);
+                executor.execute(() -> {
+                    try {
+                        parseSheet(file, sheetName, sheetData, sharedStrings, styles, profile, collector, rowHandler);
+                        collector.finish(null);
+                    } catch (Throwable t) {
+                        collector.finishQuietly(t instanceof Exception ? (Exception) t : new RuntimeException(t));
+                    }
+                });
+            }
+
+            // 시트 순서대로 병합
+            RowBuffer rowBuffer = null;
+            long processedRowCount = 0;
+
+            for (int i = 0; i < sheetCount; i++) {
+                SheetCollector collector = collectors.get(i);
+                long sheetRowCount = 0;
+                int[] remap = null;
 
-                    XlsxSheetHandler handler = new XlsxSheetHandler(
-                        sst, styles, profile, headerCallback, rowCallback, progressCallback);
-                    parser.parse(new InputSource(sheetData), handler);
+                while (true) {
+                    SheetBatch batch = collector.take();
+                    if (batch.error != null) {
+                        throw new IllegalStateException(
+                            "시트 읽기 실패 [" + sheetNames.get(i) + "]: " + batch.error.getMessage(), batch.error);
+                    }
+
+                    if (batch.header != null) {
+                        if (rowBuffer == null) {
+                            rowHandler.onHeader(batch.header);
+                            rowBuffer = new RowBuffer(batch.header);
+                            projection.complete(rowHandler.getProjectedColumns());
+                        }
+                        remap = rowBuffer.remapFrom(batch.header);
+                    }
+
+                    for (String[] row : batch.rows) {
+                        rowBuffer.load(row, remap);
+                        rowHandler.onRow(rowBuffer);
+                        sheetRowCount++;
+                        processedRowCount++;
 
-                    return handler.getProcessedRowCount();
+                        if (processedRowCount % 10000 == 0) {
+                            rowHandler.onProgress(processedRowCount);
+                        }
+                    }
+
+                    if (batch.last) {
+                        break;
+                    }
                 }
+
+                rowHandler.onSheetComplete(sheetNames.get(i), sheetRowCount);
             }
+
+            return processedRowCount;
+        } finally {
+            stopped.set(true);
+            projection.complete(null);
+            executor.shutdownNow();
+            // 호출한 쪽에서 시트 스트림/패키지를 닫으므로 파싱 중인 작업이 멈출 때까지 대기
+            // (작업은 다음 배치를 넘길 때 stopped를 보고 멈춤)
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    System.err.println("시트 읽기 스레드가 종료되지 않음 [" + file.getName() + "]");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * sharedStrings.xml 파트 (문자열이 없는 통합문서는 null)
+     */
+    private PackagePart findSharedStringsPart(OPCPackage pkg) {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        return parts.isEmpty() ? null : parts.get(0);
+    }
+
+    /**
+     * 메모리 매핑 SST 사용 여부
+     * auto: 압축 해제 기준 sharedStrings.xml이 임계값을 넘을 때만 (크기를 모르면 메모리 방식)
+     */
+    private boolean useMappedSharedStrings(Profile profile, PackagePart sstPart) {
+        String mode = profile.getOptions().getSharedStringsMode();
+        if ("mapped".equalsIgnoreCase(mode)) {
+            return true;
+        }
+        if ("memory".equalsIgnoreCase(mode)) {
+            return false;
         }
-        return 0;
+        return sstPart.getSize() > MAPPED_SST_THRESHOLD;
     }
 
     @Override
@@ -61,12 +288,12 @@ public class XlsxReader implements DataReader {
      * SAX 핸들러
      */
     private static class XlsxSheetHandler extends DefaultHandler {
-        private final SharedStringsTable sst;
+        private final IntFunction<String> sharedStrings;
         private final StylesTable styles;
-        private final Profile profile;
-        private final Consumer<List<String>> headerCallback;
-        private final Consumer<Map<String, String>> rowCallback;
-        private final Consumer<Long> progressCallback;
+        private final RowHandler rowHandler;
+        private final RowHandler metrics;
+        private final boolean trimWhitespace;
+        private final boolean skipEmptyRows;
 
         private int currentRow = 0;
         private int currentCol = 0;
@@ -76,36 +303,47 @@ public class XlsxReader implements DataReader {
         private String cellRef;
         private boolean inValue = false;
 
-        private List<String> currentRowData = new ArrayList<>();
-        private List<String> headerRow = new ArrayList<>();
+        private final List<String> headerRowData = new ArrayList<>();  // 헤더 행 수집용
+        private RowBuffer rowBuffer;                                   // 데이터 행 (헤더 처리 후 생성, 재사용)
+        private boolean[] projected;                                   // 해석할 컬럼 (헤더 처리 후 결정)
+        private boolean skipCell = false;                              // 현재 셀이 프로젝션 밖인지
+        private boolean rowHasContent = false;
         private long processedRowCount = 0;
         private boolean headerProcessed = false;
+        private long sstLookups = 0;        // 직전 보고 이후 SST 조회 수
+        private long sstSampledNanos = 0;   // 그중 측정한 조회의 시간 합
 
-        public XlsxSheetHandler(SharedStringsTable sst,
+        public XlsxSheetHandler(IntFunction<String> sharedStrings,
                                 StylesTable styles,
                                 Profile profile,
-                                Consumer<List<String>> headerCallback,
-                                Consumer<Map<String, String>> rowCallback,
-                                Consumer<Long> progressCallback) {
-            this.sst = sst;
+                                RowHandler rowHandler,
+                                RowHandler metrics) {
+            this.sharedStrings = sharedStrings;
             this.styles = styles;
-            this.profile = profile;
-            this.headerCallback = headerCallback;
-            this.rowCallback = rowCallback;
-            this.progressCallback = progressCallback;
+            this.rowHandler = rowHandler;
+            this.metrics = metrics;
+            this.trimWhitespace = profile.getOptions().isTrimWhitespace();
+            this.skipEmptyRows = profile.getOptions().isSkipEmptyRows();
         }
 
         @Override
         public void startElement(String uri, String localName, String qName, Attributes attributes) {
             if ("row".equals(qName)) {
                 currentRow = Integer.parseInt(attributes.getValue("r"));
-                currentRowData.clear();
+                headerRowData.clear();
+                if (rowBuffer != null) {
+                    rowBuffer.clear();
+                }
+                rowHasContent = false;
                 currentCol = 0;
             } else if ("c".equals(qName)) {
                 cellRef = attributes.getValue("r");
                 cellType = attributes.getValue("t");
                 cellStyle = attributes.getValue("s");
                 currentCol = getColumnIndex(cellRef);
+                // 헤더 이후 프로젝션 밖 컬럼은 SST 조회/숫자 변환/날짜 판별 없이 건너뜀
+                skipCell = projected != null
+                    && (currentCol >= projected.length || !projected[currentCol]);
             } else if ("v".equals(qName) || "t".equals(qName)) {
                 inValue = true;
                 cellValue.setLength(0);
@@ -114,28 +352,58 @@ public class XlsxReader implements DataReader {
 
         @Override
         public void characters(char[] ch, int start, int length) {
-            if (inValue) {
-                cellValue.append(ch, start, length);
+            if (!inValue) {
+                return;
+            }
+            if (skipCell) {
+                // 빈 행 판별용으로 내용 유무만 확인
+                if (!rowHasContent) {
+                    for (int i = start; i < start + length; i++) {
+                        if (ch[i] > ' ') {
+                            rowHasContent = true;
+                            break;
+                        }
+                    }
+                }
+                return;
             }
+            cellValue.append(ch, start, length);
         }
 
         @Override
-        public void endElement(String uri, String localName, String qName) {
+        public void endElement(String uri, String localName, String qName) throws SAXException {
             if ("v".equals(qName) || "t".equals(qName)) {
                 inValue = false;
             } else if ("c".equals(qName)) {
+                if (skipCell) {
+                    return;
+                }
                 String value = getCellValue();
 
-                if (profile.getOptions().isTrimWhitespace() && value != null) {
+                if (trimWhitespace && value != null) {
                     value = value.trim();
                 }
 
-                while (currentRowData.size() < currentCol) {
-                    currentRowData.add("");
+                if (RowBuffer.hasText(value)) {
+                    rowHasContent = true;
+                }
+
+                if (rowBuffer != null) {
+                    rowBuffer.set(currentCol, value);
+                } else {
+                    while (headerRowData.size() < currentCol) {
+                        headerRowData.add("");
+                    }
+                    headerRowData.add(value);
                 }
-                currentRowData.add(value);
             } else if ("row".equals(qName)) {
-                processRow();
+                try {
+                    processRow();
+                } catch (RuntimeException | SAXException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new SAXException(e);
+                }
             }
         }
 
@@ -144,7 +412,13 @@ public class XlsxReader implements DataReader {
 
             if ("s".equals(cellType)) {
                 int idx = Integer.parseInt(value);
-                return sst.getItemAt(idx).getString();
+                if ((++sstLookups & (SST_SAMPLE_INTERVAL - 1)) != 0) {
+                    return sharedStrings.apply(idx);
+                }
+                long start = System.nanoTime();
+                String text = sharedStrings.apply(idx);
+                sstSampledNanos += System.nanoTime() - start;
+                return text;
             } else if ("str".equals(cellType) || "inlineStr".equals(cellType)) {
                 return value;
             } else if ("b".equals(cellType)) {
@@ -153,7 +427,10 @@ public class XlsxReader implements DataReader {
                 return "";
             } else {
                 try {
-                    double numValue = Double.parseDouble(value);
+                    double numValue = NumberCodec.parseDouble(value, Double.NaN);
+                    if (Double.isNaN(numValue)) {
+                        return value;
+                    }
 
                     if (cellStyle != null) {
                         int styleIdx = Integer.parseInt(cellStyle);
@@ -191,38 +468,204 @@ public class XlsxReader implements DataReader {
             return index - 1;
         }
 
-        private void processRow() {
+        private void processRow() throws Exception {
             if (currentRow == 1) {
-                headerRow = new ArrayList<>(currentRowData);
-                headerCallback.accept(headerRow);
+                List<String> headerRow = new ArrayList<>(headerRowData);
+                rowHandler.onHeader(headerRow);
+                rowBuffer = new RowBuffer(headerRow);
+                projected = rowBuffer.projectionMask(rowHandler.getProjectedColumns());
                 headerProcessed = true;
             } else if (headerProcessed) {
                 // 빈 행 건너뛰기
-                if (profile.getOptions().isSkipEmptyRows()) {
-                    boolean allEmpty = currentRowData.stream()
-                        .allMatch(s -> s == null || s.trim().isEmpty());
-                    if (allEmpty) return;
-                }
-
-                // 행 데이터를 Map으로 변환
-                Map<String, String> rowMap = new HashMap<>();
-                for (int i = 0; i < headerRow.size(); i++) {
-                    String colName = headerRow.get(i).trim();
-                    String value = i < currentRowData.size() ? currentRowData.get(i) : "";
-                    rowMap.put(colName, value);
+                if (skipEmptyRows && !rowHasContent) {
+                    return;
                 }
 
-                rowCallback.accept(rowMap);
+                rowHandler.onRow(rowBuffer);
                 processedRowCount++;
 
-                if (progressCallback != null && processedRowCount % 10000 == 0) {
-                    progressCallback.accept(processedRowCount);
+                if (processedRowCount % 10000 == 0) {
+                    rowHandler.onProgress(processedRowCount);
+                    reportSharedStringLookups();
                 }
             }
         }
 
+        @Override
+        public void endDocument() {
+            reportSharedStringLookups();
+        }
+
+        /**
+         * 샘플 측정 시간으로 추정한 SST 조회 시간 보고
+         */
+        private void reportSharedStringLookups() {
+            if (sstLookups > 0) {
+                metrics.onSharedStringLookups(sstLookups, sstSampledNanos * SST_SAMPLE_INTERVAL);
+                sstLookups = 0;
+                sstSampledNanos = 0;
+            }
+        }
+
         public long getProcessedRowCount() {
             return processedRowCount;
         }
     }
+
+    /**
+     * 선택된 시트 스트림의 읽은 양 → 입력 파일 위치로 환산해 보고 (여러 시트를 동시에 읽어도 합산)
+     * 압축된 위치는 알 수 없으므로 압축 해제 기준 진행률 × 파일 크기
+     */
+    private static class InputProgress {
+        private static final long REPORT_BYTES = 1L << 20;
+
+        private final AtomicLong read = new AtomicLong();
+        private final long fileLength;
+        private final RowHandler rowHandler;
+        private long total = 0;     // 시트 압축 해제 크기 합 (하나라도 모르면 -1)
+
+        InputProgress(long fileLength, RowHandler rowHandler) {
+            this.fileLength = fileLength;
+            this.rowHandler = rowHandler;
+        }
+
+        void addSheet(PackagePart part) {
+            long size = part != null ? part.getSize() : -1;
+            total = size > 0 && total >= 0 ? total + size : -1;
+        }
+
+        void add(long bytes) {
+            long after = read.addAndGet(bytes);
+            if (total > 0 && (after - bytes) / REPORT_BYTES != after / REPORT_BYTES) {
+                long position = Math.round((double) Math.min(after, total) / total * fileLength);
+                rowHandler.onInputPosition(position, fileLength);
+            }
+        }
+
+        void finish() {
+            rowHandler.onInputPosition(fileLength, fileLength);
+        }
+    }
+
+    /**
+     * 읽은 바이트 수를 InputProgress에 더하는 시트 스트림
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final InputProgress progress;
+
+        CountingInputStream(InputStream in, InputProgress progress) {
+            super(in);
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                progress.add(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                progress.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            if (skipped > 0) {
+                progress.add(skipped);
+            }
+            return skipped;
+        }
+    }
+
+    /**
+     * 시트 파싱 결과 묶음 (헤더 또는 행 배치)
+     */
+    private static class SheetBatch {
+        final List<String> header;     // 헤더 행 (헤더 배치일 때만)
+        final List<String[]> rows;     // 행 값 복사본
+        final boolean last;            // 시트 끝
+        final Exception error;         // 파싱 오류
+
+        SheetBatch(List<String> header, List<String[]> rows, boolean last, Exception error) {
+            this.header = header;
+            this.rows = rows;
+            this.last = last;
+            this.error = error;
+        }
+    }
+
+    /**
+     * 워커 스레드에서 시트 행을 배치로 모아 큐에 넣는 핸들러
+     */
+    private static class SheetCollector implements RowHandler {
+        private static final int BATCH_SIZE = 1024;
+        private static final int QUEUE_CAPACITY = 16;
+
+        private final BlockingQueue<SheetBatch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final CompletableFuture<Set<String>> projection;
+        private final AtomicBoolean stopped;
+        private List<String[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        SheetCollector(CompletableFuture<Set<String>> projection, AtomicBoolean stopped) {
+            this.projection = projection;
+            this.stopped = stopped;
+        }
+
+        @Override
+        public void onHeader(List<String> headers) throws Exception {
+            // 병합 스레드가 헤더를 처리해야 프로젝션이 정해지므로 바로 전달
+            put(new SheetBatch(new ArrayList<>(headers), Collections.emptyList(), false, null));
+        }
+
+        @Override
+        public Set<String> getProjectedColumns() {
+            try {
+                return projection.get();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void onRow(RowBuffer row) throws Exception {
+            rows.add(row.toArray());
+            if (rows.size() >= BATCH_SIZE) {
+                put(new SheetBatch(null, rows, false, null));
+                rows = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+
+        void finish(Exception error) throws Exception {
+            put(new SheetBatch(null, rows, true, error));
+        }
+
+        void finishQuietly(Exception error) {
+            try {
+                finish(error);
+            } catch (Exception e) {
+                // 병합이 이미 중단됨
+            }
+        }
+
+        SheetBatch take() throws InterruptedException {
+            return queue.take();
+        }
+
+        private void put(SheetBatch batch) throws Exception {
+            while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                if (stopped.get()) {
+                    throw new CancellationException("시트 병합 중단");
+                }
+            }
+        }
+    }
 }
@@ -2,19 +2,25 @@ package org.example.service.writer;
 
 import com.opencsv.CSVWriter;
 import org.example.model.Profile;
+import org.example.service.jfr.WriterFlushEvent;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 /**
  * CSV 파일 라이터
+ * 체크포인트: commit()으로 지금까지 쓴 내용을 디스크에 반영하고 바이트 위치를 받아 두면
+ * resume()으로 그 위치까지 잘라낸 뒤 이어 쓸 수 있음
  */
 public class CsvDataWriter implements DataWriter {
 
     private CSVWriter csvWriter;
     private FileOutputStream fos;
     private OutputStreamWriter osw;
+    private MeteredOutputStream metered;
 
     @Override
     public void open(File file, Profile profile) throws Exception {
@@ -30,12 +36,63 @@ public class CsvDataWriter implements DataWriter {
                 bomWriter.write(0xBF);
             }
             fos = new FileOutputStream(file, true);
-            osw = new OutputStreamWriter(fos, "UTF-8");
+            metered = new MeteredOutputStream(fos);
+            osw = new OutputStreamWriter(metered, "UTF-8");
         } else {
             fos = new FileOutputStream(file);
-            osw = new OutputStreamWriter(fos, encoding.replace("-BOM", ""));
+            metered = new MeteredOutputStream(fos);
+            osw = new OutputStreamWriter(metered, encoding.replace("-BOM", ""));
         }
+        createCsvWriter(profile);
+    }
+
+    /**
+     * 부분 출력 파일 이어 쓰기 (committedBytes 뒤는 잘라냄, BOM/헤더는 이미 있음)
+     * @param committedBytes 체크포인트의 commit() 값
+     */
+    public void resume(File file, Profile profile, long committedBytes) throws Exception {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            if (channel.size() < committedBytes) {
+                throw new IOException("Output file is shorter than checkpoint: " + file.getName());
+            }
+            channel.truncate(committedBytes);
+        }
+        String encoding = profile.getOptions().getOutputEncoding();
+        fos = new FileOutputStream(file, true);
+        metered = new MeteredOutputStream(fos);
+        osw = new OutputStreamWriter(metered, encoding.replace("-BOM", ""));
+        createCsvWriter(profile);
+    }
+
+    /**
+     * 지금까지 쓴 내용을 디스크에 반영
+     * @return 반영된 파일 크기 (바이트, resume 위치)
+     */
+    public long commit() throws IOException {
+        WriterFlushEvent event = new WriterFlushEvent();
+        event.begin();
+        csvWriter.flush();
+        FileChannel channel = fos.getChannel();
+        channel.force(false);
+        long position = channel.position();
+        commitEvent(event, "commit");
+        return position;
+    }
+
+    /**
+     * Flight Recorder 출력 반영 이벤트 (기록 중일 때만)
+     */
+    private void commitEvent(WriterFlushEvent event, String operation) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.format = getFormatName();
+            event.operation = operation;
+            event.bytesWritten = getBytesWritten();
+            event.commit();
+        }
+    }
 
+    private void createCsvWriter(Profile profile) {
         char delimiter = profile.getOptions().getDelimiter().charAt(0);
         csvWriter = new CSVWriter(osw, delimiter,
             CSVWriter.DEFAULT_QUOTE_CHARACTER,
@@ -53,13 +110,31 @@ public class CsvDataWriter implements DataWriter {
         csvWriter.writeNext(values.toArray(new String[0]));
     }
 
+    @Override
+    public void writeRow(String[] values) throws Exception {
+        csvWriter.writeNext(values);
+    }
+
     @Override
     public void close() throws Exception {
         if (csvWriter != null) {
+            WriterFlushEvent event = new WriterFlushEvent();
+            event.begin();
             csvWriter.close();
+            commitEvent(event, "close");
         }
     }
 
+    @Override
+    public long getBytesWritten() {
+        return metered != null ? metered.getBytes() : 0;
+    }
+
+    @Override
+    public long getIoNanos() {
+        return metered != null ? metered.getNanos() : 0;
+    }
+
     @Override
     public String getExtension() {
         return ".csv";
@@ -3,6 +3,7 @@ package org.example.service.writer;
 import org.example.model.Profile;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -29,12 +30,35 @@ public interface DataWriter extends AutoCloseable {
      */
     void writeRow(List<String> values) throws Exception;
 
+    /**
+     * 데이터 행 쓰기 (배열)
+     * @param values 값 배열 (헤더 순서와 동일, 호출 후 보관하지 않음)
+     */
+    default void writeRow(String[] values) throws Exception {
+        writeRow(Arrays.asList(values));
+    }
+
     /**
      * 파일 닫기
      */
     @Override
     void close() throws Exception;
 
+    /**
+     * 출력 파일에 쓴 바이트 수 (계측용, 쓰기 스레드가 아닌 곳에서도 읽을 수 있음)
+     */
+    default long getBytesWritten() {
+        return 0;
+    }
+
+    /**
+     * 출력 파일 쓰기(write/flush)에 걸린 시간 (나노초, 계측용)
+     * 쓰기 단계 전체 시간에서 빼면 인코딩 시간
+     */
+    default long getIoNanos() {
+        return 0;
+    }
+
     /**
      * 지원하는 파일 확장자
      */
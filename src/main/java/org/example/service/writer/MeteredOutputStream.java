@@ -0,0 +1,51 @@
+package org.example.service.writer;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 출력 파일 스트림 계측 (쓴 바이트 수 + write/flush에 걸린 시간)
+ * 버퍼링된 Writer/압축 스트림 아래에 두므로 호출은 수 KB 단위 → nanoTime 비용은 무시할 수준
+ * 값은 쓰기 스레드만 갱신하고 다른 스레드에서 읽음
+ */
+class MeteredOutputStream extends FilterOutputStream {
+
+    private volatile long bytes = 0;
+    private volatile long nanos = 0;
+
+    MeteredOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        long start = System.nanoTime();
+        out.write(b);
+        nanos += System.nanoTime() - start;
+        bytes++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        out.write(b, off, len);
+        nanos += System.nanoTime() - start;
+        bytes += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        long start = System.nanoTime();
+        out.flush();
+        nanos += System.nanoTime() - start;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+}
@@ -7,6 +7,8 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.example.model.Profile;
+import org.example.service.codec.NumberCodec;
+import org.example.service.jfr.WriterFlushEvent;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -21,6 +23,7 @@ public class XlsxDataWriter implements DataWriter {
     private SXSSFWorkbook workbook;
     private SXSSFSheet sheet;
     private FileOutputStream fos;
+    private MeteredOutputStream metered;
     private int currentRowNum = 0;
     private CellStyle headerStyle;
 
@@ -41,6 +44,7 @@ public class XlsxDataWriter implements DataWriter {
         headerStyle.setFont(headerFont);
 
         fos = new FileOutputStream(file);
+        metered = new MeteredOutputStream(fos);
     }
 
     @Override
@@ -55,17 +59,22 @@ public class XlsxDataWriter implements DataWriter {
 
     @Override
     public void writeRow(List<String> values) throws Exception {
+        writeRow(values.toArray(new String[0]));
+    }
+
+    @Override
+    public void writeRow(String[] values) throws Exception {
         Row row = sheet.createRow(currentRowNum++);
-        for (int i = 0; i < values.size(); i++) {
+        for (int i = 0; i < values.length; i++) {
             Cell cell = row.createCell(i);
-            String value = values.get(i);
+            String value = values[i];
 
             // 숫자인 경우 숫자로 저장
             if (value != null && !value.isEmpty()) {
-                try {
-                    double numValue = Double.parseDouble(value);
+                double numValue = NumberCodec.parseDouble(value, Double.NaN);
+                if (!Double.isNaN(numValue)) {
                     cell.setCellValue(numValue);
-                } catch (NumberFormatException e) {
+                } else {
                     cell.setCellValue(value);
                 }
             } else {
@@ -77,13 +86,33 @@ public class XlsxDataWriter implements DataWriter {
     @Override
     public void close() throws Exception {
         if (workbook != null && fos != null) {
-            workbook.write(fos);
+            // 통합문서 쓰기 (임시 파일의 시트 데이터 압축 포함)
+            WriterFlushEvent event = new WriterFlushEvent();
+            event.begin();
+            workbook.write(metered);
             fos.close();
+            event.end();
+            if (event.shouldCommit()) {
+                event.format = getFormatName();
+                event.operation = "close";
+                event.bytesWritten = getBytesWritten();
+                event.commit();
+            }
             workbook.dispose();  // 임시 파일 정리
             workbook.close();
         }
     }
 
+    @Override
+    public long getBytesWritten() {
+        return metered != null ? metered.getBytes() : 0;
+    }
+
+    @Override
+    public long getIoNanos() {
+        return metered != null ? metered.getNanos() : 0;
+    }
+
     @Override
     public String getExtension() {
         return ".xlsx";
@@ -0,0 +1,126 @@
+package org.example.service;
+
+import org.example.model.Calculation;
+import org.example.model.ColumnMapping;
+import org.example.model.ConversionResult;
+import org.example.model.Profile;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 체크포인트에서 이어서 변환한 출력이 중단 없이 변환한 출력과 바이트 단위로 같은지
+ * uniqueKey 중복 제거 + 계산 컬럼(배치/행 단위 계산, 서식, 다른 계산 참조) 포함
+ */
+class CheckpointResumeTest {
+
+    private static final int ROWS = 120_000;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void resumedOutputMatchesCleanRun(boolean batchCalculation) throws Exception {
+        File input = writeInput();
+        File cleanDir = Files.createDirectory(tempDir.resolve("clean")).toFile();
+        File resumedDir = Files.createDirectory(tempDir.resolve("resumed")).toFile();
+
+        ConversionResult clean = new ExcelConverterService()
+            .convertSingle(profile(batchCalculation), input, cleanDir, null);
+        assertTrue(clean.isSuccess(), clean.getErrorMessage());
+        assertEquals(0, clean.getResumedFromRow());
+
+        // 첫 체크포인트가 저장될 때까지 쓰기 단계를 늦춘 뒤, 체크포인트가 생기면 취소
+        File checkpoint = ConversionCheckpoint.fileFor(new File(resumedDir, "input.csv"));
+        ExcelConverterService interrupted = new ExcelConverterService();
+        boolean[] delayed = {false};
+        ConversionResult cancelled = interrupted.convertSingle(profile(batchCalculation), input, resumedDir, row -> {
+            if (!delayed[0]) {
+                delayed[0] = true;
+                sleep(1_100);
+            } else if (checkpoint.exists()) {
+                interrupted.cancel();
+            }
+        });
+        assertEquals(ConversionResult.Status.CANCELLED, cancelled.getStatus());
+        assertTrue(checkpoint.exists(), "checkpoint should be left after cancel");
+
+        ConversionResult resumed = new ExcelConverterService()
+            .convertSingle(profile(batchCalculation), input, resumedDir, null);
+        assertTrue(resumed.isSuccess(), resumed.getErrorMessage());
+        assertTrue(resumed.getResumedFromRow() > 0, "should resume from the checkpoint");
+        assertTrue(resumed.getResumedFromRow() < ROWS);
+        assertFalse(checkpoint.exists(), "checkpoint should be removed after success");
+
+        assertEquals(clean.getInputRows(), resumed.getInputRows());
+        assertEquals(clean.getOutputRows(), resumed.getOutputRows());
+        assertEquals(clean.getDuplicateRows(), resumed.getDuplicateRows());
+        assertTrue(clean.getDuplicateRows() > 0, "fixture should contain duplicate keys");
+        assertArrayEquals(Files.readAllBytes(clean.getOutputFile().toPath()),
+            Files.readAllBytes(resumed.getOutputFile().toPath()));
+    }
+
+    private File writeInput() throws Exception {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder("id,amount,rate,region\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append('K').append(random.nextInt(ROWS * 2 / 3)).append(',')
+                .append(random.nextInt(100_000) / 100.0).append(',')
+                .append(random.nextInt(30)).append(',')
+                .append("R").append(random.nextInt(5)).append('\n');
+        }
+        Path path = tempDir.resolve("input.csv");
+        Files.writeString(path, csv);
+        return path.toFile();
+    }
+
+    private static Profile profile(boolean batchCalculation) {
+        Profile profile = new Profile();
+        profile.setProfileName("checkpoint-test");
+        profile.getColumns().add(column("id", true));
+        profile.getColumns().add(column("amount", false));
+        profile.getColumns().add(column("rate", false));
+        profile.getColumns().add(column("region", false));
+
+        profile.getCalculations().add(calculation("tax", "${amount} * ${rate} / 100", "#,##0.00", null));
+        profile.getCalculations().add(calculation("total", "${amount} + ${tax}", null, 1));
+        profile.getCalculations().add(calculation("bucket", "ROUND(${amount} / 1000)", null, 0));
+
+        profile.getOptions().setBatchCalculation(batchCalculation);
+        profile.getOptions().setReaderThreads(1);
+        profile.getOptions().setConversionCache(false);
+        profile.getOptions().setCheckpointSeconds(1);
+        return profile;
+    }
+
+    private static ColumnMapping column(String name, boolean uniqueKey) {
+        ColumnMapping column = new ColumnMapping(name, name);
+        column.setUniqueKey(uniqueKey);
+        return column;
+    }
+
+    private static Calculation calculation(String name, String formula, String format, Integer scale) {
+        Calculation calculation = new Calculation();
+        calculation.setNewColumn(name);
+        calculation.setFormula(formula);
+        calculation.setFormat(format);
+        calculation.setScale(scale);
+        return calculation;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
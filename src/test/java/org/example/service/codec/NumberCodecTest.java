@@ -0,0 +1,266 @@
+package org.example.service.codec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NumberCodec이 대체한 JDK 변환과 같은 결과를 내는지 (무작위 입력, 고정 시드)
+ * - parseNumber ↔ Double.parseDouble(s.replace(",", "").trim()), 실패하면 0
+ * - format(double) ↔ 정수면 String.valueOf((long) v), 아니면 String.valueOf(v)
+ * - format(double, "%.Nf") ↔ String.format
+ */
+class NumberCodecTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private final Locale originalLocale = Locale.getDefault(Locale.Category.FORMAT);
+
+    @AfterEach
+    void restoreLocale() {
+        Locale.setDefault(Locale.Category.FORMAT, originalLocale);
+    }
+
+    @Test
+    void parseNumberMatchesJdk() {
+        Random random = new Random(16);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertParsesLikeJdk(randomNumberText(random));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "", " ", ",", "-", "+", ".", "0", "-0", "+0", "0.0", "-0.0", "-0e5", "00012", "1.", ".5", "-.5",
+        "1,234", "1,234,567.891", "-1,234.5", ",1,2,3,", " 1,000 ", "1,,000", "1,.5", "1e1,0", "1,e3",
+        "1e", "1e+", "1e-", "e5", "1e-400", "1e400", "-1e400", "1e22", "1e23", "1e-22", "1e-23",
+        "123456789012345", "1234567890123456", "12345678901234567890", "0.1234567890123456789",
+        "9007199254740993", "4.9e-324", "2.2250738585072014E-308", "1.7976931348623157e308",
+        "NaN", "-Infinity", "Infinity", "0x1p3", "0x1.8p1", "1.5d", "1.5f", "1e5d", "1,5F",
+        "abc", "1a", "--1", "+-1", "1 2", "1\t", "\t-2.5\n", "١٢"
+    })
+    void parseNumberMatchesJdkOnEdgeCases(String text) {
+        assertParsesLikeJdk(text);
+    }
+
+    @Test
+    void isNumberMatchesJdk() {
+        Random random = new Random(17);
+        for (int i = 0; i < SAMPLES; i++) {
+            String text = randomNumberText(random);
+            assertEquals(jdkIsNumber(text), NumberCodec.isNumber(text), () -> "isNumber(\"" + text + "\")");
+        }
+    }
+
+    @Test
+    void parseDoubleMatchesJdk() {
+        Random random = new Random(18);
+        for (int i = 0; i < SAMPLES; i++) {
+            String text = randomNumberText(random).replace(",", "");
+            double expected;
+            try {
+                expected = Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                expected = -1;
+            }
+            assertEquals(expected, NumberCodec.parseDouble(text, -1), () -> "parseDouble(\"" + text + "\")");
+        }
+    }
+
+    @Test
+    void formatMatchesJdk() {
+        Random random = new Random(19);
+        for (int i = 0; i < SAMPLES; i++) {
+            double value = randomDouble(random);
+            assertEquals(jdkFormat(value), NumberCodec.format(value), () -> "format(" + value + ")");
+        }
+        for (double value : new double[]{0d, -0d, 0.1, -0.1, 1e-3, 9.999e-4, 1e7, 9999999.5, 1e15, 1e19,
+            -1e19, Long.MAX_VALUE, Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN,
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.1 + 0.2, 1.005, 2.675}) {
+            assertEquals(jdkFormat(value), NumberCodec.format(value), () -> "format(" + value + ")");
+        }
+    }
+
+    @Test
+    void fixedPatternsMatchStringFormat() {
+        Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+        Random random = new Random(20);
+        String[] patterns = {"%.0f", "%.1f", "%.2f", "%.3f", "%.6f", "%.10f", "%f", "%,.0f", "%,.2f", "%,f",
+            "₩%,.0f", "%.2f%%", "%.1f kg"};
+        for (int i = 0; i < SAMPLES; i++) {
+            double value = randomDouble(random);
+            String pattern = patterns[random.nextInt(patterns.length)];
+            assertEquals(String.format(pattern, value), NumberCodec.format(value, pattern),
+                () -> "format(" + value + ", \"" + pattern + "\")");
+        }
+    }
+
+    /**
+     * x.xx5 같은 동률은 가장 짧은 표기의 자릿수 기준 HALF_UP (String.format과 동일)
+     */
+    @Test
+    void halfUpTiesMatchStringFormat() {
+        Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+        Random random = new Random(21);
+        for (int i = 0; i < SAMPLES; i++) {
+            int decimals = random.nextInt(6);
+            long digits = random.nextInt(2_000_000) - 1_000_000L;
+            // 마지막 자리가 5인 값: decimals + 1 자리에서 정확히 반
+            double value = Double.parseDouble((digits * 10 + (digits < 0 ? -5 : 5)) + "e-" + (decimals + 1));
+            String pattern = "%." + decimals + "f";
+            assertEquals(String.format(pattern, value), NumberCodec.format(value, pattern),
+                () -> "format(" + value + ", \"" + pattern + "\")");
+        }
+        for (double value : new double[]{0.5, 1.5, 2.5, -0.5, -2.5, 0.125, 0.375, 1.005, 2.675, 1.115, -0.0049,
+            -0.005, -0d}) {
+            for (String pattern : new String[]{"%.0f", "%.1f", "%.2f"}) {
+                assertEquals(String.format(pattern, value), NumberCodec.format(value, pattern),
+                    () -> "format(" + value + ", \"" + pattern + "\")");
+            }
+        }
+    }
+
+    /**
+     * 구분자가 다른 로케일: 쉼표 패턴은 그 로케일 기호로, 소수점이 '.'가 아니면 String.format으로 출력
+     * 같은 패턴을 다른 로케일에서 먼저 쓴 뒤에도 결과가 같아야 함
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"de-DE", "fr-FR", "de-CH", "ko-KR", "hi-IN", "ar-SA"})
+    void groupingPatternsFollowDefaultLocale(String languageTag) {
+        Random random = new Random(22);
+        String[] patterns = {"%,.2f", "%,.0f", "%.2f", "%,f"};
+        for (Locale locale : new Locale[]{Locale.US, Locale.forLanguageTag(languageTag), Locale.US}) {
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+            for (int i = 0; i < 20_000; i++) {
+                double value = randomDouble(random);
+                String pattern = patterns[random.nextInt(patterns.length)];
+                assertEquals(String.format(pattern, value), NumberCodec.format(value, pattern),
+                    () -> locale + " format(" + value + ", \"" + pattern + "\")");
+            }
+        }
+    }
+
+    private static void assertParsesLikeJdk(String text) {
+        double expected;
+        try {
+            expected = Double.parseDouble(text.replace(",", "").trim());
+        } catch (NumberFormatException e) {
+            expected = 0d;
+        }
+        // assertEquals(double, double)는 비트 비교 (+0/-0 구분)
+        assertEquals(expected, NumberCodec.parseNumber(text), () -> "parseNumber(\"" + text + "\")");
+    }
+
+    private static boolean jdkIsNumber(String text) {
+        if (text.trim().isEmpty()) {
+            return false;
+        }
+        try {
+            Double.parseDouble(text.replace(",", "").trim());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String jdkFormat(double value) {
+        if (value == Math.floor(value) && !Double.isInfinite(value)) {
+            return String.valueOf((long) value);
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * 정수, 소수, 천 단위 구분, 부호, 지수, ±0, 큰 자릿수, 공백, 숫자가 아닌 문자가 섞인 문자열
+     */
+    private static String randomNumberText(Random random) {
+        StringBuilder text = new StringBuilder();
+        if (random.nextInt(10) == 0) {
+            text.append(' ');
+        }
+        switch (random.nextInt(4)) {
+            case 0:
+                text.append('-');
+                break;
+            case 1:
+                if (random.nextInt(4) == 0) {
+                    text.append('+');
+                }
+                break;
+            default:
+                break;
+        }
+
+        int integerDigits = random.nextInt(10) == 0 ? 16 + random.nextInt(10) : random.nextInt(13);
+        boolean grouping = random.nextInt(3) == 0;
+        for (int i = integerDigits; i > 0; i--) {
+            text.append(random.nextInt(8) == 0 ? '0' : (char) ('0' + random.nextInt(10)));
+            if (grouping && i > 1 && (i - 1) % 3 == 0) {
+                text.append(',');
+            }
+        }
+        if (random.nextBoolean()) {
+            text.append('.');
+            int fractionDigits = random.nextInt(10) == 0 ? 16 + random.nextInt(10) : random.nextInt(8);
+            for (int i = 0; i < fractionDigits; i++) {
+                text.append((char) ('0' + random.nextInt(10)));
+            }
+        }
+        if (random.nextInt(5) == 0) {
+            text.append(random.nextBoolean() ? 'e' : 'E');
+            int sign = random.nextInt(3);
+            if (sign > 0) {
+                text.append(sign == 1 ? '-' : '+');
+            }
+            text.append(random.nextInt(10) == 0 ? 300 + random.nextInt(30) : random.nextInt(30));
+        }
+
+        switch (random.nextInt(40)) {
+            case 0:
+                text.append(',');
+                break;
+            case 1:
+                text.insert(random.nextInt(text.length() + 1), ',');
+                break;
+            case 2:
+                text.append(random.nextBoolean() ? 'd' : 'F');
+                break;
+            case 3:
+                text.insert(random.nextInt(text.length() + 1), (char) ('a' + random.nextInt(26)));
+                break;
+            case 4:
+                text.append('\t');
+                break;
+            default:
+                break;
+        }
+        return text.toString();
+    }
+
+    /**
+     * 정수, 소수 자릿수가 적은 값, 임의 비트 패턴(큰/작은 값, ±0)을 고루 섞음
+     */
+    private static double randomDouble(Random random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return random.nextInt(2_000_001) - 1_000_000;
+            case 1:
+                return (random.nextInt(20_000_001) - 10_000_000) / 100d;
+            case 2:
+                return (random.nextLong() % 1_000_000_000_000L) / Math.pow(10, random.nextInt(12));
+            case 3:
+                return random.nextBoolean() ? 0d : -0d;
+            case 4:
+                return (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 10);
+            default:
+                double value = Double.longBitsToDouble(random.nextLong());
+                return Double.isNaN(value) ? 0.5 : value;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.service.reader;
+
+import org.example.model.Profile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 청크 병렬 읽기가 순차 읽기(CsvReader, readerThreads=1)와 같은 행을 같은 순서로 전달하는지
+ * 작은 청크 크기로 따옴표 필드 안의 줄바꿈이 청크 경계에 걸리게 만듦
+ */
+class ChunkedCsvReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 여러 줄 따옴표 필드가 경계에 걸림 → 다음 청크와 한 번 합쳐 다시 파싱
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {16, 37, 64, 101, 256, 1024})
+    void quotedNewlinesAcrossChunkBoundaries(long chunkSize) throws Exception {
+        File file = write("multiline.csv", multilineCsv(new Random(chunkSize), 400), StandardCharsets.UTF_8);
+        assertSameAsSequential(file, StandardCharsets.UTF_8, chunkSize);
+    }
+
+    /**
+     * 짝이 안 맞는 따옴표가 여러 청크 뒤에서 닫힘 → 합쳐도 안 끝나므로 그 위치부터 순차 읽기
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {16, 64, 256})
+    void unbalancedQuoteFallsBackToSequential(long chunkSize) throws Exception {
+        StringBuilder csv = new StringBuilder("id,name,memo\n");
+        for (int i = 0; i < 300; i++) {
+            if (i == 100) {
+                csv.append("x,\"stray,").append(i).append('\n');
+            } else if (i == 180) {
+                csv.append("y\",z\n");
+            } else {
+                csv.append(i).append(",v").append(i).append(",\"q,").append(i).append("\"\n");
+            }
+        }
+        File file = write("unbalanced.csv", csv.toString(), StandardCharsets.UTF_8);
+        List<String[]> rows = assertSameAsSequential(file, StandardCharsets.UTF_8, chunkSize);
+        assertTrue(rows.size() < 300, "stray quote should swallow the rows up to the closing quote");
+    }
+
+    @Test
+    void unterminatedQuoteFailsLikeSequential() throws Exception {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append(i).append(i == 50 ? ",\"never closed\n" : ",v\n");
+        }
+        File file = write("unterminated.csv", csv.toString(), StandardCharsets.UTF_8);
+        assertThrows(Exception.class, () -> readSequential(file));
+        assertThrows(Exception.class, () -> readChunked(file, StandardCharsets.UTF_8, 32));
+    }
+
+    @Test
+    void eucKrWithBlankRows() throws Exception {
+        StringBuilder csv = new StringBuilder("번호,이름,메모\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append(i % 17 == 0 ? ",,\n" : i + ",\"홍길동 " + i + "\",\"서울\n강남 " + i + "\"\n");
+        }
+        Charset eucKr = Charset.forName("EUC-KR");
+        File file = write("euckr.csv", csv.toString(), eucKr);
+        assertSameAsSequential(file, eucKr, 48);
+    }
+
+    private List<String[]> assertSameAsSequential(File file, Charset charset, long chunkSize) throws Exception {
+        Rows expected = readSequential(file);
+        Rows actual = readChunked(file, charset, chunkSize);
+        assertEquals(expected.header, actual.header, "header");
+        assertEquals(expected.rows.size(), actual.rows.size(), "row count");
+        for (int i = 0; i < expected.rows.size(); i++) {
+            assertArrayEquals(expected.rows.get(i), actual.rows.get(i), "row " + i);
+        }
+        return actual.rows;
+    }
+
+    private Rows readSequential(File file) throws Exception {
+        Profile profile = new Profile();
+        profile.getOptions().setReaderThreads(1);
+        Rows rows = new Rows();
+        new CsvReader().read(file, profile, rows);
+        return rows;
+    }
+
+    private Rows readChunked(File file, Charset charset, long chunkSize) throws Exception {
+        Rows rows = new Rows();
+        new ChunkedCsvReader(file, charset, new Profile(), 4, chunkSize).read(rows);
+        return rows;
+    }
+
+    /**
+     * 따옴표 필드 안 줄바꿈(LF, CRLF), "" 이스케이프, 빈 행이 섞인 CSV
+     */
+    private static String multilineCsv(Random random, int rowCount) {
+        StringBuilder csv = new StringBuilder("id,text,amount\n");
+        for (int i = 0; i < rowCount; i++) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    csv.append(i).append(",\"line a\nline b\nline c\",").append(i * 10).append('\n');
+                    break;
+                case 1:
+                    csv.append(i).append(",\"crlf\r\ninside \"\"quoted\"\"\",\"1,").append(i).append("\"\r\n");
+                    break;
+                case 2:
+                    csv.append(",,\n");
+                    break;
+                case 3:
+                    csv.append(i).append(",\"").append("x".repeat(random.nextInt(80))).append("\n\",").append(i).append('\n');
+                    break;
+                default:
+                    csv.append(i).append(",plain ").append(i).append(',').append(i).append('\n');
+                    break;
+            }
+        }
+        return csv.toString();
+    }
+
+    private File write(String name, String content, Charset charset) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.write(path, content.getBytes(charset));
+        return path.toFile();
+    }
+
+    private static final class Rows implements RowHandler {
+        List<String> header;
+        final List<String[]> rows = new ArrayList<>();
+
+        @Override
+        public void onHeader(List<String> headers) {
+            header = new ArrayList<>(headers);
+        }
+
+        @Override
+        public void onRow(RowBuffer row) {
+            rows.add(row.toArray());
+        }
+    }
+}
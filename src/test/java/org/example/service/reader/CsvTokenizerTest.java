@@ -0,0 +1,173 @@
+package org.example.service.reader;
+
+import org.example.model.Profile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 네이티브 토크나이저가 opencsv와 같은 레코드를 돌려주는지 (src/test/resources/csv 픽스처)
+ */
+class CsvTokenizerTest {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"quotes.csv", "newlines.csv", "backslash.csv", "irregular.csv", "no_trailing_newline.csv"})
+    void matchesOpencsvForUtf8(String fixture) throws Exception {
+        assertSameRecords(fixture, StandardCharsets.UTF_8, 0);
+    }
+
+    @Test
+    void matchesOpencsvForEucKr() throws Exception {
+        assertSameRecords("euckr.csv", EUC_KR, 0);
+    }
+
+    @Test
+    void matchesOpencsvAfterUtf8Bom() throws Exception {
+        List<String[]> rows = assertSameRecords("utf8bom.csv", StandardCharsets.UTF_8, 3);
+        assertEquals("id", rows.get(0)[0]);
+    }
+
+    /**
+     * 레코드가 창 끝에 걸려도 (NEED_MORE → 창 다시 매핑) 결과가 같은지
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"quotes.csv", "newlines.csv", "backslash.csv", "irregular.csv", "euckr.csv"})
+    void recordsCutAtWindowEdge(String fixture) throws Exception {
+        Charset charset = fixture.startsWith("euckr") ? EUC_KR : StandardCharsets.UTF_8;
+        Path path = fixture(fixture);
+        List<String[]> expected = readOpencsv(path, charset, 0);
+        for (long windowSize = 1; windowSize <= 48; windowSize++) {
+            List<String[]> actual = readNative(path, charset, 0, windowSize);
+            assertRows(expected, actual, fixture + " (window " + windowSize + ")");
+        }
+    }
+
+    /**
+     * 닫히지 않은 따옴표는 둘 다 입력 끝에서 실패
+     */
+    @Test
+    void unterminatedQuoteFailsLikeOpencsv() throws Exception {
+        Path path = fixture("unterminated.csv");
+        assertThrows(IOException.class, () -> readOpencsv(path, StandardCharsets.UTF_8, 0));
+        assertThrows(IOException.class, () -> readNative(path, StandardCharsets.UTF_8, 0, 1 << 20));
+        assertThrows(IOException.class, () -> readNative(path, StandardCharsets.UTF_8, 0, 7));
+    }
+
+    @Test
+    void escapedQuotesAndCarriageReturnsAreRestored() throws Exception {
+        List<String[]> rows = readNative(fixture("newlines.csv"), StandardCharsets.UTF_8, 0, 1 << 20);
+        assertEquals("line1\nline2", rows.get(1)[1]);
+        assertEquals("crlf\ninside", rows.get(3)[1]);
+
+        rows = readNative(fixture("quotes.csv"), StandardCharsets.UTF_8, 0, 1 << 20);
+        assertEquals("Kim \"K\" Min", rows.get(1)[1]);
+        assertEquals("\"", rows.get(2)[2]);
+    }
+
+    @Test
+    void blankRecordsMatchOpencsv() throws Exception {
+        Path path = fixture("quotes.csv");
+        assertEquals(blankFlags(openOpencsv(path, StandardCharsets.UTF_8, 0)),
+            blankFlags(openNative(path, StandardCharsets.UTF_8, 0, 1 << 20)));
+    }
+
+    private List<String[]> assertSameRecords(String fixture, Charset charset, long start) throws Exception {
+        Path path = fixture(fixture);
+        List<String[]> expected = readOpencsv(path, charset, start);
+        List<String[]> actual = readNative(path, charset, start, 1 << 20);
+        assertFalse(expected.isEmpty(), fixture);
+        assertRows(expected, actual, fixture);
+        return actual;
+    }
+
+    private static void assertRows(List<String[]> expected, List<String[]> actual, String message) {
+        assertEquals(expected.size(), actual.size(), message + ": record count");
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), message + ": record " + i);
+        }
+    }
+
+    private static List<String[]> readOpencsv(Path path, Charset charset, long start) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readAll(new OpencsvRecords(channel, start, channel.size(), charset, parser()));
+        }
+    }
+
+    private static List<String[]> readNative(Path path, Charset charset, long start, long windowSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readAll(new CsvTokenizer(channel, start, channel.size(), charset, ',', parser(), windowSize));
+        }
+    }
+
+    private static List<Boolean> blankFlags(Opened opened) throws IOException {
+        try (opened) {
+            List<Boolean> flags = new ArrayList<>();
+            while (opened.records.next()) {
+                flags.add(opened.records.isBlank());
+            }
+            return flags;
+        }
+    }
+
+    private static Opened openOpencsv(Path path, Charset charset, long start) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new Opened(channel, new OpencsvRecords(channel, start, channel.size(), charset, parser()));
+    }
+
+    private static Opened openNative(Path path, Charset charset, long start, long windowSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new Opened(channel, new CsvTokenizer(channel, start, channel.size(), charset, ',', parser(), windowSize));
+    }
+
+    private static List<String[]> readAll(CsvRecords records) throws IOException {
+        try (records) {
+            List<String[]> rows = new ArrayList<>();
+            while (records.next()) {
+                rows.add(records.toArray());
+            }
+            return rows;
+        }
+    }
+
+    private static com.opencsv.CSVParser parser() {
+        return CsvReader.createParser(new Profile());
+    }
+
+    static Path fixture(String name) throws URISyntaxException {
+        URL url = CsvTokenizerTest.class.getResource("/csv/" + name);
+        assertNotNull(url, name);
+        return Paths.get(url.toURI());
+    }
+
+    private static final class Opened implements AutoCloseable {
+        final FileChannel channel;
+        final CsvRecords records;
+
+        Opened(FileChannel channel, CsvRecords records) {
+            this.channel = channel;
+            this.records = records;
+        }
+
+        @Override
+        public void close() throws IOException {
+            records.close();
+            channel.close();
+        }
+    }
+}